@@ -0,0 +1,71 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Collapses the concurrent calls to a Feign client method taking a single key into calls
+ * to a batch method of the same Feign client, taking a collection of keys. The calls
+ * made within {@link #window()} milliseconds of the first one, or until
+ * {@link #maxBatchSize()} distinct keys are collected, are sent as one batch request, and
+ * each call returns the item of the batch response matching its key, or {@code null} if
+ * there is none. The batch method returns either a {@link java.util.Map} of the items by
+ * key, or a {@link java.util.Collection} of items whose {@link #resultKey()} property
+ * holds their key. A call that does not get the response of its batch within
+ * {@link #timeout()} milliseconds throws an {@link IllegalStateException}.
+ *
+ * @since 3.0.0
+ * @see org.springframework.cloud.openfeign.collapsing.RequestCollapser
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD })
+@Documented
+public @interface CollapseInto {
+
+	/**
+	 * @return the name of the batch method
+	 */
+	String value();
+
+	/**
+	 * @return the property of the items holding their key, required when the batch
+	 * method returns a collection
+	 */
+	String resultKey() default "";
+
+	/**
+	 * @return the time in milliseconds during which calls are collected into a batch
+	 */
+	long window() default 10;
+
+	/**
+	 * @return the maximum number of distinct keys of a batch
+	 */
+	int maxBatchSize() default 100;
+
+	/**
+	 * @return the time in milliseconds a call waits for the response of its batch, which
+	 * should exceed the window and the read timeout of the batch method
+	 */
+	long timeout() default 60000;
+
+}
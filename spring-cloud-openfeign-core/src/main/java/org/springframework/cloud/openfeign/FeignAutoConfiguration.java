@@ -17,36 +17,74 @@
 package org.springframework.cloud.openfeign;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PreDestroy;
 
+import feign.AsyncClient;
 import feign.Client;
 import feign.Feign;
 import feign.httpclient.ApacheHttpClient;
 import feign.okhttp.OkHttpClient;
+import io.micrometer.core.instrument.MeterRegistry;
 import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Protocol;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.config.RegistryBuilder;
 import org.apache.http.conn.HttpClientConnectionManager;
 import org.apache.http.impl.client.CloseableHttpClient;
 
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.client.actuator.HasFeatures;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.cloud.commons.httpclient.ApacheHttpClientConnectionManagerFactory;
 import org.springframework.cloud.commons.httpclient.ApacheHttpClientFactory;
 import org.springframework.cloud.commons.httpclient.OkHttpClientConnectionPoolFactory;
 import org.springframework.cloud.commons.httpclient.OkHttpClientFactory;
+import org.springframework.cloud.openfeign.async.CompletableFutureReturnTypeAdapter;
+import org.springframework.cloud.openfeign.async.CompletableReturnTypeAdapter;
+import org.springframework.cloud.openfeign.async.FeignAsyncExecutor;
+import org.springframework.cloud.openfeign.async.FeignAsyncProperties;
+import org.springframework.cloud.openfeign.async.FeignParallel;
+import org.springframework.cloud.openfeign.async.FireAndForgetDispatcher;
+import org.springframework.cloud.openfeign.async.FireAndForgetMetrics;
+import org.springframework.cloud.openfeign.async.FireAndForgetProperties;
+import org.springframework.cloud.openfeign.async.MonoReturnTypeAdapter;
+import org.springframework.cloud.openfeign.async.SingleReturnTypeAdapter;
+import org.springframework.cloud.openfeign.clientconfig.ApacheHttpIsolatedClientFactory;
+import org.springframework.cloud.openfeign.clientconfig.CachingDnsResolver;
+import org.springframework.cloud.openfeign.clientconfig.ConnectionPoolMetricsRecorder;
+import org.springframework.cloud.openfeign.clientconfig.FeignApacheHttpClientConnectionManagerFactory;
+import org.springframework.cloud.openfeign.clientconfig.FeignConnectionWarmer;
+import org.springframework.cloud.openfeign.clientconfig.HttpClientConnectionEvictor;
+import org.springframework.cloud.openfeign.clientconfig.InstrumentedHttpClientConnectionManager;
+import org.springframework.cloud.openfeign.clientconfig.IsolatedClientFactory;
+import org.springframework.cloud.openfeign.clientconfig.JdkHttpClients;
+import org.springframework.cloud.openfeign.clientconfig.MicrometerConnectionPoolMetricsRecorder;
+import org.springframework.cloud.openfeign.clientconfig.OkHttpIsolatedClientFactory;
+import org.springframework.cloud.openfeign.clientconfig.OkHttpUnixDomainSocketClientFactory;
+import org.springframework.cloud.openfeign.clientconfig.SharedSslContext;
+import org.springframework.cloud.openfeign.clientconfig.UnixDomainSocketClientFactory;
+import org.springframework.cloud.openfeign.collapsing.RequestCollapser;
+import org.springframework.cloud.openfeign.hc5.ApacheHttp5Client;
+import org.springframework.cloud.openfeign.hc5.AsyncApacheHttp5Client;
+import org.springframework.cloud.openfeign.netty.AsyncReactorNettyClient;
+import org.springframework.cloud.openfeign.netty.ReactorNettyClient;
 import org.springframework.cloud.openfeign.support.DefaultGzipDecoderConfiguration;
 import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.cloud.openfeign.support.VirtualThreads;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -57,8 +95,12 @@ import org.springframework.context.annotation.Import;
  */
 @Configuration(proxyBeanMethods = false)
 @ConditionalOnClass(Feign.class)
+@AutoConfigureAfter(name = {
+		"org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration",
+		"org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration" })
 @EnableConfigurationProperties({ FeignClientProperties.class,
-		FeignHttpClientProperties.class })
+		FeignHttpClientProperties.class, FeignAsyncProperties.class,
+		FireAndForgetProperties.class })
 @Import(DefaultGzipDecoderConfiguration.class)
 public class FeignAutoConfiguration {
 
@@ -77,6 +119,107 @@ public class FeignAutoConfiguration {
 		return context;
 	}
 
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty("feign.httpclient.warm-up.enabled")
+	public FeignConnectionWarmer feignConnectionWarmer(
+			FeignHttpClientProperties httpClientProperties,
+			ObjectProvider<DiscoveryClient> discoveryClient) {
+		return new FeignConnectionWarmer(httpClientProperties.getWarmUp(),
+				discoveryClient.getIfAvailable());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty("feign.httpclient.dns-cache.enabled")
+	public CachingDnsResolver feignDnsResolver(
+			FeignHttpClientProperties httpClientProperties) {
+		FeignHttpClientProperties.DnsCache dnsCache = httpClientProperties.getDnsCache();
+		return new CachingDnsResolver(dnsCache.getTimeToLive(),
+				dnsCache.getTimeToLiveUnit());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty("feign.httpclient.tls-session-cache.enabled")
+	public SharedSslContext feignSharedSslContext(
+			FeignHttpClientProperties httpClientProperties) {
+		FeignHttpClientProperties.TlsSessionCache sessionCache = httpClientProperties
+				.getTlsSessionCache();
+		return new SharedSslContext(httpClientProperties.isDisableSslValidation(),
+				sessionCache.getSize(), sessionCache.getTimeout());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty("feign.virtual-threads.enabled")
+	public FeignAsyncExecutor feignVirtualThreadExecutor() {
+		return new FeignAsyncExecutor(
+				() -> VirtualThreads.newVirtualThreadPerTaskExecutor("feign-"));
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public FeignAsyncExecutor feignAsyncExecutor(FeignAsyncProperties asyncProperties) {
+		return FeignAsyncExecutor.bounded(asyncProperties.getMaxThreads());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public FeignParallel feignParallel(FeignAsyncProperties feignAsyncProperties) {
+		return new FeignParallel(feignAsyncProperties.getParallelMaxConcurrency());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public RequestCollapser feignRequestCollapser() {
+		return new RequestCollapser();
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public FireAndForgetDispatcher feignFireAndForgetDispatcher(
+			FireAndForgetProperties fireAndForgetProperties) {
+		return new FireAndForgetDispatcher(fireAndForgetProperties.getQueueCapacity(),
+				fireAndForgetProperties.getWorkers());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public CompletableFutureReturnTypeAdapter completableFutureReturnTypeAdapter() {
+		return new CompletableFutureReturnTypeAdapter();
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(name = "reactor.core.publisher.Mono")
+	protected static class ReactorReturnTypeConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public MonoReturnTypeAdapter monoReturnTypeAdapter() {
+			return new MonoReturnTypeAdapter();
+		}
+
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(name = "rx.Single")
+	protected static class RxJavaReturnTypeConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public SingleReturnTypeAdapter singleReturnTypeAdapter() {
+			return new SingleReturnTypeAdapter();
+		}
+
+		@Bean
+		@ConditionalOnMissingBean
+		public CompletableReturnTypeAdapter completableReturnTypeAdapter() {
+			return new CompletableReturnTypeAdapter();
+		}
+
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	protected static class DefaultFeignTargeterConfiguration {
 
@@ -88,6 +231,40 @@ public class FeignAutoConfiguration {
 
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(MeterRegistry.class)
+	@ConditionalOnBean(MeterRegistry.class)
+	@ConditionalOnProperty(value = "feign.httpclient.metrics.enabled",
+			matchIfMissing = true)
+	protected static class ConnectionPoolMetricsConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public ConnectionPoolMetricsRecorder connectionPoolMetricsRecorder(
+				MeterRegistry meterRegistry) {
+			return new MicrometerConnectionPoolMetricsRecorder(meterRegistry);
+		}
+
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(MeterRegistry.class)
+	@ConditionalOnBean(MeterRegistry.class)
+	protected static class FireAndForgetMetricsConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public FireAndForgetMetrics feignFireAndForgetMetrics(
+				FireAndForgetDispatcher feignFireAndForgetDispatcher,
+				MeterRegistry meterRegistry) {
+			FireAndForgetMetrics metrics = new FireAndForgetMetrics(
+					feignFireAndForgetDispatcher);
+			metrics.bindTo(meterRegistry);
+			return metrics;
+		}
+
+	}
+
 	// the following configuration is for alternate feign clients if
 	// SC loadbalancer is not on the class path.
 	// see corresponding configurations in FeignRibbonClientAutoConfiguration
@@ -98,33 +275,44 @@ public class FeignAutoConfiguration {
 	@ConditionalOnProperty(value = "feign.httpclient.enabled", matchIfMissing = true)
 	protected static class HttpClientFeignConfiguration {
 
-		private final Timer connectionManagerTimer = new Timer(
-				"FeignApacheHttpClientConfiguration.connectionManagerTimer", true);
-
 		@Autowired(required = false)
 		private RegistryBuilder registryBuilder;
 
 		private CloseableHttpClient httpClient;
 
+		@Bean
+		@ConditionalOnMissingBean
+		public HttpClientConnectionEvictor httpClientConnectionEvictor(
+				FeignHttpClientProperties httpClientProperties,
+				ObjectProvider<ConnectionPoolMetricsRecorder> metricsRecorder) {
+			return new HttpClientConnectionEvictor(httpClientProperties,
+					metricsRecorder.getIfAvailable());
+		}
+
 		@Bean
 		@ConditionalOnMissingBean(HttpClientConnectionManager.class)
 		public HttpClientConnectionManager connectionManager(
 				ApacheHttpClientConnectionManagerFactory connectionManagerFactory,
-				FeignHttpClientProperties httpClientProperties) {
-			final HttpClientConnectionManager connectionManager = connectionManagerFactory
+				FeignHttpClientProperties httpClientProperties,
+				HttpClientConnectionEvictor connectionEvictor,
+				ObjectProvider<ConnectionPoolMetricsRecorder> metricsRecorder,
+				ObjectProvider<CachingDnsResolver> dnsResolver,
+				ObjectProvider<SharedSslContext> sslContext) {
+			ApacheHttpClientConnectionManagerFactory factory = FeignApacheHttpClientConnectionManagerFactory
+					.customize(connectionManagerFactory, dnsResolver.getIfAvailable(),
+							sslContext.getIfAvailable());
+			final HttpClientConnectionManager connectionManager = factory
 					.newConnectionManager(httpClientProperties.isDisableSslValidation(),
 							httpClientProperties.getMaxConnections(),
 							httpClientProperties.getMaxConnectionsPerRoute(),
 							httpClientProperties.getTimeToLive(),
 							httpClientProperties.getTimeToLiveUnit(),
 							this.registryBuilder);
-			this.connectionManagerTimer.schedule(new TimerTask() {
-				@Override
-				public void run() {
-					connectionManager.closeExpiredConnections();
-				}
-			}, 30000, httpClientProperties.getConnectionTimerRepeat());
-			return connectionManager;
+			connectionEvictor.register(connectionManager,
+					ConnectionPoolMetricsRecorder.SHARED_POOL);
+			return InstrumentedHttpClientConnectionManager.instrument(connectionManager,
+					ConnectionPoolMetricsRecorder.SHARED_POOL, httpClientProperties,
+					metricsRecorder.getIfAvailable());
 		}
 
 		@Bean
@@ -133,6 +321,9 @@ public class FeignAutoConfiguration {
 				FeignHttpClientProperties httpClientProperties) {
 			RequestConfig defaultRequestConfig = RequestConfig.custom()
 					.setConnectTimeout(httpClientProperties.getConnectionTimeout())
+					.setConnectionRequestTimeout(
+							httpClientProperties.getConnectionRequestTimeout())
+					.setSocketTimeout(httpClientProperties.getSocketTimeout())
 					.setRedirectsEnabled(httpClientProperties.isFollowRedirects())
 					.build();
 			this.httpClient = httpClientFactory.createBuilder()
@@ -147,9 +338,26 @@ public class FeignAutoConfiguration {
 			return new ApacheHttpClient(httpClient);
 		}
 
+		@Bean
+		@ConditionalOnMissingBean(IsolatedClientFactory.class)
+		public ApacheHttpIsolatedClientFactory apacheHttpIsolatedClientFactory(
+				ApacheHttpClientConnectionManagerFactory connectionManagerFactory,
+				ApacheHttpClientFactory httpClientFactory,
+				FeignHttpClientProperties httpClientProperties,
+				HttpClientConnectionEvictor connectionEvictor,
+				ObjectProvider<ConnectionPoolMetricsRecorder> metricsRecorder,
+				ObjectProvider<CachingDnsResolver> dnsResolver,
+				ObjectProvider<SharedSslContext> sslContext) {
+			return new ApacheHttpIsolatedClientFactory(
+					FeignApacheHttpClientConnectionManagerFactory.customize(
+							connectionManagerFactory, dnsResolver.getIfAvailable(),
+							sslContext.getIfAvailable()),
+					httpClientFactory, httpClientProperties, connectionEvictor,
+					metricsRecorder.getIfAvailable(), this.registryBuilder);
+		}
+
 		@PreDestroy
 		public void destroy() throws Exception {
-			this.connectionManagerTimer.cancel();
 			if (this.httpClient != null) {
 				this.httpClient.close();
 			}
@@ -179,14 +387,28 @@ public class FeignAutoConfiguration {
 		@Bean
 		public okhttp3.OkHttpClient client(OkHttpClientFactory httpClientFactory,
 				ConnectionPool connectionPool,
-				FeignHttpClientProperties httpClientProperties) {
+				FeignHttpClientProperties httpClientProperties,
+				ObjectProvider<ConnectionPoolMetricsRecorder> metricsRecorder,
+				ObjectProvider<CachingDnsResolver> dnsResolver,
+				ObjectProvider<SharedSslContext> sslContext) {
 			Boolean followRedirects = httpClientProperties.isFollowRedirects();
 			Integer connectTimeout = httpClientProperties.getConnectionTimeout();
 			Boolean disableSslValidation = httpClientProperties.isDisableSslValidation();
-			this.okHttpClient = httpClientFactory.createBuilder(disableSslValidation)
+			metricsRecorder.ifAvailable(recorder -> recorder.bindOkHttpPool(
+					ConnectionPoolMetricsRecorder.SHARED_POOL, connectionPool));
+			FeignHttpClientProperties.OkHttp okHttpProperties = httpClientProperties
+					.getOkHttp();
+			okhttp3.OkHttpClient.Builder builder = httpClientFactory
+					.createBuilder(disableSslValidation)
 					.connectTimeout(connectTimeout, TimeUnit.MILLISECONDS)
 					.followRedirects(followRedirects).connectionPool(connectionPool)
-					.build();
+					.protocols(protocols(okHttpProperties))
+					.dispatcher(dispatcher(okHttpProperties));
+			dnsResolver.ifAvailable(resolver -> builder
+					.dns(hostname -> Arrays.asList(resolver.resolve(hostname))));
+			sslContext.ifAvailable(ssl -> builder
+					.sslSocketFactory(ssl.getSocketFactory(), ssl.getTrustManager()));
+			this.okHttpClient = builder.build();
 			return this.okHttpClient;
 		}
 
@@ -204,6 +426,100 @@ public class FeignAutoConfiguration {
 			return new OkHttpClient(client);
 		}
 
+		@Bean
+		@ConditionalOnMissingBean(IsolatedClientFactory.class)
+		public OkHttpIsolatedClientFactory okHttpIsolatedClientFactory(
+				okhttp3.OkHttpClient okHttpClient,
+				OkHttpClientConnectionPoolFactory connectionPoolFactory,
+				FeignHttpClientProperties httpClientProperties,
+				ObjectProvider<ConnectionPoolMetricsRecorder> metricsRecorder) {
+			return new OkHttpIsolatedClientFactory(okHttpClient, connectionPoolFactory,
+					httpClientProperties, metricsRecorder.getIfAvailable());
+		}
+
+		@Bean
+		@ConditionalOnMissingBean(UnixDomainSocketClientFactory.class)
+		public OkHttpUnixDomainSocketClientFactory okHttpUnixDomainSocketClientFactory(
+				okhttp3.OkHttpClient okHttpClient) {
+			return new OkHttpUnixDomainSocketClientFactory(okHttpClient);
+		}
+
+		private static List<Protocol> protocols(
+				FeignHttpClientProperties.OkHttp okHttpProperties) {
+			List<Protocol> protocols = new ArrayList<>();
+			for (String protocol : okHttpProperties.getProtocols()) {
+				protocols.add(Protocol.valueOf(protocol.trim().toUpperCase()));
+			}
+			return protocols;
+		}
+
+		private static Dispatcher dispatcher(
+				FeignHttpClientProperties.OkHttp okHttpProperties) {
+			Dispatcher dispatcher = new Dispatcher();
+			dispatcher.setMaxRequests(okHttpProperties.getMaxRequests());
+			dispatcher.setMaxRequestsPerHost(okHttpProperties.getMaxRequestsPerHost());
+			return dispatcher;
+		}
+
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(name = { JdkHttpClients.HTTP_CLIENT_CLASS_NAME,
+			JdkHttpClients.FEIGN_CLIENT_CLASS_NAME })
+	@ConditionalOnProperty("feign.http2client.enabled")
+	@Import(org.springframework.cloud.openfeign.clientconfig.Http2ClientFeignConfiguration.class)
+	protected static class Http2ClientFeignConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean(Client.class)
+		public Client feignClient(BeanFactory beanFactory) {
+			return JdkHttpClients.newFeignClient(beanFactory);
+		}
+
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(org.apache.hc.client5.http.impl.classic.CloseableHttpClient.class)
+	@ConditionalOnProperty("feign.httpclient.hc5.enabled")
+	@Import(org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration.class)
+	protected static class HttpClient5FeignConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean(Client.class)
+		public Client feignClient(
+				org.apache.hc.client5.http.classic.HttpClient httpClient5) {
+			return new ApacheHttp5Client(httpClient5);
+		}
+
+		@Bean
+		@ConditionalOnMissingBean(AsyncClient.class)
+		public AsyncClient<Object> feignAsyncClient(
+				org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient httpAsyncClient5) {
+			return new AsyncApacheHttp5Client(httpAsyncClient5);
+		}
+
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(reactor.netty.http.client.HttpClient.class)
+	@ConditionalOnProperty("feign.netty.enabled")
+	@Import(org.springframework.cloud.openfeign.clientconfig.ReactorNettyFeignConfiguration.class)
+	protected static class ReactorNettyFeignConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean(Client.class)
+		public Client feignClient(
+				reactor.netty.http.client.HttpClient reactorNettyHttpClient) {
+			return new ReactorNettyClient(reactorNettyHttpClient);
+		}
+
+		@Bean
+		@ConditionalOnMissingBean(AsyncClient.class)
+		public AsyncClient<Object> feignAsyncClient(
+				reactor.netty.http.client.HttpClient reactorNettyHttpClient) {
+			return new AsyncReactorNettyClient(reactorNettyHttpClient);
+		}
+
 	}
 
 }
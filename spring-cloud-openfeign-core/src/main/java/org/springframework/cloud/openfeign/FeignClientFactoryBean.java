@@ -16,9 +16,18 @@
 
 package org.springframework.cloud.openfeign;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
+import feign.AsyncClient;
 import feign.Client;
 import feign.Contract;
 import feign.ExceptionPropagationPolicy;
@@ -32,14 +41,32 @@ import feign.Target.HardCodedTarget;
 import feign.codec.Decoder;
 import feign.codec.Encoder;
 import feign.codec.ErrorDecoder;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.cloud.openfeign.FeignClientProperties.ConnectionPoolConfiguration;
+import org.springframework.cloud.openfeign.async.AsyncCapability;
+import org.springframework.cloud.openfeign.async.AsyncFeignBuilder;
+import org.springframework.cloud.openfeign.async.AsyncInvocationHandlerFactory;
+import org.springframework.cloud.openfeign.async.AsyncReturnTypeAdapter;
+import org.springframework.cloud.openfeign.async.CompletableFutureReturnTypeAdapter;
+import org.springframework.cloud.openfeign.async.FeignAsyncExecutor;
+import org.springframework.cloud.openfeign.async.FireAndForgetDispatcher;
 import org.springframework.cloud.openfeign.clientconfig.FeignClientConfigurer;
+import org.springframework.cloud.openfeign.clientconfig.FeignConnectionWarmer;
+import org.springframework.cloud.openfeign.clientconfig.IsolatedClientFactory;
+import org.springframework.cloud.openfeign.clientconfig.SingleFlightClient;
+import org.springframework.cloud.openfeign.clientconfig.UnixDomainSocketClientFactory;
+import org.springframework.cloud.openfeign.collapsing.RequestCollapser;
 import org.springframework.cloud.openfeign.loadbalancer.FeignBlockingLoadBalancerClient;
+import org.springframework.cloud.openfeign.loadbalancer.FeignReactiveLoadBalancerClient;
+import org.springframework.cloud.openfeign.loadbalancer.RoutingKeyRemovingAsyncClient;
+import org.springframework.cloud.openfeign.loadbalancer.RoutingKeyRemovingClient;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
@@ -61,6 +88,13 @@ public class FeignClientFactoryBean
 	 * lifecycle race condition.
 	 ***********************************/
 
+	private static final Log LOG = LogFactory.getLog(FeignClientFactoryBean.class);
+
+	private static final String UNIX_SCHEME = "unix:";
+
+	private static final List<String> STREAMING_TYPE_NAMES = Arrays
+			.asList("reactor.core.publisher.Flux", "rx.Observable");
+
 	private Class<?> type;
 
 	private String name;
@@ -88,11 +122,15 @@ public class FeignClientFactoryBean
 	}
 
 	protected Feign.Builder feign(FeignContext context) {
+		return configure(context, get(context, Feign.Builder.class));
+	}
+
+	private Feign.Builder configure(FeignContext context, Feign.Builder builder) {
 		FeignLoggerFactory loggerFactory = get(context, FeignLoggerFactory.class);
 		Logger logger = loggerFactory.create(this.type);
 
 		// @formatter:off
-		Feign.Builder builder = get(context, Feign.Builder.class)
+		builder
 				// required values
 				.logger(logger)
 				.encoder(get(context, Encoder.class))
@@ -102,10 +140,110 @@ public class FeignClientFactoryBean
 
 		configureFeign(context, builder);
 		applyBuildCustomizers(context, builder);
+		configureAsync(context, builder);
 
 		return builder;
 	}
 
+	/**
+	 * Executes the methods returning an asynchronous type, such as
+	 * {@link java.util.concurrent.CompletableFuture}, on the
+	 * {@link FeignAsyncExecutor}, if the Feign client has any and is not built with
+	 * {@link AsyncFeignBuilder}. The contract and the invocation handler factory are
+	 * wrapped by an {@link AsyncCapability} when the Feign client is built, so the ones
+	 * set by the properties or a {@link FeignBuilderCustomizer} are wrapped too.
+	 * @param context the Feign context
+	 * @param builder the Feign builder
+	 */
+	protected void configureAsync(FeignContext context, Feign.Builder builder) {
+		List<AsyncReturnTypeAdapter> adapters = getAsyncReturnTypeAdapters();
+		if (builder instanceof AsyncFeignBuilder
+				|| !AsyncInvocationHandlerFactory.isAsync(this.type, adapters)) {
+			return;
+		}
+		builder.addCapability(new AsyncCapability(getAsyncExecutor(), adapters));
+	}
+
+	/**
+	 * Returns the non-blocking {@link AsyncClient} sending the requests of the Feign
+	 * client, if it has methods returning an asynchronous type. Without such a client,
+	 * the methods returning a {@link java.util.concurrent.CompletableFuture} are executed
+	 * on the {@link FeignAsyncExecutor}, and the other asynchronous methods are rejected.
+	 * @param context the Feign context
+	 * @param adapters the available adapters
+	 * @return the client to use, or {@code null} to build a blocking Feign client
+	 */
+	@SuppressWarnings("unchecked")
+	protected AsyncClient<Object> getAsyncClient(FeignContext context,
+			List<AsyncReturnTypeAdapter> adapters) {
+		for (Method method : this.type.getMethods()) {
+			if (STREAMING_TYPE_NAMES.contains(method.getReturnType().getName())) {
+				throw new IllegalStateException("Method " + method.getName()
+						+ " of Feign client '" + this.contextId + "' returns a "
+						+ method.getReturnType().getSimpleName()
+						+ ", but responses are received as a whole. "
+						+ "Return a Mono<List<T>> or a Single<List<T>> instead.");
+			}
+		}
+		if (!AsyncInvocationHandlerFactory.isAsync(this.type, adapters)) {
+			return null;
+		}
+		boolean loadBalanced = !StringUtils.hasText(this.url);
+		AsyncClient<Object> asyncClient = null;
+		if (loadBalanced || !this.url.startsWith(UNIX_SCHEME)) {
+			asyncClient = getOptional(context, AsyncClient.class);
+		}
+		if (asyncClient instanceof FeignReactiveLoadBalancerClient) {
+			if (isBlocking(
+					((FeignReactiveLoadBalancerClient) asyncClient).getDelegate())) {
+				asyncClient = null;
+			}
+			else if (!loadBalanced) {
+				// not load balancing because we have a url, so unwrap
+				asyncClient = ((FeignReactiveLoadBalancerClient) asyncClient)
+						.getDelegate();
+			}
+		}
+		else if (loadBalanced || isBlocking(asyncClient)) {
+			asyncClient = null;
+		}
+		if (asyncClient != null) {
+			if (!Modifier.isPublic(this.type.getModifiers())) {
+				throw new IllegalStateException("Feign client '" + this.contextId
+						+ "' must be a public interface to send its requests through an AsyncClient");
+			}
+			return !loadBalanced && hasRoutingKey()
+					? new RoutingKeyRemovingAsyncClient(asyncClient) : asyncClient;
+		}
+		for (Method method : this.type.getMethods()) {
+			AsyncReturnTypeAdapter adapter = AsyncInvocationHandlerFactory
+					.findAdapter(adapters, method.getReturnType());
+			if (adapter != null
+					&& !(adapter instanceof CompletableFutureReturnTypeAdapter)) {
+				throw new IllegalStateException("Method " + method.getName()
+						+ " of Feign client '" + this.contextId + "' returns a "
+						+ method.getReturnType().getSimpleName()
+						+ ", but there is no non-blocking AsyncClient. Did you forget to set feign.httpclient.hc5.enabled or feign.netty.enabled?");
+			}
+		}
+		LOG.warn("Feign client '" + this.contextId
+				+ "' has no non-blocking AsyncClient, so the requests of its asynchronous methods block threads of the FeignAsyncExecutor");
+		return null;
+	}
+
+	private static boolean isBlocking(AsyncClient<?> asyncClient) {
+		return asyncClient == null || asyncClient instanceof AsyncClient.Default;
+	}
+
+	private Executor getAsyncExecutor() {
+		return this.applicationContext.getBean(FeignAsyncExecutor.class)::execute;
+	}
+
+	private List<AsyncReturnTypeAdapter> getAsyncReturnTypeAdapters() {
+		return this.applicationContext.getBeanProvider(AsyncReturnTypeAdapter.class)
+				.orderedStream().collect(Collectors.toList());
+	}
+
 	private void applyBuildCustomizers(FeignContext context, Feign.Builder builder) {
 		Map<String, FeignBuilderCustomizer> customizerMap = context
 				.getInstances(contextId, FeignBuilderCustomizer.class);
@@ -300,6 +438,14 @@ public class FeignClientFactoryBean
 			HardCodedTarget<T> target) {
 		Client client = getOptional(context, Client.class);
 		if (client != null) {
+			client = isolateConnectionPool(context, client);
+			FeignConnectionWarmer warmer = getConnectionWarmer();
+			if (warmer != null && client instanceof FeignBlockingLoadBalancerClient) {
+				warmer.registerService(
+						((FeignBlockingLoadBalancerClient) client).getDelegate(),
+						URI.create(target.url()).getHost());
+			}
+			client = singleFlight(client);
 			builder.client(client);
 			Targeter targeter = get(context, Targeter.class);
 			return targeter.target(this, builder, context, target);
@@ -309,6 +455,95 @@ public class FeignClientFactoryBean
 				"No Feign Client for loadBalancing defined. Did you forget to include spring-cloud-starter-loadbalancer?");
 	}
 
+	/**
+	 * Replaces the given client with one using a dedicated connection pool, if a
+	 * connection pool is configured for this Feign client.
+	 * @param context the Feign context
+	 * @param client the shared client
+	 * @return the client to use
+	 */
+	protected Client isolateConnectionPool(FeignContext context, Client client) {
+		ConnectionPoolConfiguration pool = getConnectionPoolConfiguration();
+		if (pool == null) {
+			return client;
+		}
+		IsolatedClientFactory factory = getOptional(context,
+				IsolatedClientFactory.class);
+		if (client instanceof FeignBlockingLoadBalancerClient) {
+			FeignBlockingLoadBalancerClient lbClient = (FeignBlockingLoadBalancerClient) client;
+			if (factory != null && factory.supports(lbClient.getDelegate())) {
+				return lbClient.withDelegate(factory.create(this.contextId, pool));
+			}
+		}
+		else if (factory != null && factory.supports(client)) {
+			return factory.create(this.contextId, pool);
+		}
+		LOG.warn("A connection pool is configured for Feign client '" + this.contextId
+				+ "', but its client " + client.getClass().getName()
+				+ " does not support dedicated pools; using the shared pool");
+		return client;
+	}
+
+	/**
+	 * Shares the responses of identical concurrent {@code GET} requests, if enabled for
+	 * the Feign client.
+	 * @param client the client to use
+	 * @return the client to use
+	 */
+	protected Client singleFlight(Client client) {
+		FeignClientProperties properties = this.applicationContext
+				.getBeanProvider(FeignClientProperties.class).getIfAvailable();
+		if (properties == null) {
+			return client;
+		}
+		FeignClientProperties.FeignClientConfiguration config = properties.getConfig()
+				.get(this.contextId);
+		Boolean singleFlight = config != null ? config.getSingleFlight() : null;
+		if (singleFlight == null) {
+			config = properties.getConfig().get(properties.getDefaultConfig());
+			singleFlight = config != null ? config.getSingleFlight() : null;
+		}
+		return Boolean.TRUE.equals(singleFlight) ? new SingleFlightClient(client)
+				: client;
+	}
+
+	/**
+	 * Returns the client connecting to the given Unix domain socket.
+	 * @param context the Feign context
+	 * @param socketPath the path of the Unix domain socket
+	 * @return the client to use
+	 */
+	protected Client unixDomainSocketClient(FeignContext context, String socketPath) {
+		UnixDomainSocketClientFactory factory = getOptional(context,
+				UnixDomainSocketClientFactory.class);
+		if (factory == null) {
+			throw new IllegalStateException("Feign client '" + this.contextId
+					+ "' has a " + UNIX_SCHEME
+					+ " url, but no UnixDomainSocketClientFactory is defined. Did you forget to set feign.okhttp.enabled?");
+		}
+		return factory.create(socketPath);
+	}
+
+	private ConnectionPoolConfiguration getConnectionPoolConfiguration() {
+		FeignClientProperties properties = this.applicationContext
+				.getBeanProvider(FeignClientProperties.class).getIfAvailable();
+		if (properties == null) {
+			return null;
+		}
+		FeignClientProperties.FeignClientConfiguration config = properties.getConfig()
+				.get(this.contextId);
+		if (config != null && config.getConnectionPool() != null) {
+			return config.getConnectionPool();
+		}
+		config = properties.getConfig().get(properties.getDefaultConfig());
+		return config != null ? config.getConnectionPool() : null;
+	}
+
+	private FeignConnectionWarmer getConnectionWarmer() {
+		return this.applicationContext.getBeanProvider(FeignConnectionWarmer.class)
+				.getIfAvailable();
+	}
+
 	@Override
 	public Object getObject() {
 		return getTarget();
@@ -319,9 +554,15 @@ public class FeignClientFactoryBean
 	 * @return a {@link Feign} client created with the specified data and the context
 	 * information
 	 */
+	// T is the type of the Feign client, which this.type holds
+	@SuppressWarnings("unchecked")
 	<T> T getTarget() {
 		FeignContext context = this.applicationContext.getBean(FeignContext.class);
-		Feign.Builder builder = feign(context);
+		List<AsyncReturnTypeAdapter> adapters = getAsyncReturnTypeAdapters();
+		AsyncClient<Object> asyncClient = getAsyncClient(context, adapters);
+		Feign.Builder builder = asyncClient != null
+				? configure(context, new AsyncFeignBuilder(asyncClient, adapters))
+				: feign(context);
 
 		if (!StringUtils.hasText(this.url)) {
 			if (!this.name.startsWith("http")) {
@@ -331,25 +572,99 @@ public class FeignClientFactoryBean
 				this.url = this.name;
 			}
 			this.url += cleanPath();
-			return (T) loadBalance(builder, context,
-					new HardCodedTarget<>(this.type, this.name, this.url));
+			return decorate((T) loadBalance(builder, context,
+					new HardCodedTarget<>(this.type, this.name, this.url)));
+		}
+		String socketPath = null;
+		if (this.url.startsWith(UNIX_SCHEME)) {
+			socketPath = URI.create(this.url).getPath();
+			this.url = "http://localhost";
 		}
 		if (StringUtils.hasText(this.url) && !this.url.startsWith("http")) {
 			this.url = "http://" + this.url;
 		}
 		String url = this.url + cleanPath();
 		Client client = getOptional(context, Client.class);
-		if (client != null) {
+		if (socketPath != null) {
+			client = unixDomainSocketClient(context, socketPath);
+		}
+		else if (client != null) {
 			if (client instanceof FeignBlockingLoadBalancerClient) {
 				// not load balancing because we have a url,
 				// but Spring Cloud LoadBalancer is on the classpath, so unwrap
 				client = ((FeignBlockingLoadBalancerClient) client).getDelegate();
 			}
+			client = isolateConnectionPool(context, client);
+		}
+		if (client == null && hasRoutingKey()) {
+			client = new Client.Default(null, null);
+		}
+		if (client != null) {
+			FeignConnectionWarmer warmer = getConnectionWarmer();
+			if (warmer != null) {
+				warmer.registerUrl(client, this.url);
+			}
+			client = singleFlight(client);
+			if (hasRoutingKey()) {
+				// not load balancing, so the routing key must not reach the server
+				client = new RoutingKeyRemovingClient(client);
+			}
 			builder.client(client);
 		}
 		Targeter targeter = get(context, Targeter.class);
-		return (T) targeter.target(this, builder, context,
-				new HardCodedTarget<>(this.type, this.name, url));
+		return decorate(targeter.target(this, builder, context,
+				new HardCodedTarget<>((Class<T>) this.type, this.name, url)));
+	}
+
+	private boolean hasRoutingKey() {
+		for (Method method : this.type.getMethods()) {
+			for (Annotation[] annotations : method.getParameterAnnotations()) {
+				for (Annotation annotation : annotations) {
+					if (annotation instanceof RoutingKey) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	private <T> T decorate(T client) {
+		return fireAndForget(collapseRequests(client));
+	}
+
+	/**
+	 * Collapses the calls to the methods of the Feign client annotated with
+	 * {@link CollapseInto}, if there is a {@link RequestCollapser}.
+	 * @param client the Feign client
+	 * @param <T> the target type of the Feign client
+	 * @return the Feign client, or a proxy collapsing its calls
+	 */
+	@SuppressWarnings("unchecked")
+	protected <T> T collapseRequests(T client) {
+		RequestCollapser collapser = this.applicationContext
+				.getBeanProvider(RequestCollapser.class).getIfAvailable();
+		if (collapser == null) {
+			return client;
+		}
+		return collapser.collapse((Class<T>) this.type, client);
+	}
+
+	/**
+	 * Queues the calls to the methods of the Feign client annotated with
+	 * {@link FireAndForget}, if there is a {@link FireAndForgetDispatcher}.
+	 * @param client the Feign client
+	 * @param <T> the target type of the Feign client
+	 * @return the Feign client, or a proxy queueing its calls
+	 */
+	@SuppressWarnings("unchecked")
+	protected <T> T fireAndForget(T client) {
+		FireAndForgetDispatcher dispatcher = this.applicationContext
+				.getBeanProvider(FireAndForgetDispatcher.class).getIfAvailable();
+		if (dispatcher == null) {
+			return client;
+		}
+		return dispatcher.decorate((Class<T>) this.type, client);
 	}
 
 	private String cleanPath() {
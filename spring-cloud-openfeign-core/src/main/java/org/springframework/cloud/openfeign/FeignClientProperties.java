@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import feign.Contract;
 import feign.ExceptionPropagationPolicy;
@@ -114,6 +115,10 @@ public class FeignClientProperties {
 
 		private ExceptionPropagationPolicy exceptionPropagationPolicy;
 
+		private ConnectionPoolConfiguration connectionPool;
+
+		private Boolean singleFlight;
+
 		public Logger.Level getLoggerLevel() {
 			return this.loggerLevel;
 		}
@@ -204,6 +209,22 @@ public class FeignClientProperties {
 			this.exceptionPropagationPolicy = exceptionPropagationPolicy;
 		}
 
+		public ConnectionPoolConfiguration getConnectionPool() {
+			return this.connectionPool;
+		}
+
+		public void setConnectionPool(ConnectionPoolConfiguration connectionPool) {
+			this.connectionPool = connectionPool;
+		}
+
+		public Boolean getSingleFlight() {
+			return this.singleFlight;
+		}
+
+		public void setSingleFlight(Boolean singleFlight) {
+			this.singleFlight = singleFlight;
+		}
+
 		@Override
 		public boolean equals(Object o) {
 			if (this == o) {
@@ -224,7 +245,9 @@ public class FeignClientProperties {
 					&& Objects.equals(this.decoder, that.decoder)
 					&& Objects.equals(this.contract, that.contract)
 					&& Objects.equals(this.exceptionPropagationPolicy,
-							that.exceptionPropagationPolicy);
+							that.exceptionPropagationPolicy)
+					&& Objects.equals(this.connectionPool, that.connectionPool)
+					&& Objects.equals(this.singleFlight, that.singleFlight);
 		}
 
 		@Override
@@ -232,7 +255,78 @@ public class FeignClientProperties {
 			return Objects.hash(this.loggerLevel, this.connectTimeout, this.readTimeout,
 					this.retryer, this.errorDecoder, this.requestInterceptors,
 					this.decode404, this.encoder, this.decoder, this.contract,
-					this.exceptionPropagationPolicy);
+					this.exceptionPropagationPolicy, this.connectionPool,
+					this.singleFlight);
+		}
+
+	}
+
+	/**
+	 * Configuration of a connection pool dedicated to a single Feign client. Settings
+	 * that are not set fall back to the {@code feign.httpclient} ones.
+	 */
+	public static class ConnectionPoolConfiguration {
+
+		private Integer maxConnections;
+
+		private Integer maxConnectionsPerRoute;
+
+		private Long timeToLive;
+
+		private TimeUnit timeToLiveUnit;
+
+		public Integer getMaxConnections() {
+			return this.maxConnections;
+		}
+
+		public void setMaxConnections(Integer maxConnections) {
+			this.maxConnections = maxConnections;
+		}
+
+		public Integer getMaxConnectionsPerRoute() {
+			return this.maxConnectionsPerRoute;
+		}
+
+		public void setMaxConnectionsPerRoute(Integer maxConnectionsPerRoute) {
+			this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+		}
+
+		public Long getTimeToLive() {
+			return this.timeToLive;
+		}
+
+		public void setTimeToLive(Long timeToLive) {
+			this.timeToLive = timeToLive;
+		}
+
+		public TimeUnit getTimeToLiveUnit() {
+			return this.timeToLiveUnit;
+		}
+
+		public void setTimeToLiveUnit(TimeUnit timeToLiveUnit) {
+			this.timeToLiveUnit = timeToLiveUnit;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			ConnectionPoolConfiguration that = (ConnectionPoolConfiguration) o;
+			return Objects.equals(this.maxConnections, that.maxConnections)
+					&& Objects.equals(this.maxConnectionsPerRoute,
+							that.maxConnectionsPerRoute)
+					&& Objects.equals(this.timeToLive, that.timeToLive)
+					&& this.timeToLiveUnit == that.timeToLiveUnit;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.maxConnections, this.maxConnectionsPerRoute,
+					this.timeToLive, this.timeToLiveUnit);
 		}
 
 	}
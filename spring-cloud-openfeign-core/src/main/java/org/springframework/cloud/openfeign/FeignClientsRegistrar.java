@@ -111,9 +111,14 @@ class FeignClientsRegistrar
 				url = "http://" + url;
 			}
 			try {
-				new URL(url);
+				if (url.startsWith("unix:")) {
+					new URI(url);
+				}
+				else {
+					new URL(url);
+				}
 			}
-			catch (MalformedURLException e) {
+			catch (MalformedURLException | URISyntaxException e) {
 				throw new IllegalArgumentException(url + " is malformed", e);
 			}
 		}
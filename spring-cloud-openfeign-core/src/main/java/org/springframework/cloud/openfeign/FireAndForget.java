@@ -0,0 +1,50 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Makes the calls to a {@code void} Feign client method return immediately. The calls
+ * are queued and sent by a few worker threads, and dropped if the queue is full. If
+ * {@link #batch()} names a batch method of the same Feign client, taking a collection
+ * of the single argument of the annotated method, the queued calls are sent through it,
+ * up to {@link #maxBatchSize()} at a time.
+ *
+ * @since 3.0.0
+ * @see org.springframework.cloud.openfeign.async.FireAndForgetDispatcher
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD })
+@Documented
+public @interface FireAndForget {
+
+	/**
+	 * @return the name of the batch method, empty to send the calls one by one
+	 */
+	String batch() default "";
+
+	/**
+	 * @return the maximum number of calls sent through the batch method at a time
+	 */
+	int maxBatchSize() default 100;
+
+}
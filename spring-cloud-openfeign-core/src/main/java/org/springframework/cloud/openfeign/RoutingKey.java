@@ -0,0 +1,46 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a Feign client method parameter as the load-balancer routing key. Requests that
+ * carry the same key are routed to the same service instance for as long as that
+ * instance is available. The parameter may additionally be annotated with
+ * {@code @PathVariable}, {@code @RequestParam} or {@code @RequestHeader}.
+ *
+ * @since 3.0.0
+ * @see org.springframework.cloud.openfeign.annotation.RoutingKeyParameterProcessor
+ * @see org.springframework.cloud.openfeign.loadbalancer.ConsistentHashServiceInstanceChooser
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.PARAMETER })
+@Documented
+public @interface RoutingKey {
+
+	/**
+	 * Name of the request header used to pass the routing key to the load-balanced
+	 * {@link feign.Client}. The header is removed before the request is sent.
+	 */
+	String HEADER_NAME = "X-Feign-Routing-Key";
+
+}
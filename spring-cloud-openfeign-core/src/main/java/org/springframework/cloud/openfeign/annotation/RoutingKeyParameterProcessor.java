@@ -0,0 +1,63 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Collection;
+
+import feign.MethodMetadata;
+
+import org.springframework.cloud.openfeign.AnnotatedParameterProcessor;
+import org.springframework.cloud.openfeign.RoutingKey;
+
+import static feign.Util.checkState;
+
+/**
+ * {@link RoutingKey} parameter processor. Exposes the annotated parameter through the
+ * {@link RoutingKey#HEADER_NAME} header template, so that the load-balanced client can
+ * read it once the request has been resolved.
+ *
+ * @since 3.0.0
+ * @see AnnotatedParameterProcessor
+ */
+public class RoutingKeyParameterProcessor implements AnnotatedParameterProcessor {
+
+	private static final Class<RoutingKey> ANNOTATION = RoutingKey.class;
+
+	private static final String PARAMETER_NAME = "feignRoutingKey";
+
+	@Override
+	public Class<? extends Annotation> getAnnotationType() {
+		return ANNOTATION;
+	}
+
+	@Override
+	public boolean processArgument(AnnotatedParameterContext context,
+			Annotation annotation, Method method) {
+		MethodMetadata data = context.getMethodMetadata();
+		checkState(!data.template().headers().containsKey(RoutingKey.HEADER_NAME),
+				"RoutingKey can only be present once, found a second one on parameter %s",
+				context.getParameterIndex());
+		context.setParameterName(PARAMETER_NAME);
+
+		Collection<String> header = context.setTemplateParameter(PARAMETER_NAME, null);
+		data.template().header(RoutingKey.HEADER_NAME, header);
+		return true;
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cloud.openfeign.async;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import feign.Capability;
+import feign.Contract;
+import feign.InvocationHandlerFactory;
+
+/**
+ * {@link Capability} executing the methods that return an asynchronous type on an
+ * {@link Executor}. It wraps the final {@link Contract} in an {@link AsyncContract} and
+ * the final {@link InvocationHandlerFactory} in an
+ * {@link AsyncInvocationHandlerFactory} when the Feign client is built, so a contract
+ * or an invocation handler factory set afterwards, for example by a
+ * {@link org.springframework.cloud.openfeign.FeignBuilderCustomizer}, is still wrapped.
+ *
+ * @since 3.0.0
+ */
+public class AsyncCapability implements Capability {
+
+	private final Executor executor;
+
+	private final List<AsyncReturnTypeAdapter> adapters;
+
+	/**
+	 * @param executor the executor running the methods
+	 * @param adapters the available adapters
+	 */
+	public AsyncCapability(Executor executor, List<AsyncReturnTypeAdapter> adapters) {
+		this.executor = executor;
+		this.adapters = adapters;
+	}
+
+	@Override
+	public Contract enrich(Contract contract) {
+		return new AsyncContract(contract, this.adapters);
+	}
+
+	@Override
+	public InvocationHandlerFactory enrich(
+			InvocationHandlerFactory invocationHandlerFactory) {
+		return new AsyncInvocationHandlerFactory(invocationHandlerFactory, this.executor,
+				this.adapters);
+	}
+
+}
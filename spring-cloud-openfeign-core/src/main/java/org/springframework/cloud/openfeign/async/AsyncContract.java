@@ -0,0 +1,57 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.async;
+
+import java.util.List;
+
+import feign.Contract;
+import feign.MethodMetadata;
+
+import org.springframework.core.ResolvableType;
+
+/**
+ * {@link Contract} decoding the response body of the methods returning an asynchronous
+ * type as the type of the result, for example {@code Foo} for a method returning
+ * {@code CompletableFuture<Foo>}.
+ *
+ * @since 3.0.0
+ */
+public class AsyncContract implements Contract {
+
+	private final Contract delegate;
+
+	private final List<AsyncReturnTypeAdapter> adapters;
+
+	public AsyncContract(Contract delegate, List<AsyncReturnTypeAdapter> adapters) {
+		this.delegate = delegate;
+		this.adapters = adapters;
+	}
+
+	@Override
+	public List<MethodMetadata> parseAndValidateMetadata(Class<?> targetType) {
+		List<MethodMetadata> metadata = this.delegate.parseAndValidateMetadata(targetType);
+		for (MethodMetadata md : metadata) {
+			AsyncReturnTypeAdapter adapter = AsyncInvocationHandlerFactory.findAdapter(
+					this.adapters, ResolvableType.forType(md.returnType()).resolve());
+			if (adapter != null) {
+				md.returnType(adapter.getBodyType(md.returnType()));
+			}
+		}
+		return metadata;
+	}
+
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cloud.openfeign.async;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import feign.AsyncClient;
+import feign.AsyncFeign;
+import feign.Capability;
+import feign.Client;
+import feign.Contract;
+import feign.ExceptionPropagationPolicy;
+import feign.Feign;
+import feign.InvocationHandlerFactory;
+import feign.Logger;
+import feign.QueryMapEncoder;
+import feign.Request;
+import feign.RequestInterceptor;
+import feign.ResponseMapper;
+import feign.Retryer;
+import feign.codec.Decoder;
+import feign.codec.Encoder;
+import feign.codec.ErrorDecoder;
+
+/**
+ * {@link Feign.Builder} building the Feign client with {@link AsyncFeign}, so that its
+ * requests are sent through a non-blocking {@link AsyncClient}. The methods returning a
+ * {@link CompletableFuture} complete once their response is decoded, the methods
+ * returning another type handled by an {@link AsyncReturnTypeAdapter} send their request
+ * when the returned value is subscribed to, and the other methods wait for their
+ * response on the calling thread.
+ * <p>
+ * The {@link Client} and the {@link ExceptionPropagationPolicy} are not used, and only
+ * the requests are logged. Since {@link AsyncFeign} does not retry requests, building
+ * fails if a {@link Retryer} other than {@link Retryer#NEVER_RETRY} is set.
+ *
+ * @since 3.0.0
+ */
+public class AsyncFeignBuilder extends Feign.Builder {
+
+	private final AsyncClient<Object> client;
+
+	private final List<AsyncReturnTypeAdapter> adapters;
+
+	private final List<RequestInterceptor> requestInterceptors = new ArrayList<>();
+
+	private final List<Capability> capabilities = new ArrayList<>();
+
+	private Logger.Level logLevel;
+
+	private Contract contract;
+
+	private Retryer retryer;
+
+	private Logger logger;
+
+	private Encoder encoder;
+
+	private Decoder decoder = new Decoder.Default();
+
+	private QueryMapEncoder queryMapEncoder;
+
+	private boolean decode404;
+
+	private ErrorDecoder errorDecoder = new ErrorDecoder.Default();
+
+	private Request.Options options;
+
+	private InvocationHandlerFactory invocationHandlerFactory;
+
+	private boolean closeAfterDecode = true;
+
+	/**
+	 * @param client the non-blocking client sending the requests
+	 * @param adapters the available adapters
+	 */
+	public AsyncFeignBuilder(AsyncClient<Object> client,
+			List<AsyncReturnTypeAdapter> adapters) {
+		this.client = client;
+		this.adapters = adapters;
+	}
+
+	@Override
+	public Feign.Builder logLevel(Logger.Level logLevel) {
+		this.logLevel = logLevel;
+		return super.logLevel(logLevel);
+	}
+
+	@Override
+	public Feign.Builder contract(Contract contract) {
+		this.contract = contract;
+		return super.contract(contract);
+	}
+
+	@Override
+	public Feign.Builder retryer(Retryer retryer) {
+		this.retryer = retryer;
+		return super.retryer(retryer);
+	}
+
+	@Override
+	public Feign.Builder logger(Logger logger) {
+		this.logger = logger;
+		return super.logger(logger);
+	}
+
+	@Override
+	public Feign.Builder encoder(Encoder encoder) {
+		this.encoder = encoder;
+		return super.encoder(encoder);
+	}
+
+	@Override
+	public Feign.Builder decoder(Decoder decoder) {
+		this.decoder = decoder;
+		return super.decoder(decoder);
+	}
+
+	@Override
+	public Feign.Builder queryMapEncoder(QueryMapEncoder queryMapEncoder) {
+		this.queryMapEncoder = queryMapEncoder;
+		return super.queryMapEncoder(queryMapEncoder);
+	}
+
+	@Override
+	public Feign.Builder mapAndDecode(ResponseMapper mapper, Decoder decoder) {
+		this.decoder = (response, type) -> decoder.decode(mapper.map(response, type),
+				type);
+		return super.mapAndDecode(mapper, decoder);
+	}
+
+	@Override
+	public Feign.Builder decode404() {
+		this.decode404 = true;
+		return super.decode404();
+	}
+
+	@Override
+	public Feign.Builder errorDecoder(ErrorDecoder errorDecoder) {
+		this.errorDecoder = errorDecoder;
+		return super.errorDecoder(errorDecoder);
+	}
+
+	@Override
+	public Feign.Builder options(Request.Options options) {
+		this.options = options;
+		return super.options(options);
+	}
+
+	@Override
+	public Feign.Builder requestInterceptor(RequestInterceptor requestInterceptor) {
+		this.requestInterceptors.add(requestInterceptor);
+		return super.requestInterceptor(requestInterceptor);
+	}
+
+	@Override
+	public Feign.Builder requestInterceptors(
+			Iterable<RequestInterceptor> requestInterceptors) {
+		this.requestInterceptors.clear();
+		requestInterceptors.forEach(this.requestInterceptors::add);
+		return super.requestInterceptors(requestInterceptors);
+	}
+
+	@Override
+	public Feign.Builder invocationHandlerFactory(
+			InvocationHandlerFactory invocationHandlerFactory) {
+		this.invocationHandlerFactory = invocationHandlerFactory;
+		return super.invocationHandlerFactory(invocationHandlerFactory);
+	}
+
+	@Override
+	public Feign.Builder doNotCloseAfterDecode() {
+		this.closeAfterDecode = false;
+		return super.doNotCloseAfterDecode();
+	}
+
+	@Override
+	public Feign.Builder addCapability(Capability capability) {
+		this.capabilities.add(capability);
+		return super.addCapability(capability);
+	}
+
+	@Override
+	public Feign build() {
+		if (this.retryer != null && this.retryer != Retryer.NEVER_RETRY) {
+			throw new IllegalStateException("Feign clients sending their requests "
+					+ "through an AsyncClient do not retry them, but the Retryer "
+					+ this.retryer.getClass().getName() + " is configured");
+		}
+		Decoder decoder = new DeferredDecoder(enrich(this.decoder), this.errorDecoder,
+				this.decode404, this.closeAfterDecode, this.adapters);
+		AsyncFeign.AsyncBuilder<Object> builder = AsyncFeign.<Object>asyncBuilder()
+				.client(new DeferredAsyncClient(this.client, this.adapters))
+				.decoder(decoder).errorDecoder(this.errorDecoder)
+				.requestInterceptors(this.requestInterceptors.stream().map(this::enrich)
+						.collect(Collectors.toList()));
+		if (this.decode404) {
+			builder.decode404();
+		}
+		if (!this.closeAfterDecode) {
+			builder.doNotCloseAfterDecode();
+		}
+		if (this.logLevel != null) {
+			builder.logLevel(this.logLevel);
+		}
+		if (this.contract != null) {
+			builder.contract(enrich(this.contract));
+		}
+		if (this.logger != null) {
+			builder.logger(enrich(this.logger));
+		}
+		if (this.encoder != null) {
+			builder.encoder(enrich(this.encoder));
+		}
+		if (this.queryMapEncoder != null) {
+			builder.queryMapEncoder(enrich(this.queryMapEncoder));
+		}
+		if (this.options != null) {
+			builder.options(enrich(this.options));
+		}
+		if (this.invocationHandlerFactory != null) {
+			builder.invocationHandlerFactory(enrich(this.invocationHandlerFactory));
+		}
+		return builder.build();
+	}
+
+	private <E> E enrich(E component) {
+		return Capability.enrich(component, this.capabilities);
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.async;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import feign.InvocationHandlerFactory;
+import feign.Target;
+
+/**
+ * {@link InvocationHandlerFactory} executing the methods that return an asynchronous type
+ * on an {@link Executor}, and adapting their result with the matching
+ * {@link AsyncReturnTypeAdapter}. The other methods are invoked on the calling thread.
+ * This is used by the Feign clients without a non-blocking {@link feign.AsyncClient},
+ * which are otherwise built with {@link AsyncFeignBuilder}.
+ *
+ * @since 3.0.0
+ */
+public class AsyncInvocationHandlerFactory implements InvocationHandlerFactory {
+
+	private final InvocationHandlerFactory delegate;
+
+	private final Executor executor;
+
+	private final List<AsyncReturnTypeAdapter> adapters;
+
+	public AsyncInvocationHandlerFactory(Executor executor,
+			List<AsyncReturnTypeAdapter> adapters) {
+		this(new InvocationHandlerFactory.Default(), executor, adapters);
+	}
+
+	/**
+	 * @param delegate creates the invocation handler of the other methods
+	 * @param executor the executor running the methods
+	 * @param adapters the available adapters
+	 */
+	public AsyncInvocationHandlerFactory(InvocationHandlerFactory delegate,
+			Executor executor, List<AsyncReturnTypeAdapter> adapters) {
+		this.delegate = delegate;
+		this.executor = executor;
+		this.adapters = adapters;
+	}
+
+	/**
+	 * @param type a Feign client interface
+	 * @param adapters the available adapters
+	 * @return whether any method of the interface returns an asynchronous type
+	 */
+	public static boolean isAsync(Class<?> type, List<AsyncReturnTypeAdapter> adapters) {
+		for (Method method : type.getMethods()) {
+			if (findAdapter(adapters, method.getReturnType()) != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param adapters the available adapters
+	 * @param returnType the raw return type of a Feign client method, may be
+	 * {@code null}
+	 * @return the first adapter handling the given type, or {@code null}
+	 */
+	public static AsyncReturnTypeAdapter findAdapter(
+			List<AsyncReturnTypeAdapter> adapters, Class<?> returnType) {
+		if (returnType == null) {
+			return null;
+		}
+		for (AsyncReturnTypeAdapter adapter : adapters) {
+			if (adapter.supports(returnType)) {
+				return adapter;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	// raw, as declared by InvocationHandlerFactory
+	@SuppressWarnings("rawtypes")
+	public InvocationHandler create(Target target, Map<Method, MethodHandler> dispatch) {
+		InvocationHandler handler = this.delegate.create(target, dispatch);
+		Map<Method, AsyncReturnTypeAdapter> methodAdapters = new HashMap<>();
+		for (Method method : dispatch.keySet()) {
+			AsyncReturnTypeAdapter adapter = findAdapter(this.adapters,
+					method.getReturnType());
+			if (adapter != null) {
+				methodAdapters.put(method, adapter);
+			}
+		}
+		return (proxy, method, args) -> {
+			AsyncReturnTypeAdapter adapter = methodAdapters.get(method);
+			if (adapter == null) {
+				return handler.invoke(proxy, method, args);
+			}
+			return adapter.adapt(() -> CompletableFuture.supplyAsync(() -> {
+				try {
+					return handler.invoke(proxy, method, args);
+				}
+				catch (RuntimeException | Error e) {
+					throw e;
+				}
+				catch (Throwable e) {
+					throw new CompletionException(e);
+				}
+			}, this.executor));
+		};
+	}
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.async;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Adapts the result of the Feign client methods returning an asynchronous type, such as
+ * {@link CompletableFuture}. The request of such methods is sent through the
+ * non-blocking {@link feign.AsyncClient} of the Feign client, or executed on the
+ * {@link FeignAsyncExecutor} if it has none, and its response body is decoded as the
+ * type returned by {@link #getBodyType(Type)}.
+ *
+ * @since 3.0.0
+ */
+public interface AsyncReturnTypeAdapter {
+
+	/**
+	 * @param returnType the raw return type of a Feign client method
+	 * @return whether this adapter handles methods returning the given type
+	 */
+	boolean supports(Class<?> returnType);
+
+	/**
+	 * @param returnType the generic return type of a Feign client method
+	 * @return the type the response body is decoded as, {@code void.class} to not decode
+	 * it
+	 */
+	Type getBodyType(Type returnType);
+
+	/**
+	 * @param invocation sends the request of the method, and returns the future of its
+	 * decoded result
+	 * @return the value returned by the Feign client method
+	 */
+	Object adapt(Supplier<CompletableFuture<Object>> invocation);
+
+}
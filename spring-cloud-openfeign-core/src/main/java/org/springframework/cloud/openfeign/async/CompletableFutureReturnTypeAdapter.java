@@ -0,0 +1,66 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.async;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+import org.springframework.core.ResolvableType;
+
+/**
+ * {@link AsyncReturnTypeAdapter} for the methods returning a {@link CompletableFuture} or
+ * a {@link CompletionStage}. The request is sent as soon as the method is called.
+ *
+ * @since 3.0.0
+ */
+public class CompletableFutureReturnTypeAdapter implements AsyncReturnTypeAdapter {
+
+	@Override
+	public boolean supports(Class<?> returnType) {
+		return CompletableFuture.class == returnType
+				|| CompletionStage.class == returnType;
+	}
+
+	@Override
+	public Type getBodyType(Type returnType) {
+		return bodyType(returnType);
+	}
+
+	@Override
+	public Object adapt(Supplier<CompletableFuture<Object>> invocation) {
+		return invocation.get();
+	}
+
+	/**
+	 * @param returnType a generic type with a single type argument
+	 * @return the type argument, {@code void.class} for {@link Void} and
+	 * {@link Object Object.class} when it is unknown
+	 */
+	static Type bodyType(Type returnType) {
+		ResolvableType bodyType = ResolvableType.forType(returnType).getGeneric(0);
+		if (bodyType == ResolvableType.NONE || bodyType.resolve() == null) {
+			return Object.class;
+		}
+		if (Void.class == bodyType.resolve()) {
+			return void.class;
+		}
+		return bodyType.getType();
+	}
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.async;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import rx.Completable;
+
+/**
+ * {@link AsyncReturnTypeAdapter} for the methods returning an RxJava {@link Completable}.
+ * The response body is not decoded. The request is sent when the {@link Completable} is
+ * subscribed to, and cancelled when the subscriber unsubscribes.
+ *
+ * @since 3.0.0
+ */
+public class CompletableReturnTypeAdapter implements AsyncReturnTypeAdapter {
+
+	@Override
+	public boolean supports(Class<?> returnType) {
+		return Completable.class == returnType;
+	}
+
+	@Override
+	public Type getBodyType(Type returnType) {
+		return void.class;
+	}
+
+	@Override
+	public Object adapt(Supplier<CompletableFuture<Object>> invocation) {
+		return SingleReturnTypeAdapter.single(invocation).toCompletable();
+	}
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cloud.openfeign.async;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import feign.AsyncClient;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+
+import org.springframework.core.ResolvableType;
+
+/**
+ * {@link AsyncClient} deferring the requests of the methods returning an asynchronous
+ * type other than {@link CompletableFuture}, such as {@code Mono}. Such a request is
+ * answered at once with a placeholder response whose {@link Exchange} body sends it, so
+ * that {@link DeferredDecoder} sends it only when the returned value is subscribed to.
+ * The other requests are sent through the delegate.
+ *
+ * @since 3.0.0
+ */
+final class DeferredAsyncClient implements AsyncClient<Object> {
+
+	private final AsyncClient<Object> delegate;
+
+	private final List<AsyncReturnTypeAdapter> adapters;
+
+	DeferredAsyncClient(AsyncClient<Object> delegate,
+			List<AsyncReturnTypeAdapter> adapters) {
+		this.delegate = delegate;
+		this.adapters = adapters;
+	}
+
+	@Override
+	public CompletableFuture<Response> execute(Request request, Request.Options options,
+			Optional<Object> requestContext) {
+		if (!isDeferred(request)) {
+			return this.delegate.execute(request, options, requestContext);
+		}
+		Exchange exchange = new Exchange(
+				() -> this.delegate.execute(request, options, requestContext));
+		return CompletableFuture.completedFuture(Response.builder().status(200)
+				.request(request).headers(Collections.emptyMap()).body(exchange).build());
+	}
+
+	private boolean isDeferred(Request request) {
+		RequestTemplate template = request.requestTemplate();
+		MethodMetadata metadata = template != null ? template.methodMetadata() : null;
+		if (metadata == null) {
+			return false;
+		}
+		Class<?> returnType = ResolvableType.forType(metadata.returnType()).resolve();
+		return returnType != CompletableFuture.class && AsyncInvocationHandlerFactory
+				.findAdapter(this.adapters, returnType) != null;
+	}
+
+	/**
+	 * The body of a placeholder response, sending the deferred request.
+	 */
+	static final class Exchange implements Response.Body {
+
+		private final Supplier<CompletableFuture<Response>> request;
+
+		private Exchange(Supplier<CompletableFuture<Response>> request) {
+			this.request = request;
+		}
+
+		/**
+		 * @return the future of the response of the deferred request, which is sent
+		 * again on each call
+		 */
+		CompletableFuture<Response> execute() {
+			return this.request.get();
+		}
+
+		@Override
+		public Integer length() {
+			return null;
+		}
+
+		@Override
+		public boolean isRepeatable() {
+			return false;
+		}
+
+		@Override
+		public InputStream asInputStream() throws IOException {
+			throw new IOException("The deferred request has not been sent");
+		}
+
+		@Override
+		public Reader asReader(Charset charset) throws IOException {
+			throw new IOException("The deferred request has not been sent");
+		}
+
+		@Override
+		public void close() {
+		}
+
+	}
+
+}
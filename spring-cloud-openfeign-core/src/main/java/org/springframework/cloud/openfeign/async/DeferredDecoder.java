@@ -0,0 +1,136 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cloud.openfeign.async;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import feign.FeignException;
+import feign.Response;
+import feign.Util;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import feign.codec.ErrorDecoder;
+
+import org.springframework.core.ResolvableType;
+
+/**
+ * {@link Decoder} adapting the placeholder responses of {@link DeferredAsyncClient} to
+ * the return type of their method with the matching {@link AsyncReturnTypeAdapter}. The
+ * deferred request is sent when the adapted value is subscribed to, and its response is
+ * handled like {@link feign.AsyncFeign} handles the responses of the methods returning a
+ * {@link CompletableFuture}. The other responses are decoded by the delegate.
+ *
+ * @since 3.0.0
+ */
+final class DeferredDecoder implements Decoder {
+
+	private final Decoder delegate;
+
+	private final ErrorDecoder errorDecoder;
+
+	private final boolean decode404;
+
+	private final boolean closeAfterDecode;
+
+	private final List<AsyncReturnTypeAdapter> adapters;
+
+	DeferredDecoder(Decoder delegate, ErrorDecoder errorDecoder, boolean decode404,
+			boolean closeAfterDecode, List<AsyncReturnTypeAdapter> adapters) {
+		this.delegate = delegate;
+		this.errorDecoder = errorDecoder;
+		this.decode404 = decode404;
+		this.closeAfterDecode = closeAfterDecode;
+		this.adapters = adapters;
+	}
+
+	@Override
+	public Object decode(Response response, Type type) throws IOException {
+		if (!(response.body() instanceof DeferredAsyncClient.Exchange)) {
+			return this.delegate.decode(response, type);
+		}
+		DeferredAsyncClient.Exchange exchange = (DeferredAsyncClient.Exchange) response
+				.body();
+		AsyncReturnTypeAdapter adapter = AsyncInvocationHandlerFactory
+				.findAdapter(this.adapters, ResolvableType.forType(type).resolve());
+		Type bodyType = adapter.getBodyType(type);
+		String configKey = response.request().requestTemplate().methodMetadata()
+				.configKey();
+		return adapter.adapt(() -> {
+			CompletableFuture<Response> sent = exchange.execute();
+			CompletableFuture<Object> result = sent
+					.thenApply(r -> handle(configKey, r, bodyType));
+			result.whenComplete((r, e) -> {
+				if (result.isCancelled()) {
+					sent.cancel(true);
+				}
+			});
+			return result;
+		});
+	}
+
+	private Object handle(String configKey, Response response, Type bodyType) {
+		boolean close = true;
+		try {
+			if (Response.class == bodyType) {
+				close = false;
+				return response;
+			}
+			if (response.status() >= 200 && response.status() < 300) {
+				if (isVoid(bodyType)) {
+					return null;
+				}
+				close = this.closeAfterDecode;
+				return decodeBody(response, bodyType);
+			}
+			if (this.decode404 && response.status() == 404 && !isVoid(bodyType)) {
+				close = this.closeAfterDecode;
+				return decodeBody(response, bodyType);
+			}
+			Exception error = this.errorDecoder.decode(configKey, response);
+			throw error instanceof RuntimeException ? (RuntimeException) error
+					: new CompletionException(error);
+		}
+		finally {
+			if (close) {
+				Util.ensureClosed(response.body());
+			}
+		}
+	}
+
+	private Object decodeBody(Response response, Type bodyType) {
+		try {
+			return this.delegate.decode(response, bodyType);
+		}
+		catch (FeignException e) {
+			throw e;
+		}
+		catch (IOException | RuntimeException e) {
+			throw new DecodeException(response.status(), e.getMessage(),
+					response.request(), e);
+		}
+	}
+
+	private static boolean isVoid(Type type) {
+		return void.class == type || Void.class == type;
+	}
+
+}
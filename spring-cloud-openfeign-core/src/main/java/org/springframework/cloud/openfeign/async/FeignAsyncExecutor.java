@@ -0,0 +1,104 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.async;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Holds the executor running the Feign client methods that return an asynchronous type.
+ * The executor is only created when the first task is submitted, so applications not
+ * using these methods do not start its threads. It is deliberately not exposed as an
+ * {@link java.util.concurrent.Executor} bean, so it is never picked by the
+ * {@code Executor} injection points of the application.
+ *
+ * @since 3.0.0
+ */
+public class FeignAsyncExecutor implements DisposableBean {
+
+	private final Supplier<ExecutorService> executorFactory;
+
+	private volatile ExecutorService executor;
+
+	private boolean destroyed;
+
+	/**
+	 * @param executorFactory creates the executor on the first submitted task; the
+	 * executor is shut down with this holder
+	 */
+	public FeignAsyncExecutor(Supplier<ExecutorService> executorFactory) {
+		Assert.notNull(executorFactory, "Executor factory must not be null");
+		this.executorFactory = executorFactory;
+	}
+
+	/**
+	 * @param maxThreads the maximum number of threads
+	 * @return a holder of a pool of at most {@code maxThreads} daemon threads, which
+	 * queues the tasks submitted while they are all busy
+	 */
+	public static FeignAsyncExecutor bounded(int maxThreads) {
+		Assert.isTrue(maxThreads > 0, "Max threads must be positive");
+		return new FeignAsyncExecutor(() -> {
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+					"feign-");
+			threadFactory.setDaemon(true);
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads,
+					60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+			executor.allowCoreThreadTimeOut(true);
+			return executor;
+		});
+	}
+
+	/**
+	 * Runs the task on the executor, creating it if needed.
+	 * @param task the task to run
+	 */
+	public void execute(Runnable task) {
+		getExecutor().execute(task);
+	}
+
+	private ExecutorService getExecutor() {
+		ExecutorService executor = this.executor;
+		if (executor == null) {
+			synchronized (this) {
+				Assert.state(!this.destroyed, "The Feign executor has been shut down");
+				executor = this.executor;
+				if (executor == null) {
+					executor = this.executorFactory.get();
+					this.executor = executor;
+				}
+			}
+		}
+		return executor;
+	}
+
+	@Override
+	public synchronized void destroy() {
+		this.destroyed = true;
+		if (this.executor != null) {
+			this.executor.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.async;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the {@link FeignAsyncExecutor} and of {@link FeignParallel}.
+ *
+ * @since 3.0.0
+ */
+@ConfigurationProperties(prefix = "feign.async")
+public class FeignAsyncProperties {
+
+	/**
+	 * Default value for the maximum number of threads of the executor.
+	 */
+	public static final int DEFAULT_MAX_THREADS = 64;
+
+	/**
+	 * Maximum number of threads running the asynchronous Feign client methods. Further
+	 * tasks are queued.
+	 */
+	private int maxThreads = DEFAULT_MAX_THREADS;
+
+	/**
+	 * Maximum number of calls of one FeignParallel invocation running at the same time.
+	 * The other calls wait for one of them to complete.
+	 */
+	private int parallelMaxConcurrency = FeignParallel.DEFAULT_MAX_CONCURRENCY;
+
+	public int getMaxThreads() {
+		return this.maxThreads;
+	}
+
+	public void setMaxThreads(int maxThreads) {
+		this.maxThreads = maxThreads;
+	}
+
+	public int getParallelMaxConcurrency() {
+		return this.parallelMaxConcurrency;
+	}
+
+	public void setParallelMaxConcurrency(int parallelMaxConcurrency) {
+		this.parallelMaxConcurrency = parallelMaxConcurrency;
+	}
+
+}
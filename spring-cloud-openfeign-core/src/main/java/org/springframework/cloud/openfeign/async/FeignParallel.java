@@ -0,0 +1,279 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.async;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Runs several calls to Feign clients concurrently on an {@link Executor}, within one
+ * overall deadline. The calls still running when the deadline expires are cancelled, by
+ * interrupting their threads, and the results of all the calls are returned, whether
+ * they succeeded, failed or timed out. At most {@code maxConcurrency} calls of an
+ * invocation run at the same time, the others waiting for one of them to complete.
+ *
+ * @since 3.0.0
+ */
+public class FeignParallel implements DisposableBean {
+
+	/**
+	 * Default maximum number of calls of an invocation running at the same time.
+	 */
+	public static final int DEFAULT_MAX_CONCURRENCY = 16;
+
+	private final Executor executor;
+
+	private final int maxConcurrency;
+
+	private final FeignAsyncExecutor ownExecutor;
+
+	/**
+	 * Creates an instance running the calls on its own threads, a new one being started
+	 * when all of them are running a call, so that calls never wait for tasks queued
+	 * behind them, such as the calls of a nested invocation. The threads are only
+	 * started for the first invocation, and stop after being idle for a minute.
+	 * @param maxConcurrency the maximum number of calls of an invocation running at the
+	 * same time
+	 */
+	public FeignParallel(int maxConcurrency) {
+		this(new FeignAsyncExecutor(FeignParallel::newExecutor), maxConcurrency);
+	}
+
+	/**
+	 * @param executor the executor running the calls, which must not queue them behind
+	 * tasks waiting for them, such as the callers of this instance
+	 * @see #DEFAULT_MAX_CONCURRENCY
+	 */
+	public FeignParallel(Executor executor) {
+		this(executor, DEFAULT_MAX_CONCURRENCY);
+	}
+
+	/**
+	 * @param executor the executor running the calls, which must not queue them behind
+	 * tasks waiting for them, such as the callers of this instance
+	 * @param maxConcurrency the maximum number of calls of an invocation running at the
+	 * same time
+	 */
+	public FeignParallel(Executor executor, int maxConcurrency) {
+		Assert.notNull(executor, "Executor must not be null");
+		Assert.isTrue(maxConcurrency > 0, "Max concurrency must be positive");
+		this.executor = executor;
+		this.maxConcurrency = maxConcurrency;
+		this.ownExecutor = null;
+	}
+
+	private FeignParallel(FeignAsyncExecutor ownExecutor, int maxConcurrency) {
+		Assert.isTrue(maxConcurrency > 0, "Max concurrency must be positive");
+		this.executor = ownExecutor::execute;
+		this.maxConcurrency = maxConcurrency;
+		this.ownExecutor = ownExecutor;
+	}
+
+	private static ExecutorService newExecutor() {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				"feign-parallel-");
+		threadFactory.setDaemon(true);
+		return Executors.newCachedThreadPool(threadFactory);
+	}
+
+	/**
+	 * Runs the given calls concurrently and waits for all of them to complete, or for the
+	 * timeout to expire.
+	 * @param calls the calls to run
+	 * @param timeout the time to wait for all the calls to complete
+	 * @param <T> the type of the results of the calls
+	 * @return the results of the calls, in the same order
+	 * @throws InterruptedException if interrupted while waiting, in which case the calls
+	 * still running are cancelled
+	 */
+	public <T> List<Result<T>> invokeAll(Collection<? extends Callable<T>> calls,
+			Duration timeout) throws InterruptedException {
+		Assert.notNull(calls, "Calls must not be null");
+		Assert.notNull(timeout, "Timeout must not be null");
+		long deadline = System.nanoTime() + timeout.toNanos();
+		Queue<CallTask<T>> pending = new ConcurrentLinkedQueue<>();
+		List<CallTask<T>> tasks = new ArrayList<>(calls.size());
+		for (Callable<T> call : calls) {
+			CallTask<T> task = new CallTask<>(call, pending);
+			tasks.add(task);
+			pending.add(task);
+		}
+		for (int i = 0; i < Math.min(this.maxConcurrency, tasks.size()); i++) {
+			launchNext(pending);
+		}
+		List<Result<T>> results = new ArrayList<>(tasks.size());
+		try {
+			for (CallTask<T> task : tasks) {
+				results.add(await(task, deadline));
+			}
+		}
+		finally {
+			pending.clear();
+			for (CallTask<T> task : tasks) {
+				task.cancel(true);
+			}
+		}
+		return results;
+	}
+
+	@Override
+	public void destroy() {
+		if (this.ownExecutor != null) {
+			this.ownExecutor.destroy();
+		}
+	}
+
+	private <T> void launchNext(Queue<CallTask<T>> pending) {
+		CallTask<T> task;
+		while ((task = pending.poll()) != null) {
+			if (!task.isDone()) {
+				try {
+					this.executor.execute(task);
+				}
+				catch (RejectedExecutionException e) {
+					// completing the task launches the next one
+					task.reject(e);
+				}
+				return;
+			}
+		}
+	}
+
+	private <T> Result<T> await(FutureTask<T> task, long deadline)
+			throws InterruptedException {
+		try {
+			return Result.success(
+					task.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+		}
+		catch (ExecutionException e) {
+			return Result.failure(e.getCause());
+		}
+		catch (TimeoutException | CancellationException e) {
+			task.cancel(true);
+			return Result.timeout();
+		}
+	}
+
+	private final class CallTask<T> extends FutureTask<T> {
+
+		private final Queue<CallTask<T>> pending;
+
+		private CallTask(Callable<T> call, Queue<CallTask<T>> pending) {
+			super(call);
+			this.pending = pending;
+		}
+
+		private void reject(RejectedExecutionException e) {
+			setException(e);
+		}
+
+		@Override
+		protected void done() {
+			launchNext(this.pending);
+		}
+
+	}
+
+	/**
+	 * The result of a call.
+	 *
+	 * @param <T> the type of the result
+	 */
+	public static final class Result<T> {
+
+		private final T value;
+
+		private final Throwable error;
+
+		private final boolean timedOut;
+
+		private Result(T value, Throwable error, boolean timedOut) {
+			this.value = value;
+			this.error = error;
+			this.timedOut = timedOut;
+		}
+
+		static <T> Result<T> success(T value) {
+			return new Result<>(value, null, false);
+		}
+
+		static <T> Result<T> failure(Throwable error) {
+			return new Result<>(null, error, false);
+		}
+
+		static <T> Result<T> timeout() {
+			return new Result<>(null, null, true);
+		}
+
+		/**
+		 * @return whether the call completed normally
+		 */
+		public boolean isSuccess() {
+			return this.error == null && !this.timedOut;
+		}
+
+		/**
+		 * @return whether the call did not complete before the deadline
+		 */
+		public boolean isTimedOut() {
+			return this.timedOut;
+		}
+
+		/**
+		 * @return the value returned by the call, {@code null} if it did not succeed
+		 */
+		public T getValue() {
+			return this.value;
+		}
+
+		/**
+		 * @return the exception thrown by the call, {@code null} if it did not throw one
+		 */
+		public Throwable getError() {
+			return this.error;
+		}
+
+		@Override
+		public String toString() {
+			if (this.timedOut) {
+				return "Result{timed out}";
+			}
+			return this.error != null ? "Result{error=" + this.error + "}"
+					: "Result{value=" + this.value + "}";
+		}
+
+	}
+
+}
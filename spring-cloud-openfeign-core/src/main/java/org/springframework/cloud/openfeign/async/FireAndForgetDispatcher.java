@@ -0,0 +1,101 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.async;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.openfeign.FireAndForget;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Queues the calls to the Feign client methods annotated with {@link FireAndForget}, and
+ * sends them on a few worker threads. The calls made while the queue is full are
+ * dropped, and counted by {@link #getDroppedCalls()}. The calls still queued when the
+ * dispatcher is destroyed are sent before its threads terminate.
+ *
+ * @since 3.0.0
+ */
+public class FireAndForgetDispatcher implements DisposableBean {
+
+	private final ThreadPoolExecutor executor;
+
+	private final AtomicLong droppedCalls = new AtomicLong();
+
+	/**
+	 * @param queueCapacity the maximum number of queued calls
+	 * @param workers the number of threads sending the queued calls
+	 */
+	public FireAndForgetDispatcher(int queueCapacity, int workers) {
+		this.executor = new ThreadPoolExecutor(workers, workers, 0L,
+				TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+				new CustomizableThreadFactory("feign-fire-and-forget-"));
+	}
+
+	/**
+	 * @param type the type of the Feign client
+	 * @param client the Feign client
+	 * @param <T> the type of the Feign client
+	 * @return a proxy queueing the calls to the methods of the Feign client annotated
+	 * with {@link FireAndForget}, or the Feign client itself if it has no such method
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T decorate(Class<T> type, T client) {
+		Map<Method, FireAndForgetMethod> methods = new HashMap<>();
+		for (Method method : type.getMethods()) {
+			FireAndForget fireAndForget = AnnotatedElementUtils
+					.findMergedAnnotation(method, FireAndForget.class);
+			if (fireAndForget != null) {
+				methods.put(method, new FireAndForgetMethod(client, method,
+						fireAndForget, this.executor, this.droppedCalls));
+			}
+		}
+		if (methods.isEmpty()) {
+			return client;
+		}
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+				new FireAndForgetInvocationHandler(client, methods));
+	}
+
+	/**
+	 * @return the number of calls dropped because the queue was full
+	 */
+	public long getDroppedCalls() {
+		return this.droppedCalls.get();
+	}
+
+	/**
+	 * @return the number of calls waiting to be sent
+	 */
+	public int getQueuedCalls() {
+		return this.executor.getQueue().size();
+	}
+
+	@Override
+	public void destroy() {
+		this.executor.shutdown();
+	}
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.async;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+/**
+ * {@link InvocationHandler} queueing the calls to some methods of a Feign client, and
+ * passing the other calls to the Feign client.
+ *
+ * @since 3.0.0
+ */
+class FireAndForgetInvocationHandler implements InvocationHandler {
+
+	private final Object client;
+
+	private final Map<Method, FireAndForgetMethod> methods;
+
+	FireAndForgetInvocationHandler(Object client,
+			Map<Method, FireAndForgetMethod> methods) {
+		this.client = client;
+		this.methods = methods;
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		FireAndForgetMethod fireAndForgetMethod = this.methods.get(method);
+		if (fireAndForgetMethod != null) {
+			fireAndForgetMethod.submit(args);
+			return null;
+		}
+		if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+			return isFireAndForget(args[0]);
+		}
+		try {
+			return method.invoke(this.client, args);
+		}
+		catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	private boolean isFireAndForget(Object other) {
+		if (other == null || !Proxy.isProxyClass(other.getClass())) {
+			return false;
+		}
+		InvocationHandler handler = Proxy.getInvocationHandler(other);
+		return handler instanceof FireAndForgetInvocationHandler
+				&& this.client.equals(((FireAndForgetInvocationHandler) handler).client);
+	}
+
+}
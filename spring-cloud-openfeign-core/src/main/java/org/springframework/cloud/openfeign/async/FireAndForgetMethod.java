@@ -0,0 +1,170 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.async;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cloud.openfeign.FireAndForget;
+import org.springframework.util.StringUtils;
+
+/**
+ * Queues the calls to a Feign client method annotated with {@link FireAndForget}, and
+ * sends them, one by one or through the batch method.
+ *
+ * @since 3.0.0
+ */
+class FireAndForgetMethod {
+
+	private static final Log LOG = LogFactory.getLog(FireAndForgetMethod.class);
+
+	/**
+	 * Number of dropped calls between two warnings, so that a full queue does not flood
+	 * the logs.
+	 */
+	static final long DROP_LOG_INTERVAL = 1000;
+
+	private final Object client;
+
+	private final Method method;
+
+	private final String name;
+
+	private final Method batchMethod;
+
+	private final boolean batchOfSet;
+
+	private final int maxBatchSize;
+
+	private final Queue<Object[]> batch = new ConcurrentLinkedQueue<>();
+
+	private final Executor executor;
+
+	private final AtomicLong droppedCalls;
+
+	FireAndForgetMethod(Object client, Method method, FireAndForget fireAndForget,
+			Executor executor, AtomicLong droppedCalls) {
+		this.client = client;
+		this.method = method;
+		this.name = method.getDeclaringClass().getSimpleName() + "#" + method.getName();
+		this.batchMethod = findBatchMethod(method, this.name, fireAndForget);
+		this.batchOfSet = this.batchMethod != null && !this.batchMethod
+				.getParameterTypes()[0].isAssignableFrom(ArrayList.class);
+		this.maxBatchSize = fireAndForget.maxBatchSize();
+		this.executor = executor;
+		this.droppedCalls = droppedCalls;
+	}
+
+	private static Method findBatchMethod(Method method, String name,
+			FireAndForget fireAndForget) {
+		if (method.getReturnType() != void.class) {
+			throw new IllegalStateException(
+					"Method " + name + " must return void to be fire-and-forget");
+		}
+		if (!StringUtils.hasText(fireAndForget.batch())) {
+			return null;
+		}
+		if (method.getParameterCount() != 1 || fireAndForget.maxBatchSize() < 1) {
+			throw new IllegalStateException("Method " + name + " must take a single "
+					+ "argument and have a positive max batch size to be batched");
+		}
+		for (Method candidate : method.getDeclaringClass().getMethods()) {
+			if (candidate.getName().equals(fireAndForget.batch())
+					&& candidate.getParameterCount() == 1) {
+				Class<?> argsType = candidate.getParameterTypes()[0];
+				if (argsType.isAssignableFrom(ArrayList.class)
+						|| argsType.isAssignableFrom(LinkedHashSet.class)) {
+					return candidate;
+				}
+			}
+		}
+		throw new IllegalStateException("No batch method " + fireAndForget.batch()
+				+ " taking a List, a Set or a Collection found for method " + name);
+	}
+
+	void submit(Object[] args) {
+		if (this.batchMethod == null) {
+			try {
+				this.executor.execute(() -> send(this.method, args));
+			}
+			catch (RejectedExecutionException e) {
+				drop();
+			}
+			return;
+		}
+		this.batch.add(args);
+		try {
+			this.executor.execute(this::sendBatch);
+		}
+		catch (RejectedExecutionException e) {
+			if (this.batch.remove(args)) {
+				drop();
+			}
+		}
+	}
+
+	private void sendBatch() {
+		Collection<Object> batch = this.batchOfSet ? new LinkedHashSet<>()
+				: new ArrayList<>();
+		int size = 0;
+		Object[] args;
+		while (size < this.maxBatchSize && (args = this.batch.poll()) != null) {
+			batch.add(args[0]);
+			size++;
+		}
+		if (size > 0) {
+			send(this.batchMethod, new Object[] { batch });
+		}
+	}
+
+	private void send(Method method, Object[] args) {
+		try {
+			method.invoke(this.client, args);
+		}
+		catch (InvocationTargetException e) {
+			LOG.warn("Fire-and-forget call to " + this.name + " failed", e.getCause());
+		}
+		catch (IllegalAccessException | RuntimeException e) {
+			LOG.warn("Fire-and-forget call to " + this.name + " failed", e);
+		}
+	}
+
+	private void drop() {
+		long dropped = this.droppedCalls.incrementAndGet();
+		if (shouldLogDrop(dropped) && LOG.isWarnEnabled()) {
+			LOG.warn("Dropping fire-and-forget call to " + this.name
+					+ ", the queue is full (" + dropped + " calls dropped so far, "
+					+ "logging once every " + DROP_LOG_INTERVAL + " drops)");
+		}
+	}
+
+	static boolean shouldLogDrop(long dropped) {
+		return dropped == 1 || dropped % DROP_LOG_INTERVAL == 0;
+	}
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.async;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Publishes the {@code feign.client.fire-and-forget.dropped} Micrometer counter of the
+ * calls dropped by a {@link FireAndForgetDispatcher} because its queue was full.
+ *
+ * @since 3.0.0
+ */
+public class FireAndForgetMetrics {
+
+	private final FireAndForgetDispatcher dispatcher;
+
+	public FireAndForgetMetrics(FireAndForgetDispatcher dispatcher) {
+		this.dispatcher = dispatcher;
+	}
+
+	/**
+	 * @param meterRegistry the registry to publish the counter to
+	 */
+	public void bindTo(MeterRegistry meterRegistry) {
+		FunctionCounter
+				.builder("feign.client.fire-and-forget.dropped", this.dispatcher,
+						FireAndForgetDispatcher::getDroppedCalls)
+				.description("Fire-and-forget calls dropped because the queue was full")
+				.register(meterRegistry);
+	}
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.async;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import rx.Single;
+import rx.subscriptions.Subscriptions;
+
+/**
+ * {@link AsyncReturnTypeAdapter} for the methods returning an RxJava {@link Single}. The
+ * request is sent when the {@link Single} is subscribed to, and cancelled when the
+ * subscriber unsubscribes.
+ *
+ * @since 3.0.0
+ */
+public class SingleReturnTypeAdapter implements AsyncReturnTypeAdapter {
+
+	@Override
+	public boolean supports(Class<?> returnType) {
+		return Single.class == returnType;
+	}
+
+	@Override
+	public Type getBodyType(Type returnType) {
+		return CompletableFutureReturnTypeAdapter.bodyType(returnType);
+	}
+
+	@Override
+	public Object adapt(Supplier<CompletableFuture<Object>> invocation) {
+		return single(invocation);
+	}
+
+	/**
+	 * @param invocation starts the invocation of the method
+	 * @return a {@link Single} starting the invocation on each subscription
+	 */
+	static Single<Object> single(Supplier<CompletableFuture<Object>> invocation) {
+		return Single.create(subscriber -> {
+			CompletableFuture<Object> future = invocation.get();
+			subscriber.add(Subscriptions.create(() -> future.cancel(true)));
+			future.whenComplete((result, ex) -> {
+				if (ex != null) {
+					subscriber.onError(ex instanceof CompletionException
+							&& ex.getCause() != null ? ex.getCause() : ex);
+				}
+				else {
+					subscriber.onSuccess(result);
+				}
+			});
+		});
+	}
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import feign.Client;
+import feign.httpclient.ApacheHttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.impl.client.CloseableHttpClient;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.commons.httpclient.ApacheHttpClientConnectionManagerFactory;
+import org.springframework.cloud.commons.httpclient.ApacheHttpClientFactory;
+import org.springframework.cloud.openfeign.FeignClientProperties;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+
+/**
+ * {@link IsolatedClientFactory} creating {@link ApacheHttpClient} instances, each with a
+ * pooling {@link HttpClientConnectionManager} of its own.
+ *
+ * @since 3.0.0
+ */
+public class ApacheHttpIsolatedClientFactory
+		implements IsolatedClientFactory, DisposableBean {
+
+	private final Map<String, Client> clients = new ConcurrentHashMap<>();
+
+	private final List<CloseableHttpClient> httpClients = new CopyOnWriteArrayList<>();
+
+	private final List<HttpClientConnectionManager> connectionManagers = new CopyOnWriteArrayList<>();
+
+	private final ApacheHttpClientConnectionManagerFactory connectionManagerFactory;
+
+	private final ApacheHttpClientFactory httpClientFactory;
+
+	private final FeignHttpClientProperties httpClientProperties;
+
+	private final HttpClientConnectionEvictor connectionEvictor;
+
+	private final ConnectionPoolMetricsRecorder metricsRecorder;
+
+	private final RegistryBuilder<?> registryBuilder;
+
+	public ApacheHttpIsolatedClientFactory(
+			ApacheHttpClientConnectionManagerFactory connectionManagerFactory,
+			ApacheHttpClientFactory httpClientFactory,
+			FeignHttpClientProperties httpClientProperties,
+			HttpClientConnectionEvictor connectionEvictor,
+			ConnectionPoolMetricsRecorder metricsRecorder,
+			RegistryBuilder<?> registryBuilder) {
+		this.connectionManagerFactory = connectionManagerFactory;
+		this.httpClientFactory = httpClientFactory;
+		this.httpClientProperties = httpClientProperties;
+		this.connectionEvictor = connectionEvictor;
+		this.metricsRecorder = metricsRecorder;
+		this.registryBuilder = registryBuilder;
+	}
+
+	@Override
+	public boolean supports(Client client) {
+		return client instanceof ApacheHttpClient;
+	}
+
+	@Override
+	public Client create(String contextId,
+			FeignClientProperties.ConnectionPoolConfiguration connectionPool) {
+		return this.clients.computeIfAbsent(contextId,
+				id -> createClient(id, connectionPool));
+	}
+
+	private Client createClient(String contextId,
+			FeignClientProperties.ConnectionPoolConfiguration connectionPool) {
+		FeignHttpClientProperties defaults = this.httpClientProperties;
+		HttpClientConnectionManager connectionManager = this.connectionManagerFactory
+				.newConnectionManager(defaults.isDisableSslValidation(),
+						connectionPool.getMaxConnections() != null
+								? connectionPool.getMaxConnections()
+								: defaults.getMaxConnections(),
+						connectionPool.getMaxConnectionsPerRoute() != null
+								? connectionPool.getMaxConnectionsPerRoute()
+								: defaults.getMaxConnectionsPerRoute(),
+						connectionPool.getTimeToLive() != null
+								? connectionPool.getTimeToLive()
+								: defaults.getTimeToLive(),
+						connectionPool.getTimeToLiveUnit() != null
+								? connectionPool.getTimeToLiveUnit()
+								: defaults.getTimeToLiveUnit(),
+						this.registryBuilder);
+		this.connectionEvictor.register(connectionManager, contextId);
+		this.connectionManagers.add(connectionManager);
+		RequestConfig defaultRequestConfig = RequestConfig.custom()
+				.setConnectTimeout(defaults.getConnectionTimeout())
+				.setConnectionRequestTimeout(defaults.getConnectionRequestTimeout())
+				.setSocketTimeout(defaults.getSocketTimeout())
+				.setRedirectsEnabled(defaults.isFollowRedirects()).build();
+		CloseableHttpClient httpClient = this.httpClientFactory.createBuilder()
+				.setDefaultRequestConfig(defaultRequestConfig)
+				.setConnectionManager(InstrumentedHttpClientConnectionManager.instrument(
+						connectionManager, contextId, defaults, this.metricsRecorder))
+				.build();
+		this.httpClients.add(httpClient);
+		return new ApacheHttpClient(httpClient);
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		for (HttpClientConnectionManager connectionManager : this.connectionManagers) {
+			this.connectionEvictor.unregister(connectionManager);
+		}
+		for (CloseableHttpClient httpClient : this.httpClients) {
+			httpClient.close();
+		}
+	}
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Caches the addresses of the hosts called by the Feign clients. Addresses are looked up
+ * again in the background once three quarters of their time-to-live have elapsed, so
+ * that hosts called regularly never wait for a lookup. When a lookup fails, the last
+ * known addresses keep being used. Only the first lookup of a host, and lookups of
+ * hosts that have not been called for longer than the time-to-live, are synchronous.
+ *
+ * @since 3.0.0
+ */
+public class CachingDnsResolver implements DisposableBean {
+
+	private static final Log LOG = LogFactory.getLog(CachingDnsResolver.class);
+
+	private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+	private final ExecutorService refresher;
+
+	private final long timeToLiveNanos;
+
+	private final long refreshAfterNanos;
+
+	/**
+	 * @param timeToLive the time the addresses of a host are used without being looked
+	 * up again
+	 * @param timeUnit the unit of the time-to-live
+	 */
+	public CachingDnsResolver(long timeToLive, TimeUnit timeUnit) {
+		this.timeToLiveNanos = timeUnit.toNanos(timeToLive);
+		this.refreshAfterNanos = this.timeToLiveNanos / 4 * 3;
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				"feign-dns-resolver-");
+		threadFactory.setDaemon(true);
+		this.refresher = Executors.newSingleThreadExecutor(threadFactory);
+	}
+
+	/**
+	 * @param host the host name
+	 * @return the addresses of the host
+	 * @throws UnknownHostException if the host is unknown and was never resolved before
+	 */
+	public InetAddress[] resolve(String host) throws UnknownHostException {
+		Entry entry = this.cache.get(host);
+		if (entry == null) {
+			entry = lookup(host);
+		}
+		else {
+			long age = System.nanoTime() - entry.resolvedAt;
+			if (age >= this.timeToLiveNanos) {
+				entry = lookupOrKeep(host, entry);
+			}
+			else if (age >= this.refreshAfterNanos
+					&& entry.refreshing.compareAndSet(false, true)) {
+				Entry current = entry;
+				this.refresher.execute(() -> refresh(host, current));
+			}
+		}
+		return entry.addresses.clone();
+	}
+
+	/**
+	 * @param host the host name
+	 * @return the addresses of the host, as returned by the name service
+	 * @throws UnknownHostException if the host is unknown
+	 */
+	protected InetAddress[] lookupAddresses(String host) throws UnknownHostException {
+		return InetAddress.getAllByName(host);
+	}
+
+	private Entry lookup(String host) throws UnknownHostException {
+		Entry entry = new Entry(lookupAddresses(host), System.nanoTime());
+		this.cache.put(host, entry);
+		return entry;
+	}
+
+	private Entry lookupOrKeep(String host, Entry entry) {
+		try {
+			return lookup(host);
+		}
+		catch (UnknownHostException e) {
+			logLookupFailure(host, e);
+			// keep the last known addresses, and look them up in the background next
+			Entry kept = new Entry(entry.addresses,
+					System.nanoTime() - this.refreshAfterNanos);
+			this.cache.put(host, kept);
+			return kept;
+		}
+	}
+
+	private void refresh(String host, Entry entry) {
+		try {
+			lookup(host);
+		}
+		catch (UnknownHostException | RuntimeException e) {
+			logLookupFailure(host, e);
+			// retry on the next call
+			entry.refreshing.set(false);
+		}
+	}
+
+	private void logLookupFailure(String host, Exception e) {
+		if (LOG.isWarnEnabled()) {
+			LOG.warn("Could not look up the addresses of " + host
+					+ ", using the last known ones", e);
+		}
+	}
+
+	@Override
+	public void destroy() {
+		this.refresher.shutdownNow();
+	}
+
+	private static final class Entry {
+
+		private final InetAddress[] addresses;
+
+		private final long resolvedAt;
+
+		private final AtomicBoolean refreshing = new AtomicBoolean();
+
+		private Entry(InetAddress[] addresses, long resolvedAt) {
+			this.addresses = addresses;
+			this.resolvedAt = resolvedAt;
+		}
+
+	}
+
+}
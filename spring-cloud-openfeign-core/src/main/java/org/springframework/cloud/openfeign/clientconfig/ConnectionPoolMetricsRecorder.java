@@ -0,0 +1,76 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import okhttp3.ConnectionPool;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.pool.ConnPoolControl;
+
+/**
+ * Records the state of the connection pools used by the Feign clients, and the time
+ * spent waiting for pooled connections.
+ *
+ * @since 3.0.0
+ */
+public interface ConnectionPoolMetricsRecorder {
+
+	/**
+	 * Name of the pool shared by all Feign clients without a pool of their own.
+	 */
+	String SHARED_POOL = "shared";
+
+	/**
+	 * @param client the contextId of the Feign client owning the pool, or
+	 * {@link #SHARED_POOL}
+	 * @param pool an Apache HttpClient connection pool
+	 */
+	void bindApacheHttpPool(String client, ConnPoolControl<HttpRoute> pool);
+
+	/**
+	 * @param client the contextId of the Feign client owning the pool, or
+	 * {@link #SHARED_POOL}
+	 * @param connectionPool an OkHttp connection pool
+	 */
+	void bindOkHttpPool(String client, ConnectionPool connectionPool);
+
+	/**
+	 * @param client the contextId of the Feign client owning the pool, or
+	 * {@link #SHARED_POOL}
+	 * @param route the route a connection was requested for
+	 * @param leaseTimeNanos the time spent waiting for the connection that was leased
+	 */
+	void recordLease(String client, HttpRoute route, long leaseTimeNanos);
+
+	/**
+	 * @param client the contextId of the Feign client owning the pool, or
+	 * {@link #SHARED_POOL}
+	 * @param route the route a connection was requested for
+	 * @param cause the cause of the failure, either
+	 * {@link InstrumentedHttpClientConnectionManager#TIMEOUT} or
+	 * {@link InstrumentedHttpClientConnectionManager#MAX_WAITERS}
+	 */
+	void recordLeaseFailure(String client, HttpRoute route, String cause);
+
+	/**
+	 * @param client the contextId of the Feign client owning the pool, or
+	 * {@link #SHARED_POOL}
+	 * @param count the number of expired or idle connections closed by the
+	 * {@link HttpClientConnectionEvictor}
+	 */
+	void recordEvictions(String client, int count);
+
+}
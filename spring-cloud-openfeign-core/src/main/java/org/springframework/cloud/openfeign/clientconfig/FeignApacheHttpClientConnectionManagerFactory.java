@@ -0,0 +1,122 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.security.GeneralSecurityException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.conn.ssl.TrustAllStrategy;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.ssl.SSLContexts;
+
+import org.springframework.cloud.commons.httpclient.ApacheHttpClientConnectionManagerFactory;
+
+/**
+ * {@link ApacheHttpClientConnectionManagerFactory} creating pooling connection managers
+ * that look up host addresses through a {@link CachingDnsResolver} and open TLS
+ * connections from a {@link SharedSslContext}, when available.
+ *
+ * @since 3.0.0
+ */
+public class FeignApacheHttpClientConnectionManagerFactory
+		implements ApacheHttpClientConnectionManagerFactory {
+
+	private final CachingDnsResolver dnsResolver;
+
+	private final SharedSslContext sslContext;
+
+	/**
+	 * @param dnsResolver the DNS resolver, may be {@code null}
+	 * @param sslContext the shared SSL context, may be {@code null}
+	 */
+	public FeignApacheHttpClientConnectionManagerFactory(CachingDnsResolver dnsResolver,
+			SharedSslContext sslContext) {
+		this.dnsResolver = dnsResolver;
+		this.sslContext = sslContext;
+	}
+
+	/**
+	 * @param connectionManagerFactory the default connection manager factory
+	 * @param dnsResolver the DNS resolver, may be {@code null}
+	 * @param sslContext the shared SSL context, may be {@code null}
+	 * @return a connection manager factory using the given DNS resolver and SSL context,
+	 * or the default one if there are none
+	 */
+	public static ApacheHttpClientConnectionManagerFactory customize(
+			ApacheHttpClientConnectionManagerFactory connectionManagerFactory,
+			CachingDnsResolver dnsResolver, SharedSslContext sslContext) {
+		return dnsResolver != null || sslContext != null
+				? new FeignApacheHttpClientConnectionManagerFactory(dnsResolver,
+						sslContext)
+				: connectionManagerFactory;
+	}
+
+	@Override
+	// raw, as declared by ApacheHttpClientConnectionManagerFactory
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public HttpClientConnectionManager newConnectionManager(
+			boolean disableSslValidation, int maxTotalConnections,
+			int maxConnectionsPerRoute, long timeToLive, TimeUnit timeUnit,
+			RegistryBuilder registryBuilder) {
+		if (registryBuilder == null) {
+			registryBuilder = RegistryBuilder.<ConnectionSocketFactory>create()
+					.register(HTTP_SCHEME, PlainConnectionSocketFactory.INSTANCE);
+		}
+		registryBuilder.register(HTTPS_SCHEME, sslSocketFactory(disableSslValidation));
+		Registry<ConnectionSocketFactory> registry = registryBuilder.build();
+		DnsResolver resolver = this.dnsResolver != null ? this.dnsResolver::resolve
+				: null;
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+				registry, null, null, resolver, timeToLive, timeUnit);
+		connectionManager.setMaxTotal(maxTotalConnections);
+		connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+		return connectionManager;
+	}
+
+	private SSLConnectionSocketFactory sslSocketFactory(boolean disableSslValidation) {
+		if (this.sslContext != null) {
+			return new SSLConnectionSocketFactory(this.sslContext.getSslContext(),
+					disableSslValidation ? NoopHostnameVerifier.INSTANCE
+							: SSLConnectionSocketFactory.getDefaultHostnameVerifier());
+		}
+		if (disableSslValidation) {
+			return disabledValidationSocketFactory();
+		}
+		return SSLConnectionSocketFactory.getSocketFactory();
+	}
+
+	private static SSLConnectionSocketFactory disabledValidationSocketFactory() {
+		try {
+			return new SSLConnectionSocketFactory(SSLContexts.custom()
+					.loadTrustMaterial(TrustAllStrategy.INSTANCE).build(),
+					NoopHostnameVerifier.INSTANCE);
+		}
+		catch (GeneralSecurityException e) {
+			throw new IllegalStateException(
+					"Could not create an SSL context without certificate validation", e);
+		}
+	}
+
+}
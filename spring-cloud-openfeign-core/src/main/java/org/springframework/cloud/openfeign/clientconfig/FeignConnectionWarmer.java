@@ -0,0 +1,260 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.context.ApplicationListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Opens connections to the targets of the Feign clients once the application has
+ * started, before it reports that it is ready, so that the first requests do not pay
+ * for the TCP and TLS handshakes. Connections are opened by sending concurrent
+ * {@code HEAD} requests through the client of each Feign client, to its static url or
+ * to each of the {@link ServiceInstance}s of its service. The instances of the services
+ * are then checked periodically and new instances are warmed up as they appear.
+ *
+ * @since 3.0.0
+ */
+public class FeignConnectionWarmer
+		implements ApplicationListener<ApplicationStartedEvent>, DisposableBean {
+
+	private static final Log LOG = LogFactory.getLog(FeignConnectionWarmer.class);
+
+	private final Map<WarmUpTarget, Set<String>> targets = new ConcurrentHashMap<>();
+
+	private final AtomicBoolean started = new AtomicBoolean();
+
+	private final FeignHttpClientProperties.WarmUp properties;
+
+	private final DiscoveryClient discoveryClient;
+
+	private final Request.Options options;
+
+	private final ExecutorService executor;
+
+	private final ScheduledExecutorService scheduler;
+
+	/**
+	 * @param properties the warm-up settings
+	 * @param discoveryClient the client to look up the instances of the services with,
+	 * or {@code null} to only warm up static urls
+	 */
+	public FeignConnectionWarmer(FeignHttpClientProperties.WarmUp properties,
+			DiscoveryClient discoveryClient) {
+		this.properties = properties;
+		this.discoveryClient = discoveryClient;
+		this.options = new Request.Options(properties.getTimeout(),
+				TimeUnit.MILLISECONDS, properties.getTimeout(), TimeUnit.MILLISECONDS,
+				false);
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				"feign-connection-warmer-");
+		threadFactory.setDaemon(true);
+		this.executor = Executors.newCachedThreadPool(threadFactory);
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+	}
+
+	/**
+	 * @param client the client to open connections with
+	 * @param url the static url of the Feign client
+	 */
+	public void registerUrl(Client client, String url) {
+		register(new WarmUpTarget(client, origin(URI.create(url)), false));
+	}
+
+	/**
+	 * @param client the client to open connections with, which must not be load-balanced
+	 * @param serviceId the id of the service to open connections to each instance of
+	 */
+	public void registerService(Client client, String serviceId) {
+		register(new WarmUpTarget(client, serviceId, true));
+	}
+
+	private void register(WarmUpTarget target) {
+		if (this.targets.putIfAbsent(target, ConcurrentHashMap.newKeySet()) == null
+				&& this.started.get()) {
+			// created lazily, after startup
+			this.scheduler.execute(this::warmUpAll);
+		}
+	}
+
+	@Override
+	public void onApplicationEvent(ApplicationStartedEvent event) {
+		if (!this.started.compareAndSet(false, true)) {
+			return;
+		}
+		warmUpAll();
+		long interval = this.properties.getRefreshInterval();
+		if (interval > 0 && this.discoveryClient != null) {
+			this.scheduler.scheduleWithFixedDelay(this::warmUpAll, interval, interval,
+					TimeUnit.MILLISECONDS);
+		}
+	}
+
+	void warmUpAll() {
+		List<CompletableFuture<Void>> warmUps = new ArrayList<>();
+		this.targets.forEach((target, warmedUrls) -> {
+			for (String url : newUrls(target, warmedUrls)) {
+				for (int i = 0; i < this.properties.getConnectionsPerRoute(); i++) {
+					warmUps.add(CompletableFuture.runAsync(
+							() -> warmUp(target.client, url, warmedUrls), this.executor));
+				}
+			}
+		});
+		if (warmUps.isEmpty()) {
+			return;
+		}
+		try {
+			CompletableFuture.allOf(warmUps.toArray(new CompletableFuture<?>[0]))
+					.get(this.properties.getTimeout(), TimeUnit.MILLISECONDS);
+		}
+		catch (TimeoutException e) {
+			LOG.warn("Connections were not warmed up within "
+					+ this.properties.getTimeout() + " ms");
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		catch (ExecutionException e) {
+			// failures are handled per request
+		}
+	}
+
+	private List<String> newUrls(WarmUpTarget target, Set<String> warmedUrls) {
+		List<String> urls = target.service ? instanceUrls(target.name)
+				: Collections.singletonList(target.name);
+		// forget instances that are gone, so that they are warmed up if they return
+		warmedUrls.retainAll(urls);
+		List<String> newUrls = new ArrayList<>();
+		for (String url : urls) {
+			if (warmedUrls.add(url)) {
+				newUrls.add(url);
+			}
+		}
+		return newUrls;
+	}
+
+	private List<String> instanceUrls(String serviceId) {
+		if (this.discoveryClient == null) {
+			return Collections.emptyList();
+		}
+		try {
+			List<String> urls = new ArrayList<>();
+			for (ServiceInstance instance : this.discoveryClient
+					.getInstances(serviceId)) {
+				urls.add(origin(instance.getUri()));
+			}
+			return urls;
+		}
+		catch (Exception e) {
+			LOG.warn("Could not get the instances of the service " + serviceId, e);
+			return Collections.emptyList();
+		}
+	}
+
+	private void warmUp(Client client, String url, Set<String> warmedUrls) {
+		Request request = Request.create(Request.HttpMethod.HEAD,
+				url + this.properties.getPath(), Collections.emptyMap(), null,
+				StandardCharsets.UTF_8, null);
+		try {
+			Response response = client.execute(request, this.options);
+			response.close();
+		}
+		catch (IOException | RuntimeException e) {
+			// try again on the next refresh
+			warmedUrls.remove(url);
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("Could not warm up a connection to " + url, e);
+			}
+		}
+	}
+
+	private static String origin(URI uri) {
+		return uri.getScheme() + "://" + uri.getRawAuthority();
+	}
+
+	@Override
+	public void destroy() {
+		this.scheduler.shutdownNow();
+		this.executor.shutdownNow();
+	}
+
+	private static final class WarmUpTarget {
+
+		private final Client client;
+
+		private final String name;
+
+		private final boolean service;
+
+		private WarmUpTarget(Client client, String name, boolean service) {
+			this.client = client;
+			this.name = name;
+			this.service = service;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			WarmUpTarget that = (WarmUpTarget) o;
+			return this.client == that.client && this.service == that.service
+					&& this.name.equals(that.name);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(System.identityHashCode(this.client), this.name,
+					this.service);
+		}
+
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Default configuration for the JDK {@code java.net.http.HttpClient}, available on Java
+ * 11 or later. The client negotiates HTTP/2 (h2 over TLS, h2c over plain-text
+ * connections) unless {@code feign.httpclient.http2.version} is set to
+ * {@code HTTP_1_1}. The JDK client manages its connections on its own, so only the
+ * connection timeout, redirect and SSL validation settings of
+ * {@link FeignHttpClientProperties} apply.
+ *
+ * @since 3.0.0
+ * @see JdkHttpClients
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(name = JdkHttpClients.HTTP_CLIENT_CLASS_NAME)
+@ConditionalOnMissingBean(type = JdkHttpClients.HTTP_CLIENT_CLASS_NAME)
+public class Http2ClientFeignConfiguration {
+
+	@Bean
+	public FactoryBean<Object> http2Client(
+			FeignHttpClientProperties httpClientProperties) {
+		return new HttpClientFactoryBean(httpClientProperties);
+	}
+
+	/**
+	 * Exposes the JDK HTTP client with its actual type, which the project can't
+	 * reference.
+	 */
+	static class HttpClientFactoryBean implements FactoryBean<Object> {
+
+		private final FeignHttpClientProperties httpClientProperties;
+
+		HttpClientFactoryBean(FeignHttpClientProperties httpClientProperties) {
+			this.httpClientProperties = httpClientProperties;
+		}
+
+		@Override
+		public Object getObject() throws GeneralSecurityException {
+			SSLContext sslContext = null;
+			if (this.httpClientProperties.isDisableSslValidation()) {
+				sslContext = SSLContext.getInstance("TLS");
+				sslContext.init(null,
+						new TrustManager[] { new DisabledValidationTrustManager() },
+						new SecureRandom());
+			}
+			return JdkHttpClients.newHttpClient(
+					this.httpClientProperties.getHttp2().getVersion(),
+					Duration.ofMillis(this.httpClientProperties.getConnectionTimeout()),
+					this.httpClientProperties.isFollowRedirects(), sslContext);
+		}
+
+		@Override
+		public Class<?> getObjectType() {
+			return JdkHttpClients.getHttpClientType();
+		}
+
+	}
+
+	static class DisabledValidationTrustManager implements X509TrustManager {
+
+		@Override
+		public void checkClientTrusted(X509Certificate[] x509Certificates, String s) {
+		}
+
+		@Override
+		public void checkServerTrusted(X509Certificate[] x509Certificates, String s) {
+		}
+
+		@Override
+		public X509Certificate[] getAcceptedIssuers() {
+			return new X509Certificate[0];
+		}
+
+	}
+
+}
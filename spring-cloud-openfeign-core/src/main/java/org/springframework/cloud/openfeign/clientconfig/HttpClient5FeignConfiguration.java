@@ -0,0 +1,183 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+import javax.net.ssl.SSLContext;
+
+import org.apache.hc.client5.http.async.HttpAsyncClient;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.ssl.ClientTlsStrategyBuilder;
+import org.apache.hc.client5.http.ssl.NoopHostnameVerifier;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactoryBuilder;
+import org.apache.hc.client5.http.ssl.TrustAllStrategy;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.ssl.SSLContexts;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Default configuration for the Apache HttpClient 5 {@link CloseableHttpClient} and
+ * {@link CloseableHttpAsyncClient}. Both clients pool their connections according to
+ * {@link FeignHttpClientProperties}; the async client runs on the HttpClient 5 I/O
+ * reactor and negotiates HTTP/2 according to
+ * {@code feign.httpclient.hc5.version-policy}.
+ *
+ * @since 3.0.0
+ */
+@Configuration(proxyBeanMethods = false)
+public class HttpClient5FeignConfiguration {
+
+	private CloseableHttpClient httpClient5;
+
+	private CloseableHttpAsyncClient httpAsyncClient5;
+
+	@Bean
+	@ConditionalOnMissingBean(HttpClientConnectionManager.class)
+	public PoolingHttpClientConnectionManager hc5ConnectionManager(
+			FeignHttpClientProperties httpClientProperties)
+			throws GeneralSecurityException {
+		PoolingHttpClientConnectionManagerBuilder builder = PoolingHttpClientConnectionManagerBuilder
+				.create().setMaxConnTotal(httpClientProperties.getMaxConnections())
+				.setMaxConnPerRoute(httpClientProperties.getMaxConnectionsPerRoute())
+				.setConnPoolPolicy(poolReusePolicy(httpClientProperties))
+				.setPoolConcurrencyPolicy(poolConcurrencyPolicy(httpClientProperties))
+				.setConnectionTimeToLive(timeToLive(httpClientProperties))
+				.setDefaultSocketConfig(SocketConfig.custom()
+						.setSoTimeout(socketTimeout(httpClientProperties)).build());
+		if (httpClientProperties.isDisableSslValidation()) {
+			builder.setSSLSocketFactory(SSLConnectionSocketFactoryBuilder.create()
+					.setSslContext(disabledValidationSslContext())
+					.setHostnameVerifier(NoopHostnameVerifier.INSTANCE).build());
+		}
+		return builder.build();
+	}
+
+	@Bean
+	@ConditionalOnMissingBean(CloseableHttpClient.class)
+	public CloseableHttpClient httpClient5(
+			HttpClientConnectionManager hc5ConnectionManager,
+			FeignHttpClientProperties httpClientProperties) {
+		this.httpClient5 = HttpClients.custom().disableCookieManagement()
+				.useSystemProperties().setConnectionManager(hc5ConnectionManager)
+				.evictExpiredConnections()
+				.setDefaultRequestConfig(defaultRequestConfig(httpClientProperties))
+				.build();
+		return this.httpClient5;
+	}
+
+	@Bean
+	@ConditionalOnMissingBean(HttpAsyncClient.class)
+	public CloseableHttpAsyncClient httpAsyncClient5(
+			FeignHttpClientProperties httpClientProperties)
+			throws GeneralSecurityException {
+		PoolingAsyncClientConnectionManagerBuilder connectionManagerBuilder = PoolingAsyncClientConnectionManagerBuilder
+				.create().setMaxConnTotal(httpClientProperties.getMaxConnections())
+				.setMaxConnPerRoute(httpClientProperties.getMaxConnectionsPerRoute())
+				.setConnPoolPolicy(poolReusePolicy(httpClientProperties))
+				.setPoolConcurrencyPolicy(poolConcurrencyPolicy(httpClientProperties))
+				.setConnectionTimeToLive(timeToLive(httpClientProperties));
+		if (httpClientProperties.isDisableSslValidation()) {
+			connectionManagerBuilder.setTlsStrategy(ClientTlsStrategyBuilder.create()
+					.setSslContext(disabledValidationSslContext())
+					.setHostnameVerifier(NoopHostnameVerifier.INSTANCE).build());
+		}
+		PoolingAsyncClientConnectionManager connectionManager = connectionManagerBuilder
+				.build();
+		this.httpAsyncClient5 = HttpAsyncClients.custom().disableCookieManagement()
+				.useSystemProperties().setConnectionManager(connectionManager)
+				.setVersionPolicy(HttpVersionPolicy.valueOf(
+						httpClientProperties.getHc5().getVersionPolicy().name()))
+				.setIOReactorConfig(IOReactorConfig.custom()
+						.setSoTimeout(socketTimeout(httpClientProperties)).build())
+				.evictExpiredConnections()
+				.setDefaultRequestConfig(defaultRequestConfig(httpClientProperties))
+				.build();
+		this.httpAsyncClient5.start();
+		return this.httpAsyncClient5;
+	}
+
+	@PreDestroy
+	public void destroy() throws IOException {
+		if (this.httpClient5 != null) {
+			this.httpClient5.close();
+		}
+		if (this.httpAsyncClient5 != null) {
+			this.httpAsyncClient5.close(CloseMode.GRACEFUL);
+		}
+	}
+
+	private RequestConfig defaultRequestConfig(
+			FeignHttpClientProperties httpClientProperties) {
+		return RequestConfig.custom()
+				.setConnectTimeout(httpClientProperties.getConnectionTimeout(),
+						TimeUnit.MILLISECONDS)
+				.setRedirectsEnabled(httpClientProperties.isFollowRedirects()).build();
+	}
+
+	private PoolReusePolicy poolReusePolicy(
+			FeignHttpClientProperties httpClientProperties) {
+		return PoolReusePolicy
+				.valueOf(httpClientProperties.getHc5().getPoolReusePolicy().name());
+	}
+
+	private PoolConcurrencyPolicy poolConcurrencyPolicy(
+			FeignHttpClientProperties httpClientProperties) {
+		return PoolConcurrencyPolicy
+				.valueOf(httpClientProperties.getHc5().getPoolConcurrencyPolicy().name());
+	}
+
+	private TimeValue timeToLive(FeignHttpClientProperties httpClientProperties) {
+		return TimeValue.of(httpClientProperties.getTimeToLive(),
+				httpClientProperties.getTimeToLiveUnit());
+	}
+
+	private Timeout socketTimeout(FeignHttpClientProperties httpClientProperties) {
+		FeignHttpClientProperties.Hc5Properties hc5Properties = httpClientProperties
+				.getHc5();
+		return Timeout.of(hc5Properties.getSocketTimeout(),
+				hc5Properties.getSocketTimeoutUnit());
+	}
+
+	private SSLContext disabledValidationSslContext() throws GeneralSecurityException {
+		return SSLContexts.custom().loadTrustMaterial(TrustAllStrategy.INSTANCE).build();
+	}
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.ManagedHttpClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolEntryCallback;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Closes the expired and idle connections of all registered Apache HttpClient connection
+ * managers from a single shared thread, and counts the connections it closes. Pooling
+ * connection managers are also set to validate connections that have been inactive for
+ * a while before leasing them again.
+ *
+ * @since 3.0.0
+ */
+public class HttpClientConnectionEvictor implements DisposableBean {
+
+	private static final Log LOG = LogFactory.getLog(HttpClientConnectionEvictor.class);
+
+	// protected, but the only way to know which connections are closed
+	private static final Method ENUM_AVAILABLE = findEnumAvailable();
+
+	private final Map<HttpClientConnectionManager, String> connectionManagers = new ConcurrentHashMap<>();
+
+	private final AtomicLong evictedConnections = new AtomicLong();
+
+	private final ScheduledExecutorService scheduler;
+
+	private final long idleConnectionTimeout;
+
+	private final int validateAfterInactivity;
+
+	private final ConnectionPoolMetricsRecorder metricsRecorder;
+
+	public HttpClientConnectionEvictor(FeignHttpClientProperties httpClientProperties) {
+		this(httpClientProperties, null);
+	}
+
+	/**
+	 * @param httpClientProperties the properties holding the eviction settings
+	 * @param metricsRecorder the recorder of the evicted connections, may be
+	 * {@code null}
+	 */
+	public HttpClientConnectionEvictor(FeignHttpClientProperties httpClientProperties,
+			ConnectionPoolMetricsRecorder metricsRecorder) {
+		this.idleConnectionTimeout = httpClientProperties.getIdleConnectionTimeout();
+		this.validateAfterInactivity = httpClientProperties.getValidateAfterInactivity();
+		this.metricsRecorder = metricsRecorder;
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				"feign-connection-evictor-");
+		threadFactory.setDaemon(true);
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+		long repeat = httpClientProperties.getConnectionTimerRepeat();
+		this.scheduler.scheduleWithFixedDelay(this::evictAll, repeat, repeat,
+				TimeUnit.MILLISECONDS);
+	}
+
+	private static Method findEnumAvailable() {
+		Method method = ReflectionUtils.findMethod(
+				PoolingHttpClientConnectionManager.class, "enumAvailable",
+				PoolEntryCallback.class);
+		if (method != null) {
+			ReflectionUtils.makeAccessible(method);
+		}
+		return method;
+	}
+
+	/**
+	 * @param connectionManager the connection manager to evict connections from
+	 * @param client the contextId of the Feign client owning the connection manager, or
+	 * {@link ConnectionPoolMetricsRecorder#SHARED_POOL}
+	 */
+	public void register(HttpClientConnectionManager connectionManager,
+			String client) {
+		if (connectionManager instanceof PoolingHttpClientConnectionManager) {
+			((PoolingHttpClientConnectionManager) connectionManager)
+					.setValidateAfterInactivity(this.validateAfterInactivity);
+		}
+		this.connectionManagers.put(connectionManager, client);
+	}
+
+	/**
+	 * @param connectionManager the connection manager to stop evicting connections from
+	 */
+	public void unregister(HttpClientConnectionManager connectionManager) {
+		this.connectionManagers.remove(connectionManager);
+	}
+
+	/**
+	 * @return the number of connections closed since startup; connections of
+	 * non-pooling connection managers are not counted
+	 */
+	public long getEvictedConnections() {
+		return this.evictedConnections.get();
+	}
+
+	void evictAll() {
+		long evicted = 0;
+		for (Map.Entry<HttpClientConnectionManager, String> entry : this.connectionManagers
+				.entrySet()) {
+			try {
+				int closed = evict(entry.getKey());
+				if (closed > 0 && this.metricsRecorder != null) {
+					this.metricsRecorder.recordEvictions(entry.getValue(), closed);
+				}
+				evicted += closed;
+			}
+			catch (Exception e) {
+				// an exception would cancel the next runs
+				LOG.warn("Could not evict connections from " + entry.getKey(), e);
+			}
+		}
+		if (evicted > 0) {
+			this.evictedConnections.addAndGet(evicted);
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("Evicted " + evicted + " expired or idle connections");
+			}
+		}
+	}
+
+	private int evict(HttpClientConnectionManager connectionManager) {
+		if (ENUM_AVAILABLE == null
+				|| !(connectionManager instanceof PoolingHttpClientConnectionManager)) {
+			connectionManager.closeExpiredConnections();
+			if (this.idleConnectionTimeout > 0) {
+				connectionManager.closeIdleConnections(this.idleConnectionTimeout,
+						TimeUnit.MILLISECONDS);
+			}
+			return 0;
+		}
+		// what closeExpiredConnections and closeIdleConnections do, counting the
+		// connections closed
+		long now = System.currentTimeMillis();
+		long idleDeadline = this.idleConnectionTimeout > 0
+				? now - this.idleConnectionTimeout : Long.MIN_VALUE;
+		AtomicInteger closed = new AtomicInteger();
+		PoolEntryCallback<HttpRoute, ManagedHttpClientConnection> callback = entry -> {
+			if (entry.isExpired(now) || entry.getUpdated() <= idleDeadline) {
+				entry.close();
+				closed.incrementAndGet();
+			}
+		};
+		ReflectionUtils.invokeMethod(ENUM_AVAILABLE, connectionManager, callback);
+		return closed.get();
+	}
+
+	@Override
+	public void destroy() {
+		this.scheduler.shutdownNow();
+	}
+
+}
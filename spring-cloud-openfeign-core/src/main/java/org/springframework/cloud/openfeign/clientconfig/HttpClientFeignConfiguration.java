@@ -16,9 +16,6 @@
 
 package org.springframework.cloud.openfeign.clientconfig;
 
-import java.util.Timer;
-import java.util.TimerTask;
-
 import javax.annotation.PreDestroy;
 
 import org.apache.http.client.config.RequestConfig;
@@ -27,6 +24,7 @@ import org.apache.http.conn.HttpClientConnectionManager;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -35,6 +33,7 @@ import org.springframework.cloud.commons.httpclient.ApacheHttpClientFactory;
 import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
 /**
  * Default configuration for {@link CloseableHttpClient}.
@@ -48,32 +47,43 @@ import org.springframework.context.annotation.Configuration;
 @ConditionalOnMissingBean(CloseableHttpClient.class)
 public class HttpClientFeignConfiguration {
 
-	private final Timer connectionManagerTimer = new Timer(
-			"FeignApacheHttpClientConfiguration.connectionManagerTimer", true);
-
 	private CloseableHttpClient httpClient;
 
 	@Autowired(required = false)
 	private RegistryBuilder registryBuilder;
 
+	@Bean
+	@ConditionalOnMissingBean
+	public HttpClientConnectionEvictor httpClientConnectionEvictor(
+			FeignHttpClientProperties httpClientProperties,
+			ObjectProvider<ConnectionPoolMetricsRecorder> metricsRecorder) {
+		return new HttpClientConnectionEvictor(httpClientProperties,
+				metricsRecorder.getIfAvailable());
+	}
+
 	@Bean
 	@ConditionalOnMissingBean(HttpClientConnectionManager.class)
 	public HttpClientConnectionManager connectionManager(
 			ApacheHttpClientConnectionManagerFactory connectionManagerFactory,
-			FeignHttpClientProperties httpClientProperties) {
-		final HttpClientConnectionManager connectionManager = connectionManagerFactory
+			FeignHttpClientProperties httpClientProperties,
+			HttpClientConnectionEvictor connectionEvictor,
+			ObjectProvider<ConnectionPoolMetricsRecorder> metricsRecorder,
+			ObjectProvider<CachingDnsResolver> dnsResolver,
+			ObjectProvider<SharedSslContext> sslContext) {
+		ApacheHttpClientConnectionManagerFactory factory = FeignApacheHttpClientConnectionManagerFactory
+				.customize(connectionManagerFactory, dnsResolver.getIfAvailable(),
+						sslContext.getIfAvailable());
+		final HttpClientConnectionManager connectionManager = factory
 				.newConnectionManager(httpClientProperties.isDisableSslValidation(),
 						httpClientProperties.getMaxConnections(),
 						httpClientProperties.getMaxConnectionsPerRoute(),
 						httpClientProperties.getTimeToLive(),
 						httpClientProperties.getTimeToLiveUnit(), this.registryBuilder);
-		this.connectionManagerTimer.schedule(new TimerTask() {
-			@Override
-			public void run() {
-				connectionManager.closeExpiredConnections();
-			}
-		}, 30000, httpClientProperties.getConnectionTimerRepeat());
-		return connectionManager;
+		connectionEvictor.register(connectionManager,
+				ConnectionPoolMetricsRecorder.SHARED_POOL);
+		return InstrumentedHttpClientConnectionManager.instrument(connectionManager,
+				ConnectionPoolMetricsRecorder.SHARED_POOL, httpClientProperties,
+				metricsRecorder.getIfAvailable());
 	}
 
 	@Bean
@@ -100,11 +110,38 @@ public class HttpClientFeignConfiguration {
 		return this.httpClient;
 	}
 
+	@Bean
+	@ConditionalOnMissingBean(IsolatedClientFactory.class)
+	public ApacheHttpIsolatedClientFactory apacheHttpIsolatedClientFactory(
+			ApacheHttpClientConnectionManagerFactory connectionManagerFactory,
+			ApacheHttpClientFactory httpClientFactory,
+			FeignHttpClientProperties httpClientProperties,
+			HttpClientConnectionEvictor connectionEvictor,
+			ObjectProvider<ConnectionPoolMetricsRecorder> metricsRecorder,
+			ObjectProvider<CachingDnsResolver> dnsResolver,
+			ObjectProvider<SharedSslContext> sslContext, Environment environment) {
+		// mirror the builder used for the shared client
+		boolean responseCompression = environment.getProperty(
+				"feign.compression.response.enabled", Boolean.class, false);
+		return new ApacheHttpIsolatedClientFactory(
+				FeignApacheHttpClientConnectionManagerFactory.customize(
+						connectionManagerFactory, dnsResolver.getIfAvailable(),
+						sslContext.getIfAvailable()),
+				responseCompression ? () -> HttpClientBuilder.create()
+						.disableCookieManagement().useSystemProperties()
+						: httpClientFactory,
+				httpClientProperties, connectionEvictor,
+				metricsRecorder.getIfAvailable(), this.registryBuilder);
+	}
+
 	private CloseableHttpClient createClient(HttpClientBuilder builder,
 			HttpClientConnectionManager httpClientConnectionManager,
 			FeignHttpClientProperties httpClientProperties) {
 		RequestConfig defaultRequestConfig = RequestConfig.custom()
 				.setConnectTimeout(httpClientProperties.getConnectionTimeout())
+				.setConnectionRequestTimeout(
+						httpClientProperties.getConnectionRequestTimeout())
+				.setSocketTimeout(httpClientProperties.getSocketTimeout())
 				.setRedirectsEnabled(httpClientProperties.isFollowRedirects()).build();
 		CloseableHttpClient httpClient = builder
 				.setDefaultRequestConfig(defaultRequestConfig)
@@ -114,7 +151,6 @@ public class HttpClientFeignConfiguration {
 
 	@PreDestroy
 	public void destroy() throws Exception {
-		this.connectionManagerTimer.cancel();
 		if (this.httpClient != null) {
 			this.httpClient.close();
 		}
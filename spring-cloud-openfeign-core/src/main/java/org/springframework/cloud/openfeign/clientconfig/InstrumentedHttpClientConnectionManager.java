@@ -0,0 +1,271 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+
+/**
+ * {@link HttpClientConnectionManager} decorating a
+ * {@link PoolingHttpClientConnectionManager} to record the time spent waiting for
+ * pooled connections, and to bound the number of threads waiting for one. When that
+ * number is reached, further requests fail immediately with a
+ * {@link ConnectionPoolTimeoutException} instead of queueing up.
+ *
+ * @since 3.0.0
+ */
+public class InstrumentedHttpClientConnectionManager
+		implements HttpClientConnectionManager, ConnPoolControl<HttpRoute>, Closeable {
+
+	/**
+	 * Cause of the lease failures due to the connection request timeout.
+	 */
+	public static final String TIMEOUT = "timeout";
+
+	/**
+	 * Cause of the lease failures due to too many threads waiting for a connection.
+	 */
+	public static final String MAX_WAITERS = "max-waiters";
+
+	private final PoolingHttpClientConnectionManager delegate;
+
+	private final String client;
+
+	private final int maxWaiters;
+
+	private final ConnectionPoolMetricsRecorder metricsRecorder;
+
+	private final AtomicInteger waiters = new AtomicInteger();
+
+	/**
+	 * Creates the connection manager and binds it to the given metrics recorder, if any.
+	 * @param delegate the pooling connection manager to decorate
+	 * @param client the contextId of the Feign client owning the connection manager, or
+	 * {@link ConnectionPoolMetricsRecorder#SHARED_POOL}
+	 * @param maxWaiters the max number of threads waiting for a connection, zero or a
+	 * negative value for no limit
+	 * @param metricsRecorder the metrics recorder, may be {@code null}
+	 */
+	public InstrumentedHttpClientConnectionManager(
+			PoolingHttpClientConnectionManager delegate, String client, int maxWaiters,
+			ConnectionPoolMetricsRecorder metricsRecorder) {
+		this.delegate = delegate;
+		this.client = client;
+		this.maxWaiters = maxWaiters;
+		this.metricsRecorder = metricsRecorder;
+		if (metricsRecorder != null) {
+			metricsRecorder.bindApacheHttpPool(client, this);
+		}
+	}
+
+	/**
+	 * Applies the socket timeout of the given properties to the connection manager, and
+	 * decorates it if a max number of waiters or a metrics recorder is given.
+	 * @param connectionManager the connection manager to instrument
+	 * @param client the contextId of the Feign client owning the connection manager, or
+	 * {@link ConnectionPoolMetricsRecorder#SHARED_POOL}
+	 * @param httpClientProperties the properties holding the socket timeout and the max
+	 * number of waiters
+	 * @param metricsRecorder the metrics recorder, may be {@code null}
+	 * @return the instrumented connection manager, or the given one if it is not a
+	 * pooling connection manager or does not need to be decorated
+	 */
+	public static HttpClientConnectionManager instrument(
+			HttpClientConnectionManager connectionManager, String client,
+			FeignHttpClientProperties httpClientProperties,
+			ConnectionPoolMetricsRecorder metricsRecorder) {
+		if (!(connectionManager instanceof PoolingHttpClientConnectionManager)) {
+			return connectionManager;
+		}
+		PoolingHttpClientConnectionManager pool = (PoolingHttpClientConnectionManager) connectionManager;
+		if (httpClientProperties.getSocketTimeout() > 0) {
+			// applies until the request socket timeout is set, e.g. to TLS handshakes
+			pool.setDefaultSocketConfig(SocketConfig.custom()
+					.setSoTimeout(httpClientProperties.getSocketTimeout()).build());
+		}
+		int maxWaiters = httpClientProperties.getMaxWaiters();
+		if (maxWaiters <= 0 && metricsRecorder == null) {
+			return connectionManager;
+		}
+		return new InstrumentedHttpClientConnectionManager(pool, client, maxWaiters,
+				metricsRecorder);
+	}
+
+	public PoolingHttpClientConnectionManager getDelegate() {
+		return this.delegate;
+	}
+
+	@Override
+	public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+		ConnectionRequest connectionRequest = this.delegate.requestConnection(route,
+				state);
+		return new ConnectionRequest() {
+
+			@Override
+			public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+					throws InterruptedException, ExecutionException,
+					ConnectionPoolTimeoutException {
+				return lease(connectionRequest, route, timeout, timeUnit);
+			}
+
+			@Override
+			public boolean cancel() {
+				return connectionRequest.cancel();
+			}
+
+		};
+	}
+
+	private HttpClientConnection lease(ConnectionRequest connectionRequest,
+			HttpRoute route, long timeout, TimeUnit timeUnit)
+			throws InterruptedException, ExecutionException,
+			ConnectionPoolTimeoutException {
+		if (this.maxWaiters > 0 && this.waiters.incrementAndGet() > this.maxWaiters) {
+			this.waiters.decrementAndGet();
+			connectionRequest.cancel();
+			recordFailure(route, MAX_WAITERS);
+			throw new ConnectionPoolTimeoutException(
+					"Too many requests waiting for a connection from the pool of "
+							+ this.client);
+		}
+		long start = System.nanoTime();
+		try {
+			HttpClientConnection connection = connectionRequest.get(timeout, timeUnit);
+			if (this.metricsRecorder != null) {
+				this.metricsRecorder.recordLease(this.client, route,
+						System.nanoTime() - start);
+			}
+			return connection;
+		}
+		catch (ConnectionPoolTimeoutException e) {
+			recordFailure(route, TIMEOUT);
+			throw e;
+		}
+		finally {
+			if (this.maxWaiters > 0) {
+				this.waiters.decrementAndGet();
+			}
+		}
+	}
+
+	private void recordFailure(HttpRoute route, String cause) {
+		if (this.metricsRecorder != null) {
+			this.metricsRecorder.recordLeaseFailure(this.client, route, cause);
+		}
+	}
+
+	@Override
+	public void releaseConnection(HttpClientConnection connection, Object newState,
+			long validDuration, TimeUnit timeUnit) {
+		this.delegate.releaseConnection(connection, newState, validDuration, timeUnit);
+	}
+
+	@Override
+	public void connect(HttpClientConnection connection, HttpRoute route,
+			int connectTimeout, HttpContext context) throws IOException {
+		this.delegate.connect(connection, route, connectTimeout, context);
+	}
+
+	@Override
+	public void upgrade(HttpClientConnection connection, HttpRoute route,
+			HttpContext context) throws IOException {
+		this.delegate.upgrade(connection, route, context);
+	}
+
+	@Override
+	public void routeComplete(HttpClientConnection connection, HttpRoute route,
+			HttpContext context) throws IOException {
+		this.delegate.routeComplete(connection, route, context);
+	}
+
+	@Override
+	public void closeIdleConnections(long idleTime, TimeUnit timeUnit) {
+		this.delegate.closeIdleConnections(idleTime, timeUnit);
+	}
+
+	@Override
+	public void closeExpiredConnections() {
+		this.delegate.closeExpiredConnections();
+	}
+
+	@Override
+	public void shutdown() {
+		this.delegate.shutdown();
+	}
+
+	@Override
+	public void close() {
+		this.delegate.close();
+	}
+
+	@Override
+	public void setMaxTotal(int max) {
+		this.delegate.setMaxTotal(max);
+	}
+
+	@Override
+	public int getMaxTotal() {
+		return this.delegate.getMaxTotal();
+	}
+
+	@Override
+	public void setDefaultMaxPerRoute(int max) {
+		this.delegate.setDefaultMaxPerRoute(max);
+	}
+
+	@Override
+	public int getDefaultMaxPerRoute() {
+		return this.delegate.getDefaultMaxPerRoute();
+	}
+
+	@Override
+	public void setMaxPerRoute(HttpRoute route, int max) {
+		this.delegate.setMaxPerRoute(route, max);
+	}
+
+	@Override
+	public int getMaxPerRoute(HttpRoute route) {
+		return this.delegate.getMaxPerRoute(route);
+	}
+
+	@Override
+	public PoolStats getTotalStats() {
+		return this.delegate.getTotalStats();
+	}
+
+	@Override
+	public PoolStats getStats(HttpRoute route) {
+		return this.delegate.getStats(route);
+	}
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import feign.Client;
+
+import org.springframework.cloud.openfeign.FeignClientProperties;
+
+/**
+ * Creates {@link Client} instances that use a connection pool of their own instead of
+ * the pool shared by all Feign clients, so that a slow downstream service can only
+ * exhaust the connections of the Feign client calling it. Used for the Feign clients
+ * that have a {@code feign.client.config.<name>.connection-pool} configured.
+ *
+ * @since 3.0.0
+ */
+public interface IsolatedClientFactory {
+
+	/**
+	 * @param client the shared client the Feign client would use otherwise
+	 * @return whether this factory creates clients of the same kind as the given one
+	 */
+	boolean supports(Client client);
+
+	/**
+	 * Returns the client with a dedicated connection pool for the given Feign client,
+	 * creating it on first use.
+	 * @param contextId the context id of the Feign client
+	 * @param connectionPool the configuration of the dedicated pool
+	 * @return the client using the dedicated connection pool
+	 */
+	Client create(String contextId,
+			FeignClientProperties.ConnectionPoolConfiguration connectionPool);
+
+}
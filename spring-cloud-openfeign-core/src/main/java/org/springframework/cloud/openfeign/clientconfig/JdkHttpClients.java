@@ -0,0 +1,131 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.time.Duration;
+
+import javax.net.ssl.SSLContext;
+
+import feign.Client;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Creates the JDK {@code java.net.http.HttpClient} and the Feign client backed by it.
+ * The JDK client is only available on Java 11 or later; as the project targets older
+ * versions, both are created reflectively.
+ *
+ * @since 3.0.0
+ */
+public final class JdkHttpClients {
+
+	/**
+	 * Name of the JDK HTTP client type.
+	 */
+	public static final String HTTP_CLIENT_CLASS_NAME = "java.net.http.HttpClient";
+
+	/**
+	 * Name of the Feign client backed by the JDK HTTP client, from
+	 * {@code io.github.openfeign:feign-java11}.
+	 */
+	public static final String FEIGN_CLIENT_CLASS_NAME = "feign.http2client.Http2Client";
+
+	private JdkHttpClients() {
+		throw new IllegalStateException("Can't instantiate a utility class");
+	}
+
+	/**
+	 * @return the JDK HTTP client type
+	 * @throws IllegalStateException if it is not available
+	 */
+	public static Class<?> getHttpClientType() {
+		return ClassUtils.resolveClassName(HTTP_CLIENT_CLASS_NAME,
+				JdkHttpClients.class.getClassLoader());
+	}
+
+	/**
+	 * @param version the name of the preferred HTTP version, {@code HTTP_2} or
+	 * {@code HTTP_1_1}
+	 * @param connectTimeout the connection timeout
+	 * @param followRedirects whether to follow redirects
+	 * @param sslContext the SSL context, or {@code null} for the default one
+	 * @return a new JDK HTTP client
+	 */
+	public static Object newHttpClient(String version, Duration connectTimeout,
+			boolean followRedirects, SSLContext sslContext) {
+		try {
+			Class<?> builderType = nestedType("Builder");
+			Object builder = getHttpClientType().getMethod("newBuilder").invoke(null);
+			Class<?> versionType = nestedType("Version");
+			builderType.getMethod("version", versionType).invoke(builder,
+					enumConstant(versionType, version));
+			builderType.getMethod("connectTimeout", Duration.class).invoke(builder,
+					connectTimeout);
+			Class<?> redirectType = nestedType("Redirect");
+			builderType.getMethod("followRedirects", redirectType).invoke(builder,
+					enumConstant(redirectType, followRedirects ? "NORMAL" : "NEVER"));
+			if (sslContext != null) {
+				builderType.getMethod("sslContext", SSLContext.class).invoke(builder,
+						sslContext);
+			}
+			return builderType.getMethod("build").invoke(builder);
+		}
+		catch (ReflectiveOperationException e) {
+			ReflectionUtils.handleReflectionException(e);
+			throw new IllegalStateException("Could not create a JDK HTTP client", e);
+		}
+	}
+
+	/**
+	 * @param beanFactory the bean factory holding the JDK HTTP client
+	 * @return a Feign client sending its requests with the JDK HTTP client bean
+	 */
+	public static Client newFeignClient(BeanFactory beanFactory) {
+		Class<?> httpClientType = getHttpClientType();
+		Object httpClient = beanFactory.getBean(httpClientType);
+		try {
+			return (Client) ClassUtils
+					.forName(FEIGN_CLIENT_CLASS_NAME,
+							JdkHttpClients.class.getClassLoader())
+					.getConstructor(httpClientType).newInstance(httpClient);
+		}
+		catch (ReflectiveOperationException e) {
+			ReflectionUtils.handleReflectionException(e);
+			throw new IllegalStateException(
+					"Could not create a " + FEIGN_CLIENT_CLASS_NAME, e);
+		}
+	}
+
+	private static Class<?> nestedType(String name) throws ClassNotFoundException {
+		return ClassUtils.forName(HTTP_CLIENT_CLASS_NAME + "$" + name,
+				JdkHttpClients.class.getClassLoader());
+	}
+
+	private static Object enumConstant(Class<?> enumType, String name) {
+		for (Object constant : enumType.getEnumConstants()) {
+			if (((Enum<?>) constant).name().equals(name)) {
+				return constant;
+			}
+		}
+		throw new IllegalArgumentException(
+				"No " + enumType.getSimpleName() + " named " + name);
+	}
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.ConnectionPool;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.pool.ConnPoolControl;
+
+/**
+ * {@link ConnectionPoolMetricsRecorder} publishing the following Micrometer meters, all
+ * tagged with the {@code client} owning the pool and the {@code route}:
+ * <ul>
+ * <li>{@code feign.client.connections.leased} - gauge of the connections in use,</li>
+ * <li>{@code feign.client.connections.available} - gauge of the idle connections,</li>
+ * <li>{@code feign.client.connections.pending} - gauge of the requests waiting for a
+ * connection,</li>
+ * <li>{@code feign.client.connections.lease} - timer of the time spent waiting for a
+ * connection,</li>
+ * <li>{@code feign.client.connections.lease.failures} - counter of the requests that
+ * did not get a connection, tagged with the {@code cause}: {@code timeout} or
+ * {@code max-waiters},</li>
+ * <li>{@code feign.client.connections.evicted} - counter of the expired or idle
+ * connections closed by the {@link HttpClientConnectionEvictor}, tagged with the
+ * {@code client} only.</li>
+ * </ul>
+ * Apache HttpClient pools are reported per route, from the first time a connection is
+ * requested for the route. OkHttp pools do not keep statistics per route, so they are
+ * reported as a whole, with a route of {@code all}, and without pending requests and
+ * leases.
+ *
+ * @since 3.0.0
+ */
+public class MicrometerConnectionPoolMetricsRecorder
+		implements ConnectionPoolMetricsRecorder {
+
+	private static final String ALL_ROUTES = "all";
+
+	private final MeterRegistry meterRegistry;
+
+	private final Map<String, ApacheHttpPoolMeters> apacheHttpPools = new ConcurrentHashMap<>();
+
+	public MicrometerConnectionPoolMetricsRecorder(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public void bindApacheHttpPool(String client, ConnPoolControl<HttpRoute> pool) {
+		this.apacheHttpPools.put(client, new ApacheHttpPoolMeters(client, pool));
+	}
+
+	@Override
+	public void bindOkHttpPool(String client, ConnectionPool connectionPool) {
+		Tags tags = Tags.of("client", client, "route", ALL_ROUTES);
+		gauge("feign.client.connections.leased", "Pooled connections in use", tags,
+				connectionPool, pool -> pool.connectionCount()
+						- pool.idleConnectionCount());
+		gauge("feign.client.connections.available", "Idle pooled connections", tags,
+				connectionPool, ConnectionPool::idleConnectionCount);
+	}
+
+	@Override
+	public void recordLease(String client, HttpRoute route, long leaseTimeNanos) {
+		ApacheHttpPoolMeters meters = this.apacheHttpPools.get(client);
+		if (meters != null) {
+			meters.leaseTimer(route).record(leaseTimeNanos, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	@Override
+	public void recordLeaseFailure(String client, HttpRoute route, String cause) {
+		Counter.builder("feign.client.connections.lease.failures")
+				.description("Requests that did not get a pooled connection")
+				.tags("client", client, "route", route(route), "cause", cause)
+				.register(this.meterRegistry).increment();
+	}
+
+	@Override
+	public void recordEvictions(String client, int count) {
+		Counter.builder("feign.client.connections.evicted")
+				.description("Expired or idle pooled connections closed")
+				.tag("client", client).register(this.meterRegistry).increment(count);
+	}
+
+	private static String route(HttpRoute route) {
+		return route.getTargetHost().toURI();
+	}
+
+	private <T> void gauge(String name, String description, Tags tags, T state,
+			ToDoubleFunction<T> value) {
+		Gauge.builder(name, state, value).description(description).tags(tags)
+				.strongReference(true).register(this.meterRegistry);
+	}
+
+	private final class ApacheHttpPoolMeters {
+
+		private final String client;
+
+		private final ConnPoolControl<HttpRoute> pool;
+
+		private final Map<HttpRoute, Timer> leaseTimers = new ConcurrentHashMap<>();
+
+		ApacheHttpPoolMeters(String client, ConnPoolControl<HttpRoute> pool) {
+			this.client = client;
+			this.pool = pool;
+		}
+
+		Timer leaseTimer(HttpRoute route) {
+			Timer timer = this.leaseTimers.get(route);
+			return timer != null ? timer
+					: this.leaseTimers.computeIfAbsent(route, this::register);
+		}
+
+		private Timer register(HttpRoute route) {
+			Tags tags = Tags.of("client", this.client, "route", route(route));
+			gauge("feign.client.connections.leased", "Pooled connections in use", tags,
+					route, r -> this.pool.getStats(r).getLeased());
+			gauge("feign.client.connections.available", "Idle pooled connections",
+					tags, route, r -> this.pool.getStats(r).getAvailable());
+			gauge("feign.client.connections.pending",
+					"Requests waiting for a pooled connection", tags, route,
+					r -> this.pool.getStats(r).getPending());
+			return Timer.builder("feign.client.connections.lease")
+					.description("Time spent waiting for a pooled connection")
+					.tags(tags).register(meterRegistry);
+		}
+
+	}
+
+}
@@ -16,13 +16,19 @@
 
 package org.springframework.cloud.openfeign.clientconfig;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PreDestroy;
 
 import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.cloud.commons.httpclient.OkHttpClientConnectionPoolFactory;
 import org.springframework.cloud.commons.httpclient.OkHttpClientFactory;
@@ -58,16 +64,48 @@ public class OkHttpFeignConfiguration {
 	@Bean
 	public okhttp3.OkHttpClient client(OkHttpClientFactory httpClientFactory,
 			ConnectionPool connectionPool,
-			FeignHttpClientProperties httpClientProperties) {
+			FeignHttpClientProperties httpClientProperties,
+			ObjectProvider<ConnectionPoolMetricsRecorder> metricsRecorder,
+			ObjectProvider<CachingDnsResolver> dnsResolver,
+			ObjectProvider<SharedSslContext> sslContext) {
 		Boolean followRedirects = httpClientProperties.isFollowRedirects();
 		Integer connectTimeout = httpClientProperties.getConnectionTimeout();
-		this.okHttpClient = httpClientFactory
+		metricsRecorder.ifAvailable(recorder -> recorder.bindOkHttpPool(
+				ConnectionPoolMetricsRecorder.SHARED_POOL, connectionPool));
+		FeignHttpClientProperties.OkHttp okHttpProperties = httpClientProperties
+				.getOkHttp();
+		OkHttpClient.Builder builder = httpClientFactory
 				.createBuilder(httpClientProperties.isDisableSslValidation())
 				.connectTimeout(connectTimeout, TimeUnit.MILLISECONDS)
-				.followRedirects(followRedirects).connectionPool(connectionPool).build();
+				.followRedirects(followRedirects).connectionPool(connectionPool)
+				.protocols(protocols(okHttpProperties))
+				.dispatcher(dispatcher(okHttpProperties));
+		dnsResolver.ifAvailable(resolver -> builder
+				.dns(hostname -> Arrays.asList(resolver.resolve(hostname))));
+		sslContext.ifAvailable(ssl -> builder
+				.sslSocketFactory(ssl.getSocketFactory(), ssl.getTrustManager()));
+		this.okHttpClient = builder.build();
 		return this.okHttpClient;
 	}
 
+	@Bean
+	@ConditionalOnMissingBean(IsolatedClientFactory.class)
+	public OkHttpIsolatedClientFactory okHttpIsolatedClientFactory(
+			okhttp3.OkHttpClient okHttpClient,
+			OkHttpClientConnectionPoolFactory connectionPoolFactory,
+			FeignHttpClientProperties httpClientProperties,
+			ObjectProvider<ConnectionPoolMetricsRecorder> metricsRecorder) {
+		return new OkHttpIsolatedClientFactory(okHttpClient, connectionPoolFactory,
+				httpClientProperties, metricsRecorder.getIfAvailable());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean(UnixDomainSocketClientFactory.class)
+	public OkHttpUnixDomainSocketClientFactory okHttpUnixDomainSocketClientFactory(
+			okhttp3.OkHttpClient okHttpClient) {
+		return new OkHttpUnixDomainSocketClientFactory(okHttpClient);
+	}
+
 	@PreDestroy
 	public void destroy() {
 		if (this.okHttpClient != null) {
@@ -76,4 +114,21 @@ public class OkHttpFeignConfiguration {
 		}
 	}
 
+	private static List<Protocol> protocols(
+			FeignHttpClientProperties.OkHttp okHttpProperties) {
+		List<Protocol> protocols = new ArrayList<>();
+		for (String protocol : okHttpProperties.getProtocols()) {
+			protocols.add(Protocol.valueOf(protocol.trim().toUpperCase()));
+		}
+		return protocols;
+	}
+
+	private static Dispatcher dispatcher(
+			FeignHttpClientProperties.OkHttp okHttpProperties) {
+		Dispatcher dispatcher = new Dispatcher();
+		dispatcher.setMaxRequests(okHttpProperties.getMaxRequests());
+		dispatcher.setMaxRequestsPerHost(okHttpProperties.getMaxRequestsPerHost());
+		return dispatcher;
+	}
+
 }
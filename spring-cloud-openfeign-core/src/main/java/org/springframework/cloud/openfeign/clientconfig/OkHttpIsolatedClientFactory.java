@@ -0,0 +1,100 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import feign.Client;
+import feign.okhttp.OkHttpClient;
+import okhttp3.ConnectionPool;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.commons.httpclient.OkHttpClientConnectionPoolFactory;
+import org.springframework.cloud.openfeign.FeignClientProperties;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+
+/**
+ * {@link IsolatedClientFactory} creating {@link OkHttpClient} instances, each with a
+ * {@link ConnectionPool} of its own. The clients share the dispatcher and all other
+ * settings of the shared {@link okhttp3.OkHttpClient}. OkHttp does not limit the
+ * connections per route, so {@code max-connections-per-route} does not apply.
+ *
+ * @since 3.0.0
+ */
+public class OkHttpIsolatedClientFactory
+		implements IsolatedClientFactory, DisposableBean {
+
+	private final Map<String, OkHttpClient> clients = new ConcurrentHashMap<>();
+
+	private final Map<String, ConnectionPool> connectionPools = new ConcurrentHashMap<>();
+
+	private final okhttp3.OkHttpClient okHttpClient;
+
+	private final OkHttpClientConnectionPoolFactory connectionPoolFactory;
+
+	private final FeignHttpClientProperties httpClientProperties;
+
+	private final ConnectionPoolMetricsRecorder metricsRecorder;
+
+	public OkHttpIsolatedClientFactory(okhttp3.OkHttpClient okHttpClient,
+			OkHttpClientConnectionPoolFactory connectionPoolFactory,
+			FeignHttpClientProperties httpClientProperties,
+			ConnectionPoolMetricsRecorder metricsRecorder) {
+		this.okHttpClient = okHttpClient;
+		this.connectionPoolFactory = connectionPoolFactory;
+		this.httpClientProperties = httpClientProperties;
+		this.metricsRecorder = metricsRecorder;
+	}
+
+	@Override
+	public boolean supports(Client client) {
+		return client instanceof OkHttpClient;
+	}
+
+	@Override
+	public Client create(String contextId,
+			FeignClientProperties.ConnectionPoolConfiguration connectionPool) {
+		return this.clients.computeIfAbsent(contextId, id -> {
+			FeignHttpClientProperties defaults = this.httpClientProperties;
+			ConnectionPool pool = this.connectionPoolFactory.create(
+					connectionPool.getMaxConnections() != null
+							? connectionPool.getMaxConnections()
+							: defaults.getMaxConnections(),
+					connectionPool.getTimeToLive() != null
+							? connectionPool.getTimeToLive()
+							: defaults.getTimeToLive(),
+					connectionPool.getTimeToLiveUnit() != null
+							? connectionPool.getTimeToLiveUnit()
+							: defaults.getTimeToLiveUnit());
+			this.connectionPools.put(id, pool);
+			if (this.metricsRecorder != null) {
+				this.metricsRecorder.bindOkHttpPool(id, pool);
+			}
+			return new OkHttpClient(
+					this.okHttpClient.newBuilder().connectionPool(pool).build());
+		});
+	}
+
+	@Override
+	public void destroy() {
+		for (ConnectionPool connectionPool : this.connectionPools.values()) {
+			connectionPool.evictAll();
+		}
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import feign.Client;
+import feign.okhttp.OkHttpClient;
+import okhttp3.Protocol;
+
+/**
+ * {@link UnixDomainSocketClientFactory} creating {@link OkHttpClient} instances that
+ * open their connections through a {@link UnixDomainSocketFactory}. The clients share
+ * the connection pool, dispatcher and all other settings of the shared
+ * {@link okhttp3.OkHttpClient}, and speak HTTP/1.1.
+ *
+ * @since 3.0.0
+ */
+public class OkHttpUnixDomainSocketClientFactory
+		implements UnixDomainSocketClientFactory {
+
+	private final Map<String, OkHttpClient> clients = new ConcurrentHashMap<>();
+
+	private final okhttp3.OkHttpClient okHttpClient;
+
+	public OkHttpUnixDomainSocketClientFactory(okhttp3.OkHttpClient okHttpClient) {
+		this.okHttpClient = okHttpClient;
+	}
+
+	@Override
+	public Client create(String socketPath) {
+		return this.clients.computeIfAbsent(socketPath,
+				path -> new OkHttpClient(this.okHttpClient.newBuilder()
+						.socketFactory(new UnixDomainSocketFactory(path))
+						.protocols(Collections.singletonList(Protocol.HTTP_1_1))
+						.build()));
+	}
+
+}
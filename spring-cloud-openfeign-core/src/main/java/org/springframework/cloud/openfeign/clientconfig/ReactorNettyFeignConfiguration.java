@@ -0,0 +1,79 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.time.Duration;
+
+import javax.annotation.PreDestroy;
+import javax.net.ssl.SSLException;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Default configuration for the reactor-netty {@link HttpClient}. Reactor-netty keeps a
+ * separate connection pool for every remote address, so each pool is sized by
+ * {@code feign.httpclient.max-connections-per-route}. Buffers are allocated from the
+ * pooled (direct) Netty allocator.
+ *
+ * @since 3.0.0
+ */
+@Configuration(proxyBeanMethods = false)
+public class ReactorNettyFeignConfiguration {
+
+	private ConnectionProvider connectionProvider;
+
+	@Bean
+	@ConditionalOnMissingBean(HttpClient.class)
+	public HttpClient reactorNettyHttpClient(
+			FeignHttpClientProperties httpClientProperties) throws SSLException {
+		this.connectionProvider = ConnectionProvider.builder("feign")
+				.maxConnections(httpClientProperties.getMaxConnectionsPerRoute())
+				.maxLifeTime(Duration.ofMillis(httpClientProperties.getTimeToLiveUnit()
+						.toMillis(httpClientProperties.getTimeToLive())))
+				.build();
+		HttpClient httpClient = HttpClient.create(this.connectionProvider)
+				.option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+				.option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+						httpClientProperties.getConnectionTimeout())
+				.followRedirect(httpClientProperties.isFollowRedirects());
+		if (httpClientProperties.isDisableSslValidation()) {
+			SslContext sslContext = SslContextBuilder.forClient()
+					.trustManager(InsecureTrustManagerFactory.INSTANCE).build();
+			httpClient = httpClient.secure(spec -> spec.sslContext(sslContext));
+		}
+		return httpClient;
+	}
+
+	@PreDestroy
+	public void destroy() {
+		if (this.connectionProvider != null) {
+			this.connectionProvider.dispose();
+		}
+	}
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509TrustManager;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * A single {@link SSLContext} shared by the Apache HttpClient and OkHttp clients, so that
+ * TLS sessions negotiated by one connection are resumed by the following connections to
+ * the same host, instead of each of them doing a full handshake. Client certificates are
+ * read from the {@code javax.net.ssl.keyStore} system properties, as the JVM default
+ * {@link SSLContext} does.
+ *
+ * @since 3.0.0
+ */
+public class SharedSslContext {
+
+	private final X509TrustManager trustManager;
+
+	private final SSLContext sslContext;
+
+	/**
+	 * @param disableSslValidation whether to trust all certificates
+	 * @param sessionCacheSize the maximum number of cached TLS sessions, {@code 0} for no
+	 * limit
+	 * @param sessionTimeout the time in seconds TLS sessions are cached, {@code 0} for no
+	 * limit
+	 */
+	public SharedSslContext(boolean disableSslValidation, int sessionCacheSize,
+			int sessionTimeout) {
+		try {
+			this.trustManager = disableSslValidation ? new TrustAllTrustManager()
+					: defaultTrustManager();
+			this.sslContext = SSLContext.getInstance("TLS");
+			this.sslContext.init(defaultKeyManagers(),
+					new TrustManager[] { this.trustManager }, null);
+		}
+		catch (GeneralSecurityException | IOException e) {
+			throw new IllegalStateException("Could not create the shared SSL context", e);
+		}
+		SSLSessionContext sessionContext = this.sslContext.getClientSessionContext();
+		sessionContext.setSessionCacheSize(sessionCacheSize);
+		sessionContext.setSessionTimeout(sessionTimeout);
+	}
+
+	public SSLContext getSslContext() {
+		return this.sslContext;
+	}
+
+	public SSLSocketFactory getSocketFactory() {
+		return this.sslContext.getSocketFactory();
+	}
+
+	public X509TrustManager getTrustManager() {
+		return this.trustManager;
+	}
+
+	/**
+	 * Unlike the trust managers, a {@link KeyManagerFactory} does not read the
+	 * {@code javax.net.ssl} system properties, so the key store is loaded here the way
+	 * the JVM default {@link SSLContext} loads it.
+	 * @return the key managers of the default key store, or {@code null} if none is set
+	 */
+	static KeyManager[] defaultKeyManagers()
+			throws GeneralSecurityException, IOException {
+		String path = System.getProperty("javax.net.ssl.keyStore");
+		if (!StringUtils.hasText(path)) {
+			return null;
+		}
+		String type = System.getProperty("javax.net.ssl.keyStoreType",
+				KeyStore.getDefaultType());
+		String provider = System.getProperty("javax.net.ssl.keyStoreProvider");
+		String password = System.getProperty("javax.net.ssl.keyStorePassword");
+		char[] passwordChars = password != null ? password.toCharArray() : null;
+		KeyStore keyStore = StringUtils.hasText(provider)
+				? KeyStore.getInstance(type, provider) : KeyStore.getInstance(type);
+		if ("NONE".equals(path)) {
+			// a hardware key store, such as PKCS11, that is not read from a file
+			keyStore.load(null, passwordChars);
+		}
+		else {
+			try (InputStream inputStream = new FileInputStream(path)) {
+				keyStore.load(inputStream, passwordChars);
+			}
+		}
+		KeyManagerFactory keyManagerFactory = KeyManagerFactory
+				.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+		keyManagerFactory.init(keyStore, passwordChars);
+		return keyManagerFactory.getKeyManagers();
+	}
+
+	private static X509TrustManager defaultTrustManager()
+			throws GeneralSecurityException {
+		TrustManagerFactory trustManagerFactory = TrustManagerFactory
+				.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+		trustManagerFactory.init((KeyStore) null);
+		for (TrustManager trustManager : trustManagerFactory.getTrustManagers()) {
+			if (trustManager instanceof X509TrustManager) {
+				return (X509TrustManager) trustManager;
+			}
+		}
+		throw new IllegalStateException("No default X509TrustManager found");
+	}
+
+	private static class TrustAllTrustManager implements X509TrustManager {
+
+		@Override
+		public void checkClientTrusted(X509Certificate[] chain, String authType) {
+		}
+
+		@Override
+		public void checkServerTrusted(X509Certificate[] chain, String authType) {
+		}
+
+		@Override
+		public X509Certificate[] getAcceptedIssuers() {
+			return new X509Certificate[0];
+		}
+
+	}
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+
+/**
+ * {@link Client} sending only one of the identical {@code GET} requests executed
+ * concurrently, that is with the same url and headers. The body of its response is
+ * buffered and shared with the other requests, each of them receiving a copy of the
+ * response it decodes on its own. The other requests are sent through the delegate as
+ * usual.
+ *
+ * @since 3.0.0
+ */
+public class SingleFlightClient implements Client {
+
+	private final Client delegate;
+
+	private final ConcurrentMap<Flight, CompletableFuture<Response>> flights;
+
+	public SingleFlightClient(Client delegate) {
+		this(delegate, new ConcurrentHashMap<>());
+	}
+
+	/**
+	 * @param delegate the client sending the requests
+	 * @param flights holds the responses of the requests being sent
+	 */
+	SingleFlightClient(Client delegate,
+			ConcurrentMap<Flight, CompletableFuture<Response>> flights) {
+		this.delegate = delegate;
+		this.flights = flights;
+	}
+
+	public Client getDelegate() {
+		return this.delegate;
+	}
+
+	@Override
+	public Response execute(Request request, Request.Options options)
+			throws IOException {
+		if (request.httpMethod() != Request.HttpMethod.GET
+				|| request.body() != null && request.body().length > 0) {
+			return this.delegate.execute(request, options);
+		}
+		Flight flight = new Flight(request);
+		CompletableFuture<Response> response = new CompletableFuture<>();
+		CompletableFuture<Response> sharedResponse = this.flights.putIfAbsent(flight,
+				response);
+		if (sharedResponse != null) {
+			return join(sharedResponse).toBuilder().request(request).build();
+		}
+		try {
+			Response buffered = buffer(this.delegate.execute(request, options));
+			response.complete(buffered);
+			return buffered;
+		}
+		catch (IOException | RuntimeException | Error e) {
+			response.completeExceptionally(e);
+			throw e;
+		}
+		finally {
+			this.flights.remove(flight, response);
+		}
+	}
+
+	private static Response buffer(Response response) throws IOException {
+		if (response.body() == null) {
+			return response;
+		}
+		try (InputStream body = response.body().asInputStream()) {
+			return response.toBuilder().body(Util.toByteArray(body)).build();
+		}
+	}
+
+	private static Response join(CompletableFuture<Response> response)
+			throws IOException {
+		try {
+			return response.join();
+		}
+		catch (CompletionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw new IOException(cause.getMessage(), cause);
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw (RuntimeException) cause;
+		}
+	}
+
+	/**
+	 * The url and headers identifying identical requests. Header names are compared
+	 * case-insensitively.
+	 */
+	static final class Flight {
+
+		private final String url;
+
+		private final Map<String, List<String>> headers = new TreeMap<>();
+
+		private Flight(Request request) {
+			this.url = request.url();
+			for (Map.Entry<String, Collection<String>> header : request.headers()
+					.entrySet()) {
+				this.headers.computeIfAbsent(header.getKey().toLowerCase(Locale.ROOT),
+						name -> new ArrayList<>()).addAll(header.getValue());
+			}
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			Flight that = (Flight) o;
+			return Objects.equals(this.url, that.url)
+					&& Objects.equals(this.headers, that.headers);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.url, this.headers);
+		}
+
+	}
+
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * {@link Socket} adapting a {@link SocketChannel} connected to a Unix domain socket. The
+ * address given to {@link #connect(SocketAddress, int)} is ignored. Read timeouts are not
+ * enforced by the socket itself; OkHttp enforces them by closing it. The streams read
+ * and write the channel directly, without holding a monitor, so that virtual threads
+ * blocked on the socket are not pinned to their carrier thread.
+ */
+class UnixDomainSocket extends Socket {
+
+	private static final Method UNIX_DOMAIN_SOCKET_ADDRESS_OF = unixDomainSocketAddressOf();
+
+	private final String socketPath;
+
+	private volatile SocketChannel channel;
+
+	private InputStream inputStream;
+
+	private OutputStream outputStream;
+
+	private volatile boolean closed;
+
+	private boolean inputShutdown;
+
+	private boolean outputShutdown;
+
+	private int soTimeout;
+
+	UnixDomainSocket(String socketPath) {
+		this.socketPath = socketPath;
+	}
+
+	private static Method unixDomainSocketAddressOf() {
+		if (!ClassUtils.isPresent("java.net.UnixDomainSocketAddress", null)) {
+			return null;
+		}
+		try {
+			return ClassUtils.forName("java.net.UnixDomainSocketAddress", null)
+					.getMethod("of", String.class);
+		}
+		catch (ClassNotFoundException | NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	@Override
+	public void connect(SocketAddress endpoint) throws IOException {
+		connect(endpoint, 0);
+	}
+
+	@Override
+	public void connect(SocketAddress endpoint, int timeout)
+			throws IOException {
+		if (UNIX_DOMAIN_SOCKET_ADDRESS_OF == null) {
+			throw new SocketException(
+					"Unix domain sockets require Java 16 or later, cannot connect to "
+							+ this.socketPath);
+		}
+		SocketAddress address;
+		try {
+			address = (SocketAddress) UNIX_DOMAIN_SOCKET_ADDRESS_OF.invoke(null,
+					this.socketPath);
+		}
+		catch (IllegalAccessException | InvocationTargetException e) {
+			ReflectionUtils.rethrowRuntimeException(e);
+			return;
+		}
+		SocketChannel channel = SocketChannel.open(address);
+		this.inputStream = new ChannelInputStream(channel);
+		this.outputStream = new ChannelOutputStream(channel);
+		this.channel = channel;
+	}
+
+	@Override
+	public InputStream getInputStream() throws IOException {
+		if (!isConnected()) {
+			throw new SocketException("Socket is not connected");
+		}
+		return this.inputStream;
+	}
+
+	@Override
+	public OutputStream getOutputStream() throws IOException {
+		if (!isConnected()) {
+			throw new SocketException("Socket is not connected");
+		}
+		return this.outputStream;
+	}
+
+	@Override
+	public boolean isConnected() {
+		return this.channel != null;
+	}
+
+	@Override
+	public boolean isBound() {
+		return isConnected();
+	}
+
+	@Override
+	public boolean isClosed() {
+		return this.closed;
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.closed = true;
+		if (this.channel != null) {
+			this.channel.close();
+		}
+	}
+
+	@Override
+	public void shutdownInput() throws IOException {
+		this.inputShutdown = true;
+		if (this.channel != null) {
+			this.channel.shutdownInput();
+		}
+	}
+
+	@Override
+	public void shutdownOutput() throws IOException {
+		this.outputShutdown = true;
+		if (this.channel != null) {
+			this.channel.shutdownOutput();
+		}
+	}
+
+	@Override
+	public boolean isInputShutdown() {
+		return this.inputShutdown;
+	}
+
+	@Override
+	public boolean isOutputShutdown() {
+		return this.outputShutdown;
+	}
+
+	@Override
+	public void setSoTimeout(int timeout) {
+		this.soTimeout = timeout;
+	}
+
+	@Override
+	public int getSoTimeout() {
+		return this.soTimeout;
+	}
+
+	@Override
+	public void setTcpNoDelay(boolean on) {
+	}
+
+	@Override
+	public void setKeepAlive(boolean on) {
+	}
+
+	@Override
+	public String toString() {
+		return "UnixDomainSocket[" + this.socketPath + "]";
+	}
+
+	private static final class ChannelInputStream extends InputStream {
+
+		private final SocketChannel channel;
+
+		private ChannelInputStream(SocketChannel channel) {
+			this.channel = channel;
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] b = new byte[1];
+			int n = read(b, 0, 1);
+			return n > 0 ? b[0] & 0xff : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			int n;
+			do {
+				n = this.channel.read(ByteBuffer.wrap(b, off, len));
+			}
+			while (n == 0);
+			return n;
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.channel.close();
+		}
+
+	}
+
+	private static final class ChannelOutputStream extends OutputStream {
+
+		private final SocketChannel channel;
+
+		private ChannelOutputStream(SocketChannel channel) {
+			this.channel = channel;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+			while (buffer.hasRemaining()) {
+				this.channel.write(buffer);
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.channel.close();
+		}
+
+	}
+
+}
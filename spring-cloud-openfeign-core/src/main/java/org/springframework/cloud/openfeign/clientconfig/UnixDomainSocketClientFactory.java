@@ -0,0 +1,37 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import feign.Client;
+
+/**
+ * Creates {@link Client} instances that connect over a Unix domain socket instead of
+ * TCP, for the Feign clients with a {@code unix:///path/to/socket} url, typically
+ * calling a sidecar or proxy running on the same host.
+ *
+ * @since 3.0.0
+ */
+public interface UnixDomainSocketClientFactory {
+
+	/**
+	 * Returns the client connecting to the given socket, creating it on first use.
+	 * @param socketPath the path of the Unix domain socket
+	 * @return the client connecting to the socket
+	 */
+	Client create(String socketPath);
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+
+import javax.net.SocketFactory;
+
+/**
+ * {@link SocketFactory} creating sockets connected to a Unix domain socket, whatever the
+ * host and port they are asked to connect to. Requires Java 16 or later.
+ *
+ * @since 3.0.0
+ */
+public class UnixDomainSocketFactory extends SocketFactory {
+
+	private final String socketPath;
+
+	/**
+	 * @param socketPath the path of the Unix domain socket
+	 */
+	public UnixDomainSocketFactory(String socketPath) {
+		this.socketPath = socketPath;
+	}
+
+	public String getSocketPath() {
+		return this.socketPath;
+	}
+
+	@Override
+	public Socket createSocket() {
+		return new UnixDomainSocket(this.socketPath);
+	}
+
+	@Override
+	public Socket createSocket(String host, int port) throws IOException {
+		return connectedSocket();
+	}
+
+	@Override
+	public Socket createSocket(String host, int port, InetAddress localHost,
+			int localPort) throws IOException {
+		return connectedSocket();
+	}
+
+	@Override
+	public Socket createSocket(InetAddress host, int port) throws IOException {
+		return connectedSocket();
+	}
+
+	@Override
+	public Socket createSocket(InetAddress address, int port, InetAddress localAddress,
+			int localPort) throws IOException {
+		return connectedSocket();
+	}
+
+	private Socket connectedSocket() throws IOException {
+		UnixDomainSocket socket = new UnixDomainSocket(this.socketPath);
+		socket.connect(null, 0);
+		return socket;
+	}
+
+}
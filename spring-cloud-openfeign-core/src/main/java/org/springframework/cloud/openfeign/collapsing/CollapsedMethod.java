@@ -0,0 +1,237 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.collapsing;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.cloud.openfeign.CollapseInto;
+import org.springframework.util.StringUtils;
+
+/**
+ * Collects the concurrent calls to a Feign client method annotated with
+ * {@link CollapseInto} into batches, and sends each batch through the batch method.
+ *
+ * @since 3.0.0
+ */
+class CollapsedMethod {
+
+	private final Object client;
+
+	private final String name;
+
+	private final Method batchMethod;
+
+	private final boolean batchOfSet;
+
+	private final String resultKey;
+
+	private final long window;
+
+	private final int maxBatchSize;
+
+	private final long timeout;
+
+	private final Executor executor;
+
+	private final ScheduledExecutorService scheduler;
+
+	private Map<Object, List<CompletableFuture<Object>>> batch = new LinkedHashMap<>();
+
+	private ScheduledFuture<?> scheduledBatch;
+
+	CollapsedMethod(Object client, Method method, CollapseInto collapseInto,
+			Executor executor, ScheduledExecutorService scheduler) {
+		this.client = client;
+		this.name = method.getDeclaringClass().getSimpleName() + "#" + method.getName();
+		this.batchMethod = findBatchMethod(method, collapseInto);
+		this.batchOfSet = !this.batchMethod.getParameterTypes()[0]
+				.isAssignableFrom(ArrayList.class);
+		this.resultKey = collapseInto.resultKey();
+		this.window = collapseInto.window();
+		this.maxBatchSize = collapseInto.maxBatchSize();
+		this.timeout = collapseInto.timeout();
+		this.executor = executor;
+		this.scheduler = scheduler;
+	}
+
+	private static Method findBatchMethod(Method method, CollapseInto collapseInto) {
+		String name = method.getDeclaringClass().getSimpleName() + "#"
+				+ method.getName();
+		if (method.getParameterCount() != 1 || method.getReturnType() == void.class) {
+			throw new IllegalStateException("Method " + name
+					+ " must take a single key and return a value to be collapsed");
+		}
+		if (collapseInto.maxBatchSize() < 1 || collapseInto.window() < 0) {
+			throw new IllegalStateException("Method " + name
+					+ " must have a positive max batch size and window");
+		}
+		if (collapseInto.timeout() < 1) {
+			throw new IllegalStateException(
+					"Method " + name + " must have a positive timeout");
+		}
+		Method batchMethod = null;
+		for (Method candidate : method.getDeclaringClass().getMethods()) {
+			if (candidate.getName().equals(collapseInto.value())
+					&& candidate.getParameterCount() == 1) {
+				batchMethod = candidate;
+			}
+		}
+		if (batchMethod == null) {
+			throw new IllegalStateException("No batch method " + collapseInto.value()
+					+ " taking a single collection of keys found for method " + name);
+		}
+		Class<?> keysType = batchMethod.getParameterTypes()[0];
+		if (!keysType.isAssignableFrom(ArrayList.class)
+				&& !keysType.isAssignableFrom(LinkedHashSet.class)) {
+			throw new IllegalStateException("Batch method " + collapseInto.value()
+					+ " must take a List, a Set or a Collection of keys");
+		}
+		Class<?> resultType = batchMethod.getReturnType();
+		if (!Map.class.isAssignableFrom(resultType)
+				&& !(Collection.class.isAssignableFrom(resultType)
+						&& StringUtils.hasText(collapseInto.resultKey()))) {
+			throw new IllegalStateException("Batch method " + collapseInto.value()
+					+ " must return a Map, or a Collection with a result key set on "
+					+ name);
+		}
+		return batchMethod;
+	}
+
+	Object invoke(Object key) throws Throwable {
+		CompletableFuture<Object> result = new CompletableFuture<>();
+		Map<Object, List<CompletableFuture<Object>>> fullBatch = null;
+		synchronized (this) {
+			this.batch.computeIfAbsent(key, k -> new ArrayList<>()).add(result);
+			if (this.batch.size() >= this.maxBatchSize) {
+				if (this.scheduledBatch != null) {
+					this.scheduledBatch.cancel(false);
+				}
+				fullBatch = takeBatch();
+			}
+			else if (this.scheduledBatch == null) {
+				this.scheduledBatch = this.scheduler.schedule(this::sendScheduledBatch,
+						this.window, TimeUnit.MILLISECONDS);
+			}
+		}
+		if (fullBatch != null) {
+			send(fullBatch);
+		}
+		try {
+			return result.get(this.timeout, TimeUnit.MILLISECONDS);
+		}
+		catch (ExecutionException e) {
+			throw e.getCause();
+		}
+		catch (TimeoutException e) {
+			throw new IllegalStateException("Call to " + this.name + " timed out after "
+					+ this.timeout + " ms waiting for its batch", e);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(
+					"Interrupted while waiting for the batch of " + this.name, e);
+		}
+	}
+
+	private Map<Object, List<CompletableFuture<Object>>> takeBatch() {
+		Map<Object, List<CompletableFuture<Object>>> batch = this.batch;
+		this.batch = new LinkedHashMap<>();
+		this.scheduledBatch = null;
+		return batch;
+	}
+
+	private void sendScheduledBatch() {
+		Map<Object, List<CompletableFuture<Object>>> batch;
+		synchronized (this) {
+			if (this.batch.isEmpty()) {
+				return;
+			}
+			batch = takeBatch();
+		}
+		try {
+			this.executor.execute(() -> send(batch));
+		}
+		catch (RuntimeException e) {
+			complete(batch, e);
+		}
+	}
+
+	private void send(Map<Object, List<CompletableFuture<Object>>> batch) {
+		Collection<Object> keys = this.batchOfSet
+				? new LinkedHashSet<>(batch.keySet()) : new ArrayList<>(batch.keySet());
+		Map<?, ?> results;
+		try {
+			results = index(this.batchMethod.invoke(this.client, keys));
+		}
+		catch (InvocationTargetException e) {
+			complete(batch, e.getCause());
+			return;
+		}
+		catch (Throwable e) {
+			complete(batch, e);
+			return;
+		}
+		batch.forEach((key, futures) -> futures
+				.forEach(future -> future.complete(results.get(key))));
+	}
+
+	private Map<?, ?> index(Object results) {
+		if (results instanceof Map) {
+			return (Map<?, ?>) results;
+		}
+		Map<Object, Object> index = new HashMap<>();
+		if (results != null) {
+			for (Object item : (Collection<?>) results) {
+				if (item != null) {
+					index.put(key(item), item);
+				}
+			}
+		}
+		return index;
+	}
+
+	private Object key(Object item) {
+		if (item instanceof Map) {
+			return ((Map<?, ?>) item).get(this.resultKey);
+		}
+		return PropertyAccessorFactory.forBeanPropertyAccess(item)
+				.getPropertyValue(this.resultKey);
+	}
+
+	private static void complete(Map<Object, List<CompletableFuture<Object>>> batch,
+			Throwable error) {
+		batch.values().forEach(
+				futures -> futures.forEach(future -> future.completeExceptionally(error)));
+	}
+
+}
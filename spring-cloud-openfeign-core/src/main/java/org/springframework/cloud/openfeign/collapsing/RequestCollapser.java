@@ -0,0 +1,149 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.collapsing;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.openfeign.CollapseInto;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Collapses the calls to the Feign client methods annotated with {@link CollapseInto}
+ * into calls to their batch methods. The batches whose window expires are sent on the
+ * executor, while a batch reaching its maximum size is sent on the thread of the call
+ * completing it. The thread expiring the batch windows, and the threads of the executor
+ * if the collapser creates its own, are only started for the first Feign client with a
+ * method annotated with {@link CollapseInto}.
+ *
+ * @since 3.0.0
+ */
+public class RequestCollapser implements DisposableBean {
+
+	private final Executor executor;
+
+	private volatile ScheduledExecutorService scheduler;
+
+	private volatile ExecutorService batchExecutor;
+
+	private boolean destroyed;
+
+	/**
+	 * Creates a collapser sending the batches whose window expires on its own threads, a
+	 * new one being started when all of them are sending a batch. As each batch has at
+	 * least one caller waiting for it, there are never more of these threads than
+	 * callers.
+	 */
+	public RequestCollapser() {
+		this.executor = null;
+	}
+
+	/**
+	 * @param executor the executor sending the batches whose window expires, which must
+	 * not queue them behind tasks calling collapsed methods, as these tasks would then
+	 * wait for batches that cannot be sent
+	 */
+	public RequestCollapser(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * @param type the type of the Feign client
+	 * @param client the Feign client
+	 * @param <T> the type of the Feign client
+	 * @return a proxy collapsing the calls to the methods of the Feign client annotated
+	 * with {@link CollapseInto}, or the Feign client itself if it has no such method
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T collapse(Class<T> type, T client) {
+		Map<Method, CollapseInto> annotations = new HashMap<>();
+		for (Method method : type.getMethods()) {
+			CollapseInto collapseInto = AnnotatedElementUtils
+					.findMergedAnnotation(method, CollapseInto.class);
+			if (collapseInto != null) {
+				annotations.put(method, collapseInto);
+			}
+		}
+		if (annotations.isEmpty()) {
+			return client;
+		}
+		ScheduledExecutorService scheduler = getScheduler();
+		Executor executor = this.executor != null ? this.executor : this.batchExecutor;
+		Map<Method, CollapsedMethod> collapsedMethods = new HashMap<>();
+		annotations.forEach((method, collapseInto) -> collapsedMethods.put(method,
+				new CollapsedMethod(client, method, collapseInto, executor, scheduler)));
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+				new CollapsingInvocationHandler(client, collapsedMethods));
+	}
+
+	/**
+	 * @return whether the scheduler expiring the batch windows has been created, which
+	 * only happens for the first Feign client with a method annotated with
+	 * {@link CollapseInto}
+	 */
+	boolean isSchedulerCreated() {
+		return this.scheduler != null;
+	}
+
+	private ScheduledExecutorService getScheduler() {
+		ScheduledExecutorService scheduler = this.scheduler;
+		if (scheduler == null) {
+			synchronized (this) {
+				Assert.state(!this.destroyed, "The request collapser has been shut down");
+				scheduler = this.scheduler;
+				if (scheduler == null) {
+					if (this.executor == null) {
+						this.batchExecutor = Executors.newCachedThreadPool(
+								threadFactory("feign-collapser-batch-"));
+					}
+					scheduler = Executors.newSingleThreadScheduledExecutor(
+							threadFactory("feign-collapser-"));
+					this.scheduler = scheduler;
+				}
+			}
+		}
+		return scheduler;
+	}
+
+	private static CustomizableThreadFactory threadFactory(String threadNamePrefix) {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				threadNamePrefix);
+		threadFactory.setDaemon(true);
+		return threadFactory;
+	}
+
+	@Override
+	public synchronized void destroy() {
+		this.destroyed = true;
+		if (this.scheduler != null) {
+			this.scheduler.shutdownNow();
+		}
+		if (this.batchExecutor != null) {
+			this.batchExecutor.shutdownNow();
+		}
+	}
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.hc5;
+
+import java.io.IOException;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+
+import static org.springframework.cloud.openfeign.hc5.Http5Support.copyHeaders;
+import static org.springframework.cloud.openfeign.hc5.Http5Support.toContentType;
+import static org.springframework.cloud.openfeign.hc5.Http5Support.toFeignHeaders;
+import static org.springframework.cloud.openfeign.hc5.Http5Support.toRequestConfig;
+import static org.springframework.cloud.openfeign.hc5.Http5Support.toUri;
+
+/**
+ * A {@link Client} implementation that uses the classic (blocking) API of Apache
+ * HttpClient 5. The response body is streamed from the connection, which is released
+ * back to the pool once the body is closed.
+ *
+ * @since 3.0.0
+ */
+public final class ApacheHttp5Client implements Client {
+
+	private final HttpClient client;
+
+	public ApacheHttp5Client(HttpClient client) {
+		this.client = client;
+	}
+
+	@Override
+	public Response execute(Request request, Request.Options options) throws IOException {
+		HttpUriRequestBase httpRequest = new HttpUriRequestBase(
+				request.httpMethod().name(), toUri(request));
+		httpRequest.setConfig(toRequestConfig(this.client, options));
+		copyHeaders(request, httpRequest);
+		if (request.body() != null) {
+			httpRequest.setEntity(
+					new ByteArrayEntity(request.body(), toContentType(request)));
+		}
+		ClassicHttpResponse httpResponse = (ClassicHttpResponse) this.client
+				.execute(httpRequest);
+		return toFeignResponse(httpResponse, request);
+	}
+
+	private Response toFeignResponse(ClassicHttpResponse httpResponse, Request request)
+			throws IOException {
+		Response.Builder builder = Response.builder().status(httpResponse.getCode())
+				.reason(httpResponse.getReasonPhrase())
+				.headers(toFeignHeaders(httpResponse.getHeaders())).request(request);
+		HttpEntity entity = httpResponse.getEntity();
+		if (entity == null) {
+			httpResponse.close();
+			return builder.build();
+		}
+		long length = entity.getContentLength();
+		return builder.body(entity.getContent(),
+				length >= 0 && length <= Integer.MAX_VALUE ? (int) length : null)
+				.build();
+	}
+
+}
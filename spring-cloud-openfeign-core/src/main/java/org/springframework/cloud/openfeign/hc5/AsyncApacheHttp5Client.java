@@ -0,0 +1,110 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.hc5;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+import feign.AsyncClient;
+import feign.Request;
+import feign.Response;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.protocol.HttpContext;
+
+import static org.springframework.cloud.openfeign.hc5.Http5Support.copyHeaders;
+import static org.springframework.cloud.openfeign.hc5.Http5Support.toContentType;
+import static org.springframework.cloud.openfeign.hc5.Http5Support.toFeignHeaders;
+import static org.springframework.cloud.openfeign.hc5.Http5Support.toRequestConfig;
+import static org.springframework.cloud.openfeign.hc5.Http5Support.toUri;
+
+/**
+ * An {@link AsyncClient} implementation that executes requests on the I/O reactor of an
+ * Apache HttpClient 5 {@link CloseableHttpAsyncClient}, so no thread is blocked while
+ * waiting for the response. Depending on the version policy of the client, requests are
+ * sent over HTTP/1.1 or multiplexed over HTTP/2. An {@link HttpContext} passed as the
+ * request context is used for the exchange.
+ *
+ * @since 3.0.0
+ */
+public final class AsyncApacheHttp5Client implements AsyncClient<Object> {
+
+	private final CloseableHttpAsyncClient client;
+
+	public AsyncApacheHttp5Client(CloseableHttpAsyncClient client) {
+		this.client = client;
+	}
+
+	@Override
+	public CompletableFuture<Response> execute(Request request, Request.Options options,
+			Optional<Object> requestContext) {
+		SimpleHttpRequest httpRequest;
+		try {
+			httpRequest = new SimpleHttpRequest(request.httpMethod().name(),
+					toUri(request));
+		}
+		catch (IOException ex) {
+			CompletableFuture<Response> failed = new CompletableFuture<>();
+			failed.completeExceptionally(ex);
+			return failed;
+		}
+		httpRequest.setConfig(toRequestConfig(this.client, options));
+		copyHeaders(request, httpRequest);
+		if (request.body() != null) {
+			httpRequest.setBody(request.body(), toContentType(request));
+		}
+		HttpContext context = requestContext.filter(HttpContext.class::isInstance)
+				.map(HttpContext.class::cast).orElseGet(HttpClientContext::create);
+		CompletableFuture<Response> result = new CompletableFuture<>();
+		Future<SimpleHttpResponse> exchange = this.client.execute(httpRequest, context,
+				new FutureCallback<SimpleHttpResponse>() {
+					@Override
+					public void completed(SimpleHttpResponse httpResponse) {
+						result.complete(toFeignResponse(httpResponse, request));
+					}
+
+					@Override
+					public void failed(Exception ex) {
+						result.completeExceptionally(ex);
+					}
+
+					@Override
+					public void cancelled() {
+						result.cancel(false);
+					}
+				});
+		result.whenComplete((response, ex) -> {
+			if (result.isCancelled()) {
+				exchange.cancel(true);
+			}
+		});
+		return result;
+	}
+
+	private Response toFeignResponse(SimpleHttpResponse httpResponse, Request request) {
+		return Response.builder().status(httpResponse.getCode())
+				.reason(httpResponse.getReasonPhrase())
+				.headers(toFeignHeaders(httpResponse.getHeaders())).request(request)
+				.body(httpResponse.getBodyBytes()).build();
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.hc5;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import feign.Request;
+import feign.Util;
+import org.apache.hc.client5.http.config.Configurable;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpRequest;
+
+/**
+ * Conversions between Feign requests and responses and their Apache HttpClient 5
+ * counterparts, shared by the classic and the async client.
+ *
+ * @since 3.0.0
+ */
+final class Http5Support {
+
+	private Http5Support() {
+		throw new IllegalStateException("Can't instantiate a utility class");
+	}
+
+	static URI toUri(Request request) throws IOException {
+		try {
+			return new URI(request.url());
+		}
+		catch (URISyntaxException ex) {
+			throw new IOException(
+					"URL '" + request.url() + "' couldn't be parsed into a URI", ex);
+		}
+	}
+
+	static RequestConfig toRequestConfig(Object client, Request.Options options) {
+		RequestConfig.Builder builder = RequestConfig.custom();
+		if (client instanceof Configurable
+				&& ((Configurable) client).getConfig() != null) {
+			builder = RequestConfig.copy(((Configurable) client).getConfig());
+		}
+		return builder.setConnectTimeout(options.connectTimeoutMillis(),
+				TimeUnit.MILLISECONDS)
+				.setResponseTimeout(options.readTimeoutMillis(), TimeUnit.MILLISECONDS)
+				.setRedirectsEnabled(options.isFollowRedirects()).build();
+	}
+
+	static void copyHeaders(Request request, HttpRequest httpRequest) {
+		boolean hasAcceptHeader = false;
+		for (Map.Entry<String, Collection<String>> header : request.headers()
+				.entrySet()) {
+			String name = header.getKey();
+			if (name.equalsIgnoreCase(HttpHeaders.ACCEPT)) {
+				hasAcceptHeader = true;
+			}
+			// the entity sets the body length and encoding
+			if (name.equalsIgnoreCase(Util.CONTENT_LENGTH)
+					|| name.equalsIgnoreCase(HttpHeaders.TRANSFER_ENCODING)) {
+				continue;
+			}
+			for (String value : header.getValue()) {
+				httpRequest.addHeader(name, value);
+			}
+		}
+		if (!hasAcceptHeader) {
+			httpRequest.addHeader(HttpHeaders.ACCEPT, "*/*");
+		}
+	}
+
+	static ContentType toContentType(Request request) {
+		for (Map.Entry<String, Collection<String>> header : request.headers()
+				.entrySet()) {
+			if (header.getKey().equalsIgnoreCase(HttpHeaders.CONTENT_TYPE)
+					&& !header.getValue().isEmpty()) {
+				ContentType contentType = ContentType
+						.parse(header.getValue().iterator().next());
+				if (contentType.getCharset() == null && request.charset() != null) {
+					contentType = contentType.withCharset(request.charset());
+				}
+				return contentType;
+			}
+		}
+		return null;
+	}
+
+	static Map<String, Collection<String>> toFeignHeaders(Header[] headers) {
+		Map<String, Collection<String>> feignHeaders = new LinkedHashMap<>();
+		for (Header header : headers) {
+			feignHeaders.computeIfAbsent(header.getName(), name -> new ArrayList<>())
+					.add(header.getValue());
+		}
+		return feignHeaders;
+	}
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.loadbalancer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+/**
+ * An immutable consistent-hash ring of {@link ServiceInstance}s. Each instance is
+ * placed on the ring at a number of virtual node positions derived from its host and
+ * port, so adding or removing an instance only remaps the keys adjacent to its own
+ * positions.
+ *
+ * @since 3.0.0
+ */
+final class ConsistentHashRing {
+
+	static final int DEFAULT_VIRTUAL_NODES = 160;
+
+	private final List<String> nodeIds;
+
+	private final int[] points;
+
+	private final ServiceInstance[] owners;
+
+	ConsistentHashRing(List<ServiceInstance> instances) {
+		this(instances, DEFAULT_VIRTUAL_NODES);
+	}
+
+	ConsistentHashRing(List<ServiceInstance> instances, int virtualNodes) {
+		List<String> nodeIds = new ArrayList<>(instances.size());
+		long[] entries = new long[instances.size() * virtualNodes];
+		int index = 0;
+		for (int i = 0; i < instances.size(); i++) {
+			String nodeId = nodeId(instances.get(i));
+			nodeIds.add(nodeId);
+			for (int replica = 0; replica < virtualNodes; replica++) {
+				int point = hash(nodeId + '#' + replica);
+				// sort on the point, keep the owner index in the low bits
+				entries[index++] = ((long) point << 32) | i;
+			}
+		}
+		Arrays.sort(entries);
+		this.points = new int[entries.length];
+		this.owners = new ServiceInstance[entries.length];
+		for (int i = 0; i < entries.length; i++) {
+			this.points[i] = (int) (entries[i] >> 32);
+			this.owners[i] = instances.get((int) entries[i]);
+		}
+		Collections.sort(nodeIds);
+		this.nodeIds = nodeIds;
+	}
+
+	/**
+	 * @param instances the instances currently available for the service
+	 * @return whether this ring was built from the same set of instances
+	 */
+	boolean hasSameNodes(List<ServiceInstance> instances) {
+		if (instances.size() != this.nodeIds.size()) {
+			return false;
+		}
+		for (ServiceInstance instance : instances) {
+			if (Collections.binarySearch(this.nodeIds, nodeId(instance)) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param key the routing key
+	 * @return the instance owning the first ring position at or after the hash of the
+	 * key, or {@code null} if the ring is empty
+	 */
+	ServiceInstance select(String key) {
+		if (this.points.length == 0) {
+			return null;
+		}
+		int index = Arrays.binarySearch(this.points, hash(key));
+		if (index < 0) {
+			index = -index - 1;
+		}
+		if (index >= this.points.length) {
+			index = 0;
+		}
+		return this.owners[index];
+	}
+
+	private static String nodeId(ServiceInstance instance) {
+		return instance.getHost() + ':' + instance.getPort();
+	}
+
+	/**
+	 * FNV-1a over the characters of the value, followed by the MurmurHash3 finalizer to
+	 * spread consecutive inputs evenly across the ring.
+	 */
+	static int hash(String value) {
+		int hash = 0x811c9dc5;
+		for (int i = 0; i < value.length(); i++) {
+			hash ^= value.charAt(i);
+			hash *= 0x01000193;
+		}
+		hash ^= hash >>> 16;
+		hash *= 0x85ebca6b;
+		hash ^= hash >>> 13;
+		hash *= 0xc2b2ae35;
+		hash ^= hash >>> 16;
+		return hash;
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.loadbalancer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+
+/**
+ * Selects a {@link ServiceInstance} for a routing key using a consistent-hash ring built
+ * from the instances supplied by the service's {@link ServiceInstanceListSupplier}. A
+ * ring is kept per service and only rebuilt when the set of instances changes. If a
+ * {@link ServiceInstanceSnapshotCache} is available, the ring of the cached snapshot is
+ * used instead.
+ *
+ * @since 3.0.0
+ * @see org.springframework.cloud.openfeign.RoutingKey
+ */
+public class ConsistentHashServiceInstanceChooser {
+
+	private final LoadBalancerClientFactory loadBalancerClientFactory;
+
+	private final ServiceInstanceSnapshotCache instanceCache;
+
+	private final Map<String, ConsistentHashRing> rings = new ConcurrentHashMap<>();
+
+	public ConsistentHashServiceInstanceChooser(
+			LoadBalancerClientFactory loadBalancerClientFactory) {
+		this(loadBalancerClientFactory, null);
+	}
+
+	public ConsistentHashServiceInstanceChooser(
+			LoadBalancerClientFactory loadBalancerClientFactory,
+			ServiceInstanceSnapshotCache instanceCache) {
+		this.loadBalancerClientFactory = loadBalancerClientFactory;
+		this.instanceCache = instanceCache;
+	}
+
+	/**
+	 * @param serviceId the id of the service to choose an instance of
+	 * @param routingKey the routing key of the request
+	 * @return the instance owning the routing key, or {@code null} if the service has no
+	 * available instances
+	 */
+	public ServiceInstance choose(String serviceId, String routingKey) {
+		return chooseReactively(serviceId, routingKey).block();
+	}
+
+	/**
+	 * Non-blocking variant of {@link #choose(String, String)}.
+	 * @param serviceId the id of the service to choose an instance of
+	 * @param routingKey the routing key of the request
+	 * @return a {@link Mono} emitting the instance owning the routing key, or completing
+	 * empty if the service has no available instances
+	 */
+	public Mono<ServiceInstance> chooseReactively(String serviceId, String routingKey) {
+		ServiceInstanceSnapshot snapshot = instanceCache != null
+				? instanceCache.getSnapshot(serviceId) : null;
+		if (snapshot != null) {
+			return Mono.justOrEmpty(snapshot.getRing().select(routingKey));
+		}
+		return getInstances(serviceId).flatMap(
+				instances -> Mono.justOrEmpty(select(serviceId, routingKey, instances)));
+	}
+
+	protected Mono<List<ServiceInstance>> getInstances(String serviceId) {
+		ServiceInstanceListSupplier supplier = this.loadBalancerClientFactory
+				.getInstance(serviceId, ServiceInstanceListSupplier.class);
+		if (supplier == null) {
+			return Mono.empty();
+		}
+		return supplier.get().next();
+	}
+
+	private ServiceInstance select(String serviceId, String routingKey,
+			List<ServiceInstance> instances) {
+		ConsistentHashRing ring = this.rings.get(serviceId);
+		if (ring == null || !ring.hasSameNodes(instances)) {
+			ring = new ConsistentHashRing(instances);
+			this.rings.put(serviceId, ring);
+		}
+		return ring.select(routingKey);
+	}
+
+}
@@ -18,7 +18,6 @@ package org.springframework.cloud.openfeign.loadbalancer;
 
 import java.io.IOException;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
 
 import feign.Client;
 import feign.Request;
@@ -28,12 +27,21 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
-import org.springframework.http.HttpStatus;
-import org.springframework.util.Assert;
+import org.springframework.cloud.openfeign.RoutingKey;
+
+import static org.springframework.cloud.openfeign.loadbalancer.LoadBalancerUtils.buildRequest;
+import static org.springframework.cloud.openfeign.loadbalancer.LoadBalancerUtils.getRoutingKey;
+import static org.springframework.cloud.openfeign.loadbalancer.LoadBalancerUtils.getServiceId;
+import static org.springframework.cloud.openfeign.loadbalancer.LoadBalancerUtils.serviceUnavailable;
 
 /**
  * A {@link Client} implementation that uses {@link LoadBalancerClient} to select a
- * {@link ServiceInstance} to use while resolving the request host.
+ * {@link ServiceInstance} to use while resolving the request host. Requests carrying a
+ * {@link RoutingKey} are routed through the {@link ConsistentHashServiceInstanceChooser}
+ * instead, if one is available. If a {@link ServiceInstanceSnapshotCache} is available,
+ * instances are selected round-robin from its snapshots once the service is cached.
+ * The outcome of every selection is reported to the {@link LoadBalancerMetricsRecorder},
+ * if one is available.
  *
  * @author Olga Maciaszek-Sharma
  * @since 2.2.0
@@ -47,40 +55,88 @@ public class FeignBlockingLoadBalancerClient implements Client {
 
 	private final LoadBalancerClient loadBalancerClient;
 
+	private final ConsistentHashServiceInstanceChooser consistentHashChooser;
+
+	private final ServiceInstanceSnapshotCache instanceCache;
+
+	private final LoadBalancerMetricsRecorder metricsRecorder;
+
 	public FeignBlockingLoadBalancerClient(Client delegate,
 			LoadBalancerClient loadBalancerClient) {
+		this(delegate, loadBalancerClient, null);
+	}
+
+	public FeignBlockingLoadBalancerClient(Client delegate,
+			LoadBalancerClient loadBalancerClient,
+			ConsistentHashServiceInstanceChooser consistentHashChooser) {
+		this(delegate, loadBalancerClient, consistentHashChooser, null);
+	}
+
+	public FeignBlockingLoadBalancerClient(Client delegate,
+			LoadBalancerClient loadBalancerClient,
+			ConsistentHashServiceInstanceChooser consistentHashChooser,
+			ServiceInstanceSnapshotCache instanceCache) {
+		this(delegate, loadBalancerClient, consistentHashChooser, instanceCache, null);
+	}
+
+	public FeignBlockingLoadBalancerClient(Client delegate,
+			LoadBalancerClient loadBalancerClient,
+			ConsistentHashServiceInstanceChooser consistentHashChooser,
+			ServiceInstanceSnapshotCache instanceCache,
+			LoadBalancerMetricsRecorder metricsRecorder) {
 		this.delegate = delegate;
 		this.loadBalancerClient = loadBalancerClient;
+		this.consistentHashChooser = consistentHashChooser;
+		this.instanceCache = instanceCache;
+		this.metricsRecorder = metricsRecorder;
 	}
 
 	@Override
 	public Response execute(Request request, Request.Options options) throws IOException {
 		final URI originalUri = URI.create(request.url());
-		String serviceId = originalUri.getHost();
-		Assert.state(serviceId != null,
-				"Request URI does not contain a valid hostname: " + originalUri);
-		ServiceInstance instance = loadBalancerClient.choose(serviceId);
+		String serviceId = getServiceId(originalUri);
+		String routingKey = getRoutingKey(request);
+		long chooseStart = System.nanoTime();
+		ServiceInstance instance = choose(serviceId, routingKey);
+		if (metricsRecorder != null) {
+			metricsRecorder.recordChoice(serviceId, instance,
+					System.nanoTime() - chooseStart);
+		}
 		if (instance == null) {
-			String message = "Load balancer does not contain an instance for the service "
-					+ serviceId;
-			if (LOG.isWarnEnabled()) {
-				LOG.warn(message);
-			}
-			return Response.builder().request(request)
-					.status(HttpStatus.SERVICE_UNAVAILABLE.value())
-					.body(message, StandardCharsets.UTF_8).build();
+			return serviceUnavailable(request, serviceId, LOG);
 		}
 		String reconstructedUrl = loadBalancerClient.reconstructURI(instance, originalUri)
 				.toString();
-		Request newRequest = Request.create(request.httpMethod(), reconstructedUrl,
-				request.headers(), request.body(), request.charset(),
-				request.requestTemplate());
+		Request newRequest = buildRequest(request, reconstructedUrl, routingKey);
 		return delegate.execute(newRequest, options);
 	}
 
+	private ServiceInstance choose(String serviceId, String routingKey) {
+		if (routingKey != null && consistentHashChooser != null) {
+			return consistentHashChooser.choose(serviceId, routingKey);
+		}
+		if (instanceCache != null) {
+			ServiceInstanceSnapshot snapshot = instanceCache.getSnapshot(serviceId);
+			if (snapshot != null) {
+				return snapshot.next();
+			}
+		}
+		return loadBalancerClient.choose(serviceId);
+	}
+
 	// Visible for Sleuth instrumentation
 	public Client getDelegate() {
 		return delegate;
 	}
 
+	/**
+	 * @param delegate the client to execute the load-balanced requests with
+	 * @return a load-balanced client that selects instances like this one, but uses the
+	 * given delegate
+	 */
+	public FeignBlockingLoadBalancerClient withDelegate(Client delegate) {
+		return new FeignBlockingLoadBalancerClient(delegate, loadBalancerClient,
+				consistentHashChooser, instanceCache, metricsRecorder);
+	}
+
 }
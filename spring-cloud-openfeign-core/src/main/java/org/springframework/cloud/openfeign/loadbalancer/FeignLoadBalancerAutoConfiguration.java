@@ -18,20 +18,29 @@ package org.springframework.cloud.openfeign.loadbalancer;
 
 import feign.Client;
 import feign.Feign;
+import io.micrometer.core.instrument.MeterRegistry;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
 import org.springframework.cloud.openfeign.FeignAutoConfiguration;
 import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
 /**
  * An autoconfiguration that instantiates {@link LoadBalancerClient}-based implementations
- * of {@link Client}.
+ * of {@link Client} and {@link ReactiveLoadBalancer}-based implementations of
+ * {@link feign.AsyncClient}.
  *
  * @author Olga Maciaszek-Sharma
  * @since 2.2.0
@@ -39,14 +48,74 @@ import org.springframework.context.annotation.Import;
 @ConditionalOnClass(Feign.class)
 @ConditionalOnBean(LoadBalancerClient.class)
 @AutoConfigureBefore(FeignAutoConfiguration.class)
-@EnableConfigurationProperties(FeignHttpClientProperties.class)
+@AutoConfigureAfter(name = {
+		"org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration",
+		"org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration" })
+@EnableConfigurationProperties({ FeignHttpClientProperties.class,
+		FeignLoadBalancerProperties.class })
 @Configuration(proxyBeanMethods = false)
 // Order is important here, last should be the default, first should be optional
 // see
 // https://github.com/spring-cloud/spring-cloud-netflix/issues/2086#issuecomment-316281653
 @Import({ HttpClientFeignLoadBalancerConfiguration.class,
 		OkHttpFeignLoadBalancerConfiguration.class,
+		Http2ClientFeignLoadBalancerConfiguration.class,
+		HttpClient5FeignLoadBalancerConfiguration.class,
+		ReactorNettyFeignLoadBalancerConfiguration.class,
 		DefaultFeignLoadBalancerConfiguration.class })
 public class FeignLoadBalancerAutoConfiguration {
 
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(LoadBalancerClientFactory.class)
+	@ConditionalOnBean(LoadBalancerClientFactory.class)
+	protected static class ConsistentHashLoadBalancerConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public ConsistentHashServiceInstanceChooser consistentHashServiceInstanceChooser(
+				LoadBalancerClientFactory loadBalancerClientFactory,
+				ObjectProvider<ServiceInstanceSnapshotCache> instanceCache) {
+			return new ConsistentHashServiceInstanceChooser(loadBalancerClientFactory,
+					instanceCache.getIfAvailable());
+		}
+
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(LoadBalancerClientFactory.class)
+	@ConditionalOnBean(LoadBalancerClientFactory.class)
+	@ConditionalOnProperty("feign.loadbalancer.instance-cache.enabled")
+	protected static class ServiceInstanceSnapshotCacheConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public ServiceInstanceSnapshotCache serviceInstanceSnapshotCache(
+				LoadBalancerClientFactory loadBalancerClientFactory,
+				FeignLoadBalancerProperties properties) {
+			FeignLoadBalancerProperties.InstanceCache instanceCache = properties
+					.getInstanceCache();
+			return new ServiceInstanceSnapshotCache(loadBalancerClientFactory,
+					instanceCache.getRefreshInterval(),
+					instanceCache.getWeightMetadataKey());
+		}
+
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(MeterRegistry.class)
+	@ConditionalOnBean(MeterRegistry.class)
+	@ConditionalOnProperty(value = "feign.loadbalancer.metrics.enabled",
+			matchIfMissing = true)
+	protected static class LoadBalancerMetricsConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public LoadBalancerMetricsRecorder loadBalancerMetricsRecorder(
+				MeterRegistry meterRegistry, FeignLoadBalancerProperties properties) {
+			return new MicrometerLoadBalancerMetricsRecorder(meterRegistry,
+					properties.getMetrics().isInstanceTag());
+		}
+
+	}
+
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.loadbalancer;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Properties of the load-balanced Feign clients.
+ *
+ * @since 3.0.0
+ */
+@ConfigurationProperties("feign.loadbalancer")
+public class FeignLoadBalancerProperties {
+
+	private InstanceCache instanceCache = new InstanceCache();
+
+	private Metrics metrics = new Metrics();
+
+	public InstanceCache getInstanceCache() {
+		return this.instanceCache;
+	}
+
+	public void setInstanceCache(InstanceCache instanceCache) {
+		this.instanceCache = instanceCache;
+	}
+
+	public Metrics getMetrics() {
+		return this.metrics;
+	}
+
+	public void setMetrics(Metrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Per-service cache of instance snapshots.
+	 */
+	public static class InstanceCache {
+
+		/**
+		 * Enables selecting instances from snapshots refreshed in the background instead
+		 * of calling the load balancer on every request.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Interval between two refreshes of the cached instances of a service. Must be at
+		 * least 1 ms.
+		 */
+		private Duration refreshInterval = Duration.ofSeconds(5);
+
+		/**
+		 * Service instance metadata key holding the integer weight of an instance, for
+		 * example its number of CPU cores. Instances are selected in proportion to their
+		 * weight, instances without a valid weight count as 1. If not set, all instances
+		 * are selected equally.
+		 */
+		private String weightMetadataKey;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public Duration getRefreshInterval() {
+			return this.refreshInterval;
+		}
+
+		public void setRefreshInterval(Duration refreshInterval) {
+			this.refreshInterval = refreshInterval;
+		}
+
+		public String getWeightMetadataKey() {
+			return this.weightMetadataKey;
+		}
+
+		public void setWeightMetadataKey(String weightMetadataKey) {
+			this.weightMetadataKey = weightMetadataKey;
+		}
+
+	}
+
+	/**
+	 * Load-balancer metrics published to Micrometer.
+	 */
+	public static class Metrics {
+
+		/**
+		 * Enables the load-balancer metrics.
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * Tags the requests counter with the id of the selected instance. Each instance
+		 * ever selected then keeps its own meter, so only enable it for services with a
+		 * stable set of instances.
+		 */
+		private boolean instanceTag;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public boolean isInstanceTag() {
+			return this.instanceTag;
+		}
+
+		public void setInstanceTag(boolean instanceTag) {
+			this.instanceTag = instanceTag;
+		}
+
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.loadbalancer;
+
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import feign.AsyncClient;
+import feign.Request;
+import feign.Response;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.openfeign.RoutingKey;
+
+import static org.springframework.cloud.openfeign.loadbalancer.LoadBalancerUtils.buildRequest;
+import static org.springframework.cloud.openfeign.loadbalancer.LoadBalancerUtils.getRoutingKey;
+import static org.springframework.cloud.openfeign.loadbalancer.LoadBalancerUtils.getServiceId;
+import static org.springframework.cloud.openfeign.loadbalancer.LoadBalancerUtils.serviceUnavailable;
+
+/**
+ * An {@link AsyncClient} implementation that uses {@link ReactiveLoadBalancer} to select
+ * a {@link ServiceInstance} to use while resolving the request host. No thread is
+ * blocked while the instance is being selected; the request is handed to the delegate
+ * once the load balancer has emitted its response. Requests carrying a
+ * {@link RoutingKey} are routed through the {@link ConsistentHashServiceInstanceChooser},
+ * if one is available. If a {@link ServiceInstanceSnapshotCache} is available, instances
+ * are selected round-robin from its snapshots once the service is cached. The outcome
+ * of every selection is reported to the {@link LoadBalancerMetricsRecorder}, if one is
+ * available.
+ *
+ * @since 3.0.0
+ */
+public class FeignReactiveLoadBalancerClient implements AsyncClient<Object> {
+
+	private static final Log LOG = LogFactory
+			.getLog(FeignReactiveLoadBalancerClient.class);
+
+	private final AsyncClient<Object> delegate;
+
+	private final ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory;
+
+	private final ConsistentHashServiceInstanceChooser consistentHashChooser;
+
+	private final ServiceInstanceSnapshotCache instanceCache;
+
+	private final LoadBalancerMetricsRecorder metricsRecorder;
+
+	public FeignReactiveLoadBalancerClient(AsyncClient<Object> delegate,
+			ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory) {
+		this(delegate, loadBalancerFactory, null);
+	}
+
+	public FeignReactiveLoadBalancerClient(AsyncClient<Object> delegate,
+			ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory,
+			ConsistentHashServiceInstanceChooser consistentHashChooser) {
+		this(delegate, loadBalancerFactory, consistentHashChooser, null);
+	}
+
+	public FeignReactiveLoadBalancerClient(AsyncClient<Object> delegate,
+			ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory,
+			ConsistentHashServiceInstanceChooser consistentHashChooser,
+			ServiceInstanceSnapshotCache instanceCache) {
+		this(delegate, loadBalancerFactory, consistentHashChooser, instanceCache, null);
+	}
+
+	public FeignReactiveLoadBalancerClient(AsyncClient<Object> delegate,
+			ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory,
+			ConsistentHashServiceInstanceChooser consistentHashChooser,
+			ServiceInstanceSnapshotCache instanceCache,
+			LoadBalancerMetricsRecorder metricsRecorder) {
+		this.delegate = delegate;
+		this.loadBalancerFactory = loadBalancerFactory;
+		this.consistentHashChooser = consistentHashChooser;
+		this.instanceCache = instanceCache;
+		this.metricsRecorder = metricsRecorder;
+	}
+
+	@Override
+	public CompletableFuture<Response> execute(Request request, Request.Options options,
+			Optional<Object> requestContext) {
+		final URI originalUri = URI.create(request.url());
+		String serviceId = getServiceId(originalUri);
+		String routingKey = getRoutingKey(request);
+		long chooseStart = System.nanoTime();
+		return choose(serviceId, routingKey).toFuture().thenCompose(instance -> {
+			if (metricsRecorder != null) {
+				metricsRecorder.recordChoice(serviceId, instance,
+						System.nanoTime() - chooseStart);
+			}
+			if (instance == null) {
+				return CompletableFuture
+						.completedFuture(serviceUnavailable(request, serviceId, LOG));
+			}
+			String reconstructedUrl = LoadBalancerUriTools
+					.reconstructURI(instance, originalUri).toString();
+			Request newRequest = buildRequest(request, reconstructedUrl, routingKey);
+			return delegate.execute(newRequest, options, requestContext);
+		});
+	}
+
+	private Mono<ServiceInstance> choose(String serviceId, String routingKey) {
+		if (routingKey != null && consistentHashChooser != null) {
+			return consistentHashChooser.chooseReactively(serviceId, routingKey);
+		}
+		if (instanceCache != null) {
+			ServiceInstanceSnapshot snapshot = instanceCache.getSnapshot(serviceId);
+			if (snapshot != null) {
+				return Mono.justOrEmpty(snapshot.next());
+			}
+		}
+		ReactiveLoadBalancer<ServiceInstance> loadBalancer = loadBalancerFactory
+				.getInstance(serviceId);
+		if (loadBalancer == null) {
+			return Mono.empty();
+		}
+		return Mono.from(loadBalancer.choose()).filter(response -> response.hasServer())
+				.map(response -> response.getServer());
+	}
+
+	public AsyncClient<Object> getDelegate() {
+		return delegate;
+	}
+
+}
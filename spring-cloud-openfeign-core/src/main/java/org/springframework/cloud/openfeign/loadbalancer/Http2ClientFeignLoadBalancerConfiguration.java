@@ -0,0 +1,62 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.loadbalancer;
+
+import feign.Client;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.openfeign.clientconfig.Http2ClientFeignConfiguration;
+import org.springframework.cloud.openfeign.clientconfig.JdkHttpClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Configuration instantiating a {@link LoadBalancerClient}-based {@link Client} object
+ * that uses the {@code feign.http2client.Http2Client} of
+ * {@code io.github.openfeign:feign-java11} under the hood.
+ *
+ * @since 3.0.0
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(name = { JdkHttpClients.HTTP_CLIENT_CLASS_NAME,
+		JdkHttpClients.FEIGN_CLIENT_CLASS_NAME })
+@ConditionalOnProperty("feign.http2client.enabled")
+@ConditionalOnBean(LoadBalancerClient.class)
+@Import(Http2ClientFeignConfiguration.class)
+class Http2ClientFeignLoadBalancerConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean
+	public Client feignClient(BeanFactory beanFactory,
+			LoadBalancerClient loadBalancerClient,
+			ObjectProvider<ConsistentHashServiceInstanceChooser> consistentHashChooser,
+			ObjectProvider<ServiceInstanceSnapshotCache> instanceCache,
+			ObjectProvider<LoadBalancerMetricsRecorder> metricsRecorder) {
+		Client delegate = JdkHttpClients.newFeignClient(beanFactory);
+		return new FeignBlockingLoadBalancerClient(delegate, loadBalancerClient,
+				consistentHashChooser.getIfAvailable(), instanceCache.getIfAvailable(),
+				metricsRecorder.getIfAvailable());
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.loadbalancer;
+
+import feign.AsyncClient;
+import feign.Client;
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import reactor.core.publisher.Mono;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration;
+import org.springframework.cloud.openfeign.hc5.ApacheHttp5Client;
+import org.springframework.cloud.openfeign.hc5.AsyncApacheHttp5Client;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Configuration instantiating a {@link LoadBalancerClient}-based {@link Client} object
+ * that uses {@link ApacheHttp5Client} under the hood, and a {@link ReactiveLoadBalancer}
+ * based {@link AsyncClient} that uses {@link AsyncApacheHttp5Client}.
+ *
+ * @since 3.0.0
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(CloseableHttpClient.class)
+@ConditionalOnBean(LoadBalancerClient.class)
+@ConditionalOnProperty("feign.httpclient.hc5.enabled")
+@Import(HttpClient5FeignConfiguration.class)
+class HttpClient5FeignLoadBalancerConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean
+	public Client feignClient(LoadBalancerClient loadBalancerClient,
+			HttpClient httpClient5,
+			ObjectProvider<ConsistentHashServiceInstanceChooser> consistentHashChooser,
+			ObjectProvider<ServiceInstanceSnapshotCache> instanceCache,
+			ObjectProvider<LoadBalancerMetricsRecorder> metricsRecorder) {
+		ApacheHttp5Client delegate = new ApacheHttp5Client(httpClient5);
+		return new FeignBlockingLoadBalancerClient(delegate, loadBalancerClient,
+				consistentHashChooser.getIfAvailable(), instanceCache.getIfAvailable(),
+				metricsRecorder.getIfAvailable());
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass({ AsyncClient.class, Mono.class })
+	protected static class AsyncHttpClient5FeignLoadBalancerConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean(AsyncClient.class)
+		@ConditionalOnBean(ReactiveLoadBalancer.Factory.class)
+		public FeignReactiveLoadBalancerClient feignAsyncClient(
+				CloseableHttpAsyncClient httpAsyncClient5,
+				ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory,
+				ObjectProvider<ConsistentHashServiceInstanceChooser> consistentHashChooser,
+				ObjectProvider<ServiceInstanceSnapshotCache> instanceCache,
+				ObjectProvider<LoadBalancerMetricsRecorder> metricsRecorder) {
+			return new FeignReactiveLoadBalancerClient(
+					new AsyncApacheHttp5Client(httpAsyncClient5), loadBalancerFactory,
+					consistentHashChooser.getIfAvailable(),
+					instanceCache.getIfAvailable(), metricsRecorder.getIfAvailable());
+		}
+
+	}
+
+}
@@ -20,6 +20,7 @@ import feign.Client;
 import feign.httpclient.ApacheHttpClient;
 import org.apache.http.client.HttpClient;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -47,9 +48,14 @@ class HttpClientFeignLoadBalancerConfiguration {
 	@Bean
 	@ConditionalOnMissingBean
 	public Client feignClient(LoadBalancerClient loadBalancerClient,
-			HttpClient httpClient) {
+			HttpClient httpClient,
+			ObjectProvider<ConsistentHashServiceInstanceChooser> consistentHashChooser,
+			ObjectProvider<ServiceInstanceSnapshotCache> instanceCache,
+			ObjectProvider<LoadBalancerMetricsRecorder> metricsRecorder) {
 		ApacheHttpClient delegate = new ApacheHttpClient(httpClient);
-		return new FeignBlockingLoadBalancerClient(delegate, loadBalancerClient);
+		return new FeignBlockingLoadBalancerClient(delegate, loadBalancerClient,
+				consistentHashChooser.getIfAvailable(), instanceCache.getIfAvailable(),
+				metricsRecorder.getIfAvailable());
 	}
 
 }
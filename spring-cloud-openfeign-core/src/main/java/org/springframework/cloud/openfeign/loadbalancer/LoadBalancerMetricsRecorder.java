@@ -0,0 +1,40 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+/**
+ * Records the outcome of the instance selection performed by the load-balanced Feign
+ * clients.
+ *
+ * @since 3.0.0
+ * @see MicrometerLoadBalancerMetricsRecorder
+ */
+public interface LoadBalancerMetricsRecorder {
+
+	/**
+	 * Called once per request, after an instance has been selected.
+	 * @param serviceId the id of the requested service
+	 * @param instance the selected instance, or {@code null} if the load balancer did not
+	 * contain an instance for the service, in which case a
+	 * {@code 503 Service Unavailable} response is returned
+	 * @param chooseTimeNanos the time spent selecting the instance, in nanoseconds
+	 */
+	void recordChoice(String serviceId, ServiceInstance instance, long chooseTimeNanos);
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.loadbalancer;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import feign.Request;
+import feign.Response;
+import org.apache.commons.logging.Log;
+
+import org.springframework.cloud.openfeign.RoutingKey;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.Assert;
+
+/**
+ * Request handling shared by the load-balanced Feign clients.
+ *
+ * @since 3.0.0
+ */
+final class LoadBalancerUtils {
+
+	private LoadBalancerUtils() {
+		throw new IllegalStateException("Can't instantiate a utility class");
+	}
+
+	static String getServiceId(URI originalUri) {
+		String serviceId = originalUri.getHost();
+		Assert.state(serviceId != null,
+				"Request URI does not contain a valid hostname: " + originalUri);
+		return serviceId;
+	}
+
+	static String getRoutingKey(Request request) {
+		for (Map.Entry<String, Collection<String>> header : request.headers()
+				.entrySet()) {
+			if (RoutingKey.HEADER_NAME.equalsIgnoreCase(header.getKey())
+					&& !header.getValue().isEmpty()) {
+				return header.getValue().iterator().next();
+			}
+		}
+		return null;
+	}
+
+	static Request buildRequest(Request request, String reconstructedUrl,
+			String routingKey) {
+		Map<String, Collection<String>> headers = routingKey != null
+				? withoutRoutingKey(request.headers()) : request.headers();
+		return Request.create(request.httpMethod(), reconstructedUrl, headers,
+				request.body(), request.charset(), request.requestTemplate());
+	}
+
+	static Request removeRoutingKey(Request request) {
+		for (String name : request.headers().keySet()) {
+			if (RoutingKey.HEADER_NAME.equalsIgnoreCase(name)) {
+				return Request.create(request.httpMethod(), request.url(),
+						withoutRoutingKey(request.headers()), request.body(),
+						request.charset(), request.requestTemplate());
+			}
+		}
+		return request;
+	}
+
+	static Response serviceUnavailable(Request request, String serviceId, Log log) {
+		String message = "Load balancer does not contain an instance for the service "
+				+ serviceId;
+		if (log.isWarnEnabled()) {
+			log.warn(message);
+		}
+		return Response.builder().request(request)
+				.status(HttpStatus.SERVICE_UNAVAILABLE.value())
+				.body(message, StandardCharsets.UTF_8).build();
+	}
+
+	private static Map<String, Collection<String>> withoutRoutingKey(
+			Map<String, Collection<String>> headers) {
+		Map<String, Collection<String>> result = new LinkedHashMap<>(headers.size());
+		for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+			if (!RoutingKey.HEADER_NAME.equalsIgnoreCase(header.getKey())) {
+				result.put(header.getKey(), header.getValue());
+			}
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.loadbalancer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+/**
+ * {@link LoadBalancerMetricsRecorder} publishing the following Micrometer meters, all
+ * tagged with the {@code service} id:
+ * <ul>
+ * <li>{@code feign.loadbalancer.choose} - timer of the instance selection, tagged with
+ * an {@code outcome} of {@code instance} or {@code none},</li>
+ * <li>{@code feign.loadbalancer.requests} - counter of the requests sent to an
+ * instance, also tagged with the {@code instance} if enabled,</li>
+ * <li>{@code feign.loadbalancer.unavailable} - counter of the
+ * {@code 503 Service Unavailable} responses returned because the load balancer did not
+ * contain an instance for the service.</li>
+ * </ul>
+ * The {@code instance} tag is disabled by default, because the meters of the instances
+ * that went away are never removed, so services whose instances are often replaced
+ * would create meters without bound.
+ *
+ * @since 3.0.0
+ */
+public class MicrometerLoadBalancerMetricsRecorder
+		implements LoadBalancerMetricsRecorder {
+
+	private final MeterRegistry meterRegistry;
+
+	private final boolean instanceTag;
+
+	private final Map<String, ServiceMeters> serviceMeters = new ConcurrentHashMap<>();
+
+	public MicrometerLoadBalancerMetricsRecorder(MeterRegistry meterRegistry) {
+		this(meterRegistry, false);
+	}
+
+	/**
+	 * @param meterRegistry the registry to publish the meters to
+	 * @param instanceTag whether to tag the requests counter with the selected instance
+	 */
+	public MicrometerLoadBalancerMetricsRecorder(MeterRegistry meterRegistry,
+			boolean instanceTag) {
+		this.meterRegistry = meterRegistry;
+		this.instanceTag = instanceTag;
+	}
+
+	@Override
+	public void recordChoice(String serviceId, ServiceInstance instance,
+			long chooseTimeNanos) {
+		ServiceMeters meters = this.serviceMeters.computeIfAbsent(serviceId,
+				ServiceMeters::new);
+		if (instance == null) {
+			meters.chooseNone.record(chooseTimeNanos, TimeUnit.NANOSECONDS);
+			meters.unavailable.increment();
+			return;
+		}
+		meters.chooseInstance.record(chooseTimeNanos, TimeUnit.NANOSECONDS);
+		if (!this.instanceTag) {
+			meters.allRequests.increment();
+			return;
+		}
+		String instanceTag = instance.getInstanceId() != null ? instance.getInstanceId()
+				: instance.getHost() + ":" + instance.getPort();
+		meters.requests.computeIfAbsent(instanceTag, meters::requestCounter).increment();
+	}
+
+	private final class ServiceMeters {
+
+		private final String serviceId;
+
+		private final Timer chooseInstance;
+
+		private final Timer chooseNone;
+
+		private final Counter unavailable;
+
+		private final Map<String, Counter> requests = new ConcurrentHashMap<>();
+
+		private final Counter allRequests;
+
+		ServiceMeters(String serviceId) {
+			this.serviceId = serviceId;
+			this.chooseInstance = chooseTimer("instance");
+			this.chooseNone = chooseTimer("none");
+			this.unavailable = Counter.builder("feign.loadbalancer.unavailable")
+					.description("Requests without an available service instance")
+					.tag("service", serviceId).register(meterRegistry);
+			this.allRequests = instanceTag ? null : requestCounter(null);
+		}
+
+		private Timer chooseTimer(String outcome) {
+			return Timer.builder("feign.loadbalancer.choose")
+					.description("Time spent selecting a service instance")
+					.tag("service", this.serviceId).tag("outcome", outcome)
+					.register(meterRegistry);
+		}
+
+		Counter requestCounter(String instance) {
+			Counter.Builder builder = Counter.builder("feign.loadbalancer.requests")
+					.description("Requests sent to a service instance")
+					.tag("service", this.serviceId);
+			if (instance != null) {
+				builder.tag("instance", instance);
+			}
+			return builder.register(meterRegistry);
+		}
+
+	}
+
+}
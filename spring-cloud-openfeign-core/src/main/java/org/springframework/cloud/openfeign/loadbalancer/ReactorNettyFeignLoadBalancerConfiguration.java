@@ -0,0 +1,80 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.loadbalancer;
+
+import feign.AsyncClient;
+import feign.Client;
+import reactor.netty.http.client.HttpClient;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.openfeign.clientconfig.ReactorNettyFeignConfiguration;
+import org.springframework.cloud.openfeign.netty.AsyncReactorNettyClient;
+import org.springframework.cloud.openfeign.netty.ReactorNettyClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Configuration instantiating a {@link LoadBalancerClient}-based {@link Client} object
+ * that uses {@link ReactorNettyClient} under the hood, and a {@link ReactiveLoadBalancer}
+ * based {@link AsyncClient} that uses {@link AsyncReactorNettyClient}.
+ *
+ * @since 3.0.0
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(HttpClient.class)
+@ConditionalOnBean(LoadBalancerClient.class)
+@ConditionalOnProperty("feign.netty.enabled")
+@Import(ReactorNettyFeignConfiguration.class)
+class ReactorNettyFeignLoadBalancerConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean
+	public Client feignClient(LoadBalancerClient loadBalancerClient,
+			HttpClient reactorNettyHttpClient,
+			ObjectProvider<ConsistentHashServiceInstanceChooser> consistentHashChooser,
+			ObjectProvider<ServiceInstanceSnapshotCache> instanceCache,
+			ObjectProvider<LoadBalancerMetricsRecorder> metricsRecorder) {
+		ReactorNettyClient delegate = new ReactorNettyClient(reactorNettyHttpClient);
+		return new FeignBlockingLoadBalancerClient(delegate, loadBalancerClient,
+				consistentHashChooser.getIfAvailable(), instanceCache.getIfAvailable(),
+				metricsRecorder.getIfAvailable());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean(AsyncClient.class)
+	@ConditionalOnBean(ReactiveLoadBalancer.Factory.class)
+	public FeignReactiveLoadBalancerClient feignAsyncClient(
+			HttpClient reactorNettyHttpClient,
+			ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory,
+			ObjectProvider<ConsistentHashServiceInstanceChooser> consistentHashChooser,
+			ObjectProvider<ServiceInstanceSnapshotCache> instanceCache,
+			ObjectProvider<LoadBalancerMetricsRecorder> metricsRecorder) {
+		return new FeignReactiveLoadBalancerClient(
+				new AsyncReactorNettyClient(reactorNettyHttpClient), loadBalancerFactory,
+				consistentHashChooser.getIfAvailable(), instanceCache.getIfAvailable(),
+				metricsRecorder.getIfAvailable());
+	}
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cloud.openfeign.loadbalancer;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import feign.AsyncClient;
+import feign.Request;
+import feign.Response;
+
+import org.springframework.cloud.openfeign.RoutingKey;
+
+import static org.springframework.cloud.openfeign.loadbalancer.LoadBalancerUtils.removeRoutingKey;
+
+/**
+ * An {@link AsyncClient} removing the {@link RoutingKey#HEADER_NAME} header from the
+ * requests of a Feign client that is not load-balanced, so that the routing key is not
+ * sent to the remote server.
+ *
+ * @since 3.0.0
+ */
+public class RoutingKeyRemovingAsyncClient implements AsyncClient<Object> {
+
+	private final AsyncClient<Object> delegate;
+
+	public RoutingKeyRemovingAsyncClient(AsyncClient<Object> delegate) {
+		this.delegate = delegate;
+	}
+
+	public AsyncClient<Object> getDelegate() {
+		return this.delegate;
+	}
+
+	@Override
+	public CompletableFuture<Response> execute(Request request, Request.Options options,
+			Optional<Object> requestContext) {
+		return this.delegate.execute(removeRoutingKey(request), options, requestContext);
+	}
+
+}
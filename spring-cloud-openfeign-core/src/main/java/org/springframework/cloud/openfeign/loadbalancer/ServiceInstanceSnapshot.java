@@ -0,0 +1,180 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.loadbalancer;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+/**
+ * An immutable snapshot of the instances of a service. Round-robin selection is spread
+ * over a number of padded counters, picked by the calling thread, so that concurrent
+ * callers rarely contend on the same cache line.
+ * <p>
+ * If a weight metadata key is given, each instance is selected in proportion to the
+ * integer weight found under that key in its {@link ServiceInstance#getMetadata()
+ * metadata}. The smooth weighted round-robin order is computed once, when the snapshot is
+ * created, so that selection remains a single array lookup.
+ *
+ * @since 3.0.0
+ */
+final class ServiceInstanceSnapshot {
+
+	private static final int STRIPES = 16;
+
+	// one counter per 64-byte cache line
+	private static final int PADDING = 8;
+
+	static final int MAX_SCHEDULE_LENGTH = 1 << 16;
+
+	private final ServiceInstance[] instances;
+
+	private final ServiceInstance[] schedule;
+
+	private final List<ServiceInstance> instanceList;
+
+	private final AtomicLongArray counters = new AtomicLongArray(STRIPES * PADDING);
+
+	private volatile ConsistentHashRing ring;
+
+	ServiceInstanceSnapshot(List<ServiceInstance> instances) {
+		this(instances, null);
+	}
+
+	ServiceInstanceSnapshot(List<ServiceInstance> instances, String weightMetadataKey) {
+		this.instances = instances.toArray(new ServiceInstance[0]);
+		this.instanceList = Collections.unmodifiableList(Arrays.asList(this.instances));
+		this.schedule = weightMetadataKey != null
+				? weightedSchedule(this.instances, weightMetadataKey) : this.instances;
+		// start each stripe at a random offset, so that instances restarting at the
+		// same time do not all send their first requests to the same instance
+		if (this.schedule.length > 0) {
+			for (int stripe = 0; stripe < STRIPES; stripe++) {
+				this.counters.set(stripe * PADDING, ThreadLocalRandom.current()
+						.nextInt(this.schedule.length));
+			}
+		}
+	}
+
+	/**
+	 * @return the next instance in round-robin order, or {@code null} if the service has
+	 * no instances
+	 */
+	ServiceInstance next() {
+		int length = this.schedule.length;
+		if (length == 0) {
+			return null;
+		}
+		if (length == 1) {
+			return this.schedule[0];
+		}
+		int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+		long count = this.counters.getAndIncrement(stripe * PADDING);
+		return this.schedule[(int) ((count & Long.MAX_VALUE) % length)];
+	}
+
+	List<ServiceInstance> getInstances() {
+		return this.instanceList;
+	}
+
+	ConsistentHashRing getRing() {
+		ConsistentHashRing ring = this.ring;
+		if (ring == null) {
+			// racing threads build identical rings, either one can be kept
+			ring = new ConsistentHashRing(this.instanceList);
+			this.ring = ring;
+		}
+		return ring;
+	}
+
+	/**
+	 * Unrolls one full cycle of the smooth weighted round-robin algorithm: on each step
+	 * every instance gains its weight, and the instance with the highest current weight
+	 * is selected and loses the total weight.
+	 */
+	static ServiceInstance[] weightedSchedule(ServiceInstance[] instances,
+			String weightMetadataKey) {
+		int[] weights = new int[instances.length];
+		int divisor = 0;
+		boolean uniform = true;
+		for (int i = 0; i < instances.length; i++) {
+			weights[i] = getWeight(instances[i], weightMetadataKey);
+			divisor = gcd(divisor, weights[i]);
+			uniform &= weights[i] == weights[0];
+		}
+		if (uniform) {
+			return instances;
+		}
+		long total = 0;
+		for (int i = 0; i < weights.length; i++) {
+			weights[i] /= divisor;
+			total += weights[i];
+		}
+		if (total > MAX_SCHEDULE_LENGTH) {
+			// keep the proportions within the maximum length
+			double scale = (double) MAX_SCHEDULE_LENGTH / total;
+			total = 0;
+			for (int i = 0; i < weights.length; i++) {
+				weights[i] = Math.max(1, (int) (weights[i] * scale));
+				total += weights[i];
+			}
+		}
+		ServiceInstance[] schedule = new ServiceInstance[(int) total];
+		long[] current = new long[instances.length];
+		for (int step = 0; step < schedule.length; step++) {
+			int selected = 0;
+			for (int i = 0; i < instances.length; i++) {
+				current[i] += weights[i];
+				if (current[i] > current[selected]) {
+					selected = i;
+				}
+			}
+			current[selected] -= total;
+			schedule[step] = instances[selected];
+		}
+		return schedule;
+	}
+
+	private static int getWeight(ServiceInstance instance, String weightMetadataKey) {
+		Map<String, String> metadata = instance.getMetadata();
+		String value = metadata != null ? metadata.get(weightMetadataKey) : null;
+		if (value != null) {
+			try {
+				return Math.max(1, Integer.parseInt(value.trim()));
+			}
+			catch (NumberFormatException ignored) {
+				// fall back to the default weight
+			}
+		}
+		return 1;
+	}
+
+	private static int gcd(int a, int b) {
+		while (b != 0) {
+			int t = a % b;
+			a = b;
+			b = t;
+		}
+		return a;
+	}
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.loadbalancer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Keeps an immutable {@link ServiceInstanceSnapshot} per service, read without locking
+ * on the request path and swapped atomically by a background refresher that queries the
+ * service's {@link ServiceInstanceListSupplier}. A service is registered for refreshing
+ * the first time it is requested; until its first snapshot is available, callers fall
+ * back to the regular load balancer. Instances may be weighted through a metadata key.
+ *
+ * @since 3.0.0
+ */
+public class ServiceInstanceSnapshotCache implements DisposableBean {
+
+	private static final Log LOG = LogFactory.getLog(ServiceInstanceSnapshotCache.class);
+
+	private final LoadBalancerClientFactory loadBalancerClientFactory;
+
+	private final Map<String, ServiceInstanceSnapshot> snapshots = new ConcurrentHashMap<>();
+
+	private final Set<String> serviceIds = ConcurrentHashMap.newKeySet();
+
+	private final ScheduledExecutorService refresher;
+
+	private final String weightMetadataKey;
+
+	public ServiceInstanceSnapshotCache(
+			LoadBalancerClientFactory loadBalancerClientFactory,
+			Duration refreshInterval) {
+		this(loadBalancerClientFactory, refreshInterval, null);
+	}
+
+	/**
+	 * @param loadBalancerClientFactory the factory providing the instance suppliers
+	 * @param refreshInterval the interval between two refreshes of a service, at least
+	 * one millisecond
+	 * @param weightMetadataKey the {@link ServiceInstance#getMetadata() metadata} key
+	 * holding the integer weight of an instance, or {@code null} to select all instances
+	 * equally
+	 */
+	public ServiceInstanceSnapshotCache(
+			LoadBalancerClientFactory loadBalancerClientFactory,
+			Duration refreshInterval, String weightMetadataKey) {
+		Assert.isTrue(refreshInterval != null && refreshInterval.toMillis() > 0,
+				() -> "The refresh interval of the instance cache must be at least 1 ms, "
+						+ "check feign.loadbalancer.instance-cache.refresh-interval, was "
+						+ refreshInterval);
+		this.loadBalancerClientFactory = loadBalancerClientFactory;
+		this.weightMetadataKey = weightMetadataKey;
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				"feign-instance-cache-");
+		threadFactory.setDaemon(true);
+		this.refresher = Executors.newSingleThreadScheduledExecutor(threadFactory);
+		long interval = refreshInterval.toMillis();
+		this.refresher.scheduleWithFixedDelay(this::refreshAll, interval, interval,
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * @param serviceId the id of the service
+	 * @return the next instance of the service in round-robin order, or {@code null} if
+	 * no snapshot of the service is available yet
+	 */
+	public ServiceInstance choose(String serviceId) {
+		ServiceInstanceSnapshot snapshot = getSnapshot(serviceId);
+		return snapshot != null ? snapshot.next() : null;
+	}
+
+	ServiceInstanceSnapshot getSnapshot(String serviceId) {
+		ServiceInstanceSnapshot snapshot = this.snapshots.get(serviceId);
+		if (snapshot == null && this.serviceIds.add(serviceId)) {
+			this.refresher.execute(() -> refresh(serviceId));
+		}
+		return snapshot;
+	}
+
+	private void refreshAll() {
+		for (String serviceId : this.serviceIds) {
+			refresh(serviceId);
+		}
+	}
+
+	private void refresh(String serviceId) {
+		try {
+			ServiceInstanceListSupplier supplier = this.loadBalancerClientFactory
+					.getInstance(serviceId, ServiceInstanceListSupplier.class);
+			if (supplier == null) {
+				return;
+			}
+			supplier.get().next().subscribe(
+					instances -> update(serviceId, instances),
+					error -> logRefreshFailure(serviceId, error));
+		}
+		catch (Exception e) {
+			logRefreshFailure(serviceId, e);
+		}
+	}
+
+	private void update(String serviceId, List<ServiceInstance> instances) {
+		ServiceInstanceSnapshot current = this.snapshots.get(serviceId);
+		if (current == null || !current.getInstances().equals(instances)) {
+			this.snapshots.put(serviceId,
+					new ServiceInstanceSnapshot(instances, this.weightMetadataKey));
+		}
+	}
+
+	private void logRefreshFailure(String serviceId, Throwable error) {
+		// keep serving the last snapshot
+		if (LOG.isWarnEnabled()) {
+			LOG.warn("Could not refresh the instances of the service " + serviceId,
+					error);
+		}
+	}
+
+	@Override
+	public void destroy() {
+		this.refresher.shutdownNow();
+	}
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.netty;
+
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import feign.AsyncClient;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.timeout.ReadTimeoutException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientResponse;
+
+/**
+ * An {@link AsyncClient} implementation that executes requests on a reactor-netty
+ * {@link HttpClient}, so a handful of event-loop threads can serve many concurrent
+ * calls. The response body is aggregated into a composite of the (pooled) buffers read
+ * from the connection and exposed as an {@link java.io.InputStream} without copying it
+ * to the heap; the buffers are released once the body is closed.
+ *
+ * @since 3.0.0
+ */
+public class AsyncReactorNettyClient implements AsyncClient<Object> {
+
+	private final HttpClient httpClient;
+
+	private final Map<Long, HttpClient> configuredClients = new ConcurrentHashMap<>();
+
+	public AsyncReactorNettyClient(HttpClient httpClient) {
+		this.httpClient = httpClient;
+	}
+
+	@Override
+	public CompletableFuture<Response> execute(Request request, Request.Options options,
+			Optional<Object> requestContext) {
+		return exchange(request, options).toFuture();
+	}
+
+	Mono<Response> exchange(Request request, Request.Options options) {
+		byte[] body = request.body();
+		HttpClient.RequestSender sender = configuredClient(options).headers(headers -> {
+			for (Map.Entry<String, Collection<String>> header : request.headers()
+					.entrySet()) {
+				headers.add(header.getKey(), header.getValue());
+			}
+			if (body != null && !headers.contains(Util.CONTENT_LENGTH)) {
+				headers.set(Util.CONTENT_LENGTH, body.length);
+			}
+		}).doOnRequest((httpRequest, connection) -> {
+			if (options.readTimeoutMillis() > 0) {
+				httpRequest.responseTimeout(
+						Duration.ofMillis(options.readTimeoutMillis()));
+			}
+		}).request(HttpMethod.valueOf(request.httpMethod().name()))
+				.uri(request.url());
+		HttpClient.ResponseReceiver<?> receiver = body != null
+				? sender.send(Mono.just(Unpooled.wrappedBuffer(body))) : sender;
+		return receiver
+				.responseSingle((response, content) -> content.retain()
+						.defaultIfEmpty(Unpooled.EMPTY_BUFFER)
+						.map(buffer -> toFeignResponse(request, response, buffer)))
+				// report read timeouts like the other clients do
+				.onErrorMap(ReadTimeoutException.class,
+						ex -> new SocketTimeoutException("Read timed out"));
+	}
+
+	private HttpClient configuredClient(Request.Options options) {
+		// connect timeout and redirects are client settings, so the client is
+		// configured once for every combination used by the Feign clients
+		long key = ((long) options.connectTimeoutMillis() << 1)
+				| (options.isFollowRedirects() ? 1 : 0);
+		return this.configuredClients.computeIfAbsent(key,
+				k -> this.httpClient
+						.option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+								options.connectTimeoutMillis())
+						.followRedirect(options.isFollowRedirects()));
+	}
+
+	private Response toFeignResponse(Request request, HttpClientResponse response,
+			ByteBuf buffer) {
+		Map<String, Collection<String>> headers = new LinkedHashMap<>();
+		for (Map.Entry<String, String> header : response.responseHeaders()) {
+			headers.computeIfAbsent(header.getKey(), name -> new ArrayList<>())
+					.add(header.getValue());
+		}
+		return Response.builder().status(response.status().code())
+				.reason(response.status().reasonPhrase()).headers(headers)
+				.request(request).body(new ByteBufInputStream(buffer, true),
+						buffer.readableBytes())
+				.build();
+	}
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.netty;
+
+import java.io.IOException;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import reactor.core.Exceptions;
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * A {@link Client} implementation that executes requests on a reactor-netty
+ * {@link HttpClient} and blocks the calling thread until the response has been
+ * received. The response body is handled as in {@link AsyncReactorNettyClient}.
+ *
+ * @since 3.0.0
+ */
+public class ReactorNettyClient implements Client {
+
+	private final AsyncReactorNettyClient delegate;
+
+	public ReactorNettyClient(HttpClient httpClient) {
+		this.delegate = new AsyncReactorNettyClient(httpClient);
+	}
+
+	@Override
+	public Response execute(Request request, Request.Options options) throws IOException {
+		try {
+			return this.delegate.exchange(request, options).block();
+		}
+		catch (RuntimeException ex) {
+			Throwable cause = Exceptions.unwrap(ex);
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			throw ex;
+		}
+	}
+
+}
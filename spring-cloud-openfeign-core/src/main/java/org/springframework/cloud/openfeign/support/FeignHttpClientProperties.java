@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.openfeign.support;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -66,6 +68,31 @@ public class FeignHttpClientProperties {
 	 */
 	public static final int DEFAULT_CONNECTION_TIMER_REPEAT = 3000;
 
+	/**
+	 * Default value for idle connection timeout.
+	 */
+	public static final int DEFAULT_IDLE_CONNECTION_TIMEOUT = 30000;
+
+	/**
+	 * Default value for validate after inactivity.
+	 */
+	public static final int DEFAULT_VALIDATE_AFTER_INACTIVITY = 2000;
+
+	/**
+	 * Default value for connection request timeout.
+	 */
+	public static final int DEFAULT_CONNECTION_REQUEST_TIMEOUT = -1;
+
+	/**
+	 * Default value for socket timeout.
+	 */
+	public static final int DEFAULT_SOCKET_TIMEOUT = 0;
+
+	/**
+	 * Default value for max waiters.
+	 */
+	public static final int DEFAULT_MAX_WAITERS = 0;
+
 	private boolean disableSslValidation = DEFAULT_DISABLE_SSL_VALIDATION;
 
 	private int maxConnections = DEFAULT_MAX_CONNECTIONS;
@@ -82,6 +109,49 @@ public class FeignHttpClientProperties {
 
 	private int connectionTimerRepeat = DEFAULT_CONNECTION_TIMER_REPEAT;
 
+	/**
+	 * Time in milliseconds after which unused pooled connections are closed. Zero or a
+	 * negative value keeps them open until they expire.
+	 */
+	private int idleConnectionTimeout = DEFAULT_IDLE_CONNECTION_TIMEOUT;
+
+	/**
+	 * Time in milliseconds after which an unused pooled connection is validated before
+	 * it is leased again. Zero or a negative value disables the validation.
+	 */
+	private int validateAfterInactivity = DEFAULT_VALIDATE_AFTER_INACTIVITY;
+
+	/**
+	 * Time in milliseconds to wait for a pooled connection before failing the request.
+	 * A negative value, the default, waits without bound.
+	 */
+	private int connectionRequestTimeout = DEFAULT_CONNECTION_REQUEST_TIMEOUT;
+
+	/**
+	 * Default socket timeout in milliseconds, which applies until the read timeout of
+	 * the request is set, for example to TLS handshakes. Zero, the default, for no
+	 * timeout.
+	 */
+	private int socketTimeout = DEFAULT_SOCKET_TIMEOUT;
+
+	/**
+	 * The max number of requests waiting for a pooled connection, per pool. Further
+	 * requests fail immediately. Zero or a negative value for no limit.
+	 */
+	private int maxWaiters = DEFAULT_MAX_WAITERS;
+
+	private Http2Properties http2 = new Http2Properties();
+
+	private OkHttp okHttp = new OkHttp();
+
+	private Hc5Properties hc5 = new Hc5Properties();
+
+	private WarmUp warmUp = new WarmUp();
+
+	private DnsCache dnsCache = new DnsCache();
+
+	private TlsSessionCache tlsSessionCache = new TlsSessionCache();
+
 	public int getConnectionTimerRepeat() {
 		return this.connectionTimerRepeat;
 	}
@@ -90,6 +160,46 @@ public class FeignHttpClientProperties {
 		this.connectionTimerRepeat = connectionTimerRepeat;
 	}
 
+	public int getIdleConnectionTimeout() {
+		return this.idleConnectionTimeout;
+	}
+
+	public void setIdleConnectionTimeout(int idleConnectionTimeout) {
+		this.idleConnectionTimeout = idleConnectionTimeout;
+	}
+
+	public int getValidateAfterInactivity() {
+		return this.validateAfterInactivity;
+	}
+
+	public void setValidateAfterInactivity(int validateAfterInactivity) {
+		this.validateAfterInactivity = validateAfterInactivity;
+	}
+
+	public int getConnectionRequestTimeout() {
+		return this.connectionRequestTimeout;
+	}
+
+	public void setConnectionRequestTimeout(int connectionRequestTimeout) {
+		this.connectionRequestTimeout = connectionRequestTimeout;
+	}
+
+	public int getSocketTimeout() {
+		return this.socketTimeout;
+	}
+
+	public void setSocketTimeout(int socketTimeout) {
+		this.socketTimeout = socketTimeout;
+	}
+
+	public int getMaxWaiters() {
+		return this.maxWaiters;
+	}
+
+	public void setMaxWaiters(int maxWaiters) {
+		this.maxWaiters = maxWaiters;
+	}
+
 	public boolean isDisableSslValidation() {
 		return this.disableSslValidation;
 	}
@@ -146,4 +256,492 @@ public class FeignHttpClientProperties {
 		this.connectionTimeout = connectionTimeout;
 	}
 
+	public Http2Properties getHttp2() {
+		return this.http2;
+	}
+
+	public void setHttp2(Http2Properties http2) {
+		this.http2 = http2;
+	}
+
+	public OkHttp getOkHttp() {
+		return this.okHttp;
+	}
+
+	public void setOkHttp(OkHttp okHttp) {
+		this.okHttp = okHttp;
+	}
+
+	public Hc5Properties getHc5() {
+		return this.hc5;
+	}
+
+	public void setHc5(Hc5Properties hc5) {
+		this.hc5 = hc5;
+	}
+
+	public WarmUp getWarmUp() {
+		return this.warmUp;
+	}
+
+	public void setWarmUp(WarmUp warmUp) {
+		this.warmUp = warmUp;
+	}
+
+	public DnsCache getDnsCache() {
+		return this.dnsCache;
+	}
+
+	public void setDnsCache(DnsCache dnsCache) {
+		this.dnsCache = dnsCache;
+	}
+
+	public TlsSessionCache getTlsSessionCache() {
+		return this.tlsSessionCache;
+	}
+
+	public void setTlsSessionCache(TlsSessionCache tlsSessionCache) {
+		this.tlsSessionCache = tlsSessionCache;
+	}
+
+	/**
+	 * Settings for the {@code java.net.http.HttpClient} based client.
+	 */
+	public static class Http2Properties {
+
+		/**
+		 * Default value for the HTTP protocol version.
+		 */
+		public static final String DEFAULT_VERSION = "HTTP_2";
+
+		/**
+		 * The preferred HTTP protocol version, either {@code HTTP_2} or
+		 * {@code HTTP_1_1}. With {@code HTTP_2}, plain-text connections are upgraded to
+		 * h2c where the server supports it, and concurrent requests to the same host are
+		 * multiplexed over a single connection.
+		 */
+		private String version = DEFAULT_VERSION;
+
+		public String getVersion() {
+			return this.version;
+		}
+
+		public void setVersion(String version) {
+			this.version = version;
+		}
+
+	}
+
+	/**
+	 * Settings for the {@code okhttp3.OkHttpClient} based client.
+	 */
+	public static class OkHttp {
+
+		/**
+		 * Default value for the max number of concurrent requests.
+		 */
+		public static final int DEFAULT_MAX_REQUESTS = 64;
+
+		/**
+		 * Default value for the max number of concurrent requests per host.
+		 */
+		public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 5;
+
+		/**
+		 * The protocols the client may use, as names of {@code okhttp3.Protocol}
+		 * constants. Use {@code H2_PRIOR_KNOWLEDGE} alone to speak HTTP/2 over
+		 * plain-text connections without an upgrade round-trip.
+		 */
+		private List<String> protocols = Arrays.asList("HTTP_2", "HTTP_1_1");
+
+		/**
+		 * The max number of requests the dispatcher executes concurrently.
+		 */
+		private int maxRequests = DEFAULT_MAX_REQUESTS;
+
+		/**
+		 * The max number of requests the dispatcher executes concurrently for each
+		 * host.
+		 */
+		private int maxRequestsPerHost = DEFAULT_MAX_REQUESTS_PER_HOST;
+
+		public List<String> getProtocols() {
+			return this.protocols;
+		}
+
+		public void setProtocols(List<String> protocols) {
+			this.protocols = protocols;
+		}
+
+		public int getMaxRequests() {
+			return this.maxRequests;
+		}
+
+		public void setMaxRequests(int maxRequests) {
+			this.maxRequests = maxRequests;
+		}
+
+		public int getMaxRequestsPerHost() {
+			return this.maxRequestsPerHost;
+		}
+
+		public void setMaxRequestsPerHost(int maxRequestsPerHost) {
+			this.maxRequestsPerHost = maxRequestsPerHost;
+		}
+
+	}
+
+	/**
+	 * Settings for the Apache HttpClient 5 based clients.
+	 */
+	public static class Hc5Properties {
+
+		/**
+		 * Default value for pool concurrency policy.
+		 */
+		public static final PoolConcurrencyPolicy DEFAULT_POOL_CONCURRENCY_POLICY = PoolConcurrencyPolicy.STRICT;
+
+		/**
+		 * Default value for pool reuse policy.
+		 */
+		public static final PoolReusePolicy DEFAULT_POOL_REUSE_POLICY = PoolReusePolicy.FIFO;
+
+		/**
+		 * Default value for HTTP version policy.
+		 */
+		public static final HttpVersionPolicy DEFAULT_VERSION_POLICY = HttpVersionPolicy.NEGOTIATE;
+
+		/**
+		 * Default value for socket timeout.
+		 */
+		public static final int DEFAULT_SOCKET_TIMEOUT = 5;
+
+		/**
+		 * Default value for socket timeout unit.
+		 */
+		public static final TimeUnit DEFAULT_SOCKET_TIMEOUT_UNIT = TimeUnit.SECONDS;
+
+		/**
+		 * Pool concurrency policy. {@code STRICT} enforces the max-connections limits
+		 * under a global lock, {@code LAX} enforces them per route with less lock
+		 * contention, at the cost of occasionally exceeding the total limit.
+		 */
+		private PoolConcurrencyPolicy poolConcurrencyPolicy = DEFAULT_POOL_CONCURRENCY_POLICY;
+
+		/**
+		 * Pool connection re-use policy.
+		 */
+		private PoolReusePolicy poolReusePolicy = DEFAULT_POOL_REUSE_POLICY;
+
+		/**
+		 * HTTP version policy of the async client. {@code NEGOTIATE} uses HTTP/2 over
+		 * TLS where the server supports it, {@code FORCE_HTTP_2} also uses it over
+		 * plain-text connections.
+		 */
+		private HttpVersionPolicy versionPolicy = DEFAULT_VERSION_POLICY;
+
+		/**
+		 * Socket timeout.
+		 */
+		private int socketTimeout = DEFAULT_SOCKET_TIMEOUT;
+
+		/**
+		 * Socket timeout unit.
+		 */
+		private TimeUnit socketTimeoutUnit = DEFAULT_SOCKET_TIMEOUT_UNIT;
+
+		public PoolConcurrencyPolicy getPoolConcurrencyPolicy() {
+			return this.poolConcurrencyPolicy;
+		}
+
+		public void setPoolConcurrencyPolicy(
+				PoolConcurrencyPolicy poolConcurrencyPolicy) {
+			this.poolConcurrencyPolicy = poolConcurrencyPolicy;
+		}
+
+		public PoolReusePolicy getPoolReusePolicy() {
+			return this.poolReusePolicy;
+		}
+
+		public void setPoolReusePolicy(PoolReusePolicy poolReusePolicy) {
+			this.poolReusePolicy = poolReusePolicy;
+		}
+
+		public HttpVersionPolicy getVersionPolicy() {
+			return this.versionPolicy;
+		}
+
+		public void setVersionPolicy(HttpVersionPolicy versionPolicy) {
+			this.versionPolicy = versionPolicy;
+		}
+
+		public int getSocketTimeout() {
+			return this.socketTimeout;
+		}
+
+		public void setSocketTimeout(int socketTimeout) {
+			this.socketTimeout = socketTimeout;
+		}
+
+		public TimeUnit getSocketTimeoutUnit() {
+			return this.socketTimeoutUnit;
+		}
+
+		public void setSocketTimeoutUnit(TimeUnit socketTimeoutUnit) {
+			this.socketTimeoutUnit = socketTimeoutUnit;
+		}
+
+		/**
+		 * Enumeration of pool concurrency policies.
+		 */
+		public enum PoolConcurrencyPolicy {
+
+			/**
+			 * Higher concurrency but with lax connection max limit guarantees.
+			 */
+			LAX,
+
+			/**
+			 * Strict connection max limit guarantees.
+			 */
+			STRICT
+
+		}
+
+		/**
+		 * Enumeration of pooled connection re-use policies.
+		 */
+		public enum PoolReusePolicy {
+
+			/**
+			 * Re-use as few connections as possible making it possible for connections
+			 * to become idle and expire.
+			 */
+			LIFO,
+
+			/**
+			 * Re-use all connections equally preventing them from becoming idle and
+			 * expiring.
+			 */
+			FIFO
+
+		}
+
+		/**
+		 * Enumeration of HTTP protocol version policies.
+		 */
+		public enum HttpVersionPolicy {
+
+			/**
+			 * Always use HTTP/1.1.
+			 */
+			FORCE_HTTP_1,
+
+			/**
+			 * Always use HTTP/2.
+			 */
+			FORCE_HTTP_2,
+
+			/**
+			 * Use HTTP/2 where the server supports it, HTTP/1.1 otherwise.
+			 */
+			NEGOTIATE
+
+		}
+
+	}
+
+	/**
+	 * Settings for opening connections to the targets of the Feign clients at startup.
+	 */
+	public static class WarmUp {
+
+		/**
+		 * Default value for the number of connections opened per route.
+		 */
+		public static final int DEFAULT_CONNECTIONS_PER_ROUTE = 1;
+
+		/**
+		 * Default value for the path requested to open connections.
+		 */
+		public static final String DEFAULT_PATH = "/";
+
+		/**
+		 * Default value for the warm-up timeout.
+		 */
+		public static final int DEFAULT_TIMEOUT = 5000;
+
+		/**
+		 * Default value for the interval between two checks for new instances.
+		 */
+		public static final int DEFAULT_REFRESH_INTERVAL = 30000;
+
+		/**
+		 * The number of connections opened to each route.
+		 */
+		private int connectionsPerRoute = DEFAULT_CONNECTIONS_PER_ROUTE;
+
+		/**
+		 * The path requested with {@code HEAD} requests to open connections.
+		 */
+		private String path = DEFAULT_PATH;
+
+		/**
+		 * Time in milliseconds the application startup waits for connections to be
+		 * opened.
+		 */
+		private int timeout = DEFAULT_TIMEOUT;
+
+		/**
+		 * Time in milliseconds between two checks for new instances of the services.
+		 * Zero or a negative value disables the checks.
+		 */
+		private int refreshInterval = DEFAULT_REFRESH_INTERVAL;
+
+		public int getConnectionsPerRoute() {
+			return this.connectionsPerRoute;
+		}
+
+		public void setConnectionsPerRoute(int connectionsPerRoute) {
+			this.connectionsPerRoute = connectionsPerRoute;
+		}
+
+		public String getPath() {
+			return this.path;
+		}
+
+		public void setPath(String path) {
+			this.path = path;
+		}
+
+		public int getTimeout() {
+			return this.timeout;
+		}
+
+		public void setTimeout(int timeout) {
+			this.timeout = timeout;
+		}
+
+		public int getRefreshInterval() {
+			return this.refreshInterval;
+		}
+
+		public void setRefreshInterval(int refreshInterval) {
+			this.refreshInterval = refreshInterval;
+		}
+
+	}
+
+	/**
+	 * Settings for caching the addresses of the hosts called by the Apache HttpClient and
+	 * OkHttp clients.
+	 */
+	public static class DnsCache {
+
+		/**
+		 * Default value for the time-to-live of the cached addresses.
+		 */
+		public static final long DEFAULT_TIME_TO_LIVE = 30L;
+
+		/**
+		 * Default value for the time-to-live unit.
+		 */
+		public static final TimeUnit DEFAULT_TIME_TO_LIVE_UNIT = TimeUnit.SECONDS;
+
+		/**
+		 * Enables caching the addresses of the hosts.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Time the addresses of a host are used before being looked up again. They are
+		 * looked up in the background after three quarters of that time.
+		 */
+		private long timeToLive = DEFAULT_TIME_TO_LIVE;
+
+		private TimeUnit timeToLiveUnit = DEFAULT_TIME_TO_LIVE_UNIT;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public long getTimeToLive() {
+			return this.timeToLive;
+		}
+
+		public void setTimeToLive(long timeToLive) {
+			this.timeToLive = timeToLive;
+		}
+
+		public TimeUnit getTimeToLiveUnit() {
+			return this.timeToLiveUnit;
+		}
+
+		public void setTimeToLiveUnit(TimeUnit timeToLiveUnit) {
+			this.timeToLiveUnit = timeToLiveUnit;
+		}
+
+	}
+
+	/**
+	 * Settings for the SSL context shared by the Apache HttpClient and OkHttp clients.
+	 */
+	public static class TlsSessionCache {
+
+		/**
+		 * Default value for the maximum number of cached TLS sessions.
+		 */
+		public static final int DEFAULT_SIZE = 20480;
+
+		/**
+		 * Default value for the time in seconds TLS sessions are cached.
+		 */
+		public static final int DEFAULT_TIMEOUT = 86400;
+
+		/**
+		 * Enables a single SSL context for all the clients, so that TLS sessions are
+		 * resumed by new connections to the same host.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Maximum number of cached TLS sessions, 0 for no limit.
+		 */
+		private int size = DEFAULT_SIZE;
+
+		/**
+		 * Time in seconds TLS sessions are cached, 0 for no limit.
+		 */
+		private int timeout = DEFAULT_TIMEOUT;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getSize() {
+			return this.size;
+		}
+
+		public void setSize(int size) {
+			this.size = size;
+		}
+
+		public int getTimeout() {
+			return this.timeout;
+		}
+
+		public void setTimeout(int timeout) {
+			this.timeout = timeout;
+		}
+
+	}
+
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.support;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Creates executors running each task on a new virtual thread. Virtual threads are only
+ * available on Java 21 or later; as the project targets older versions, they are
+ * created reflectively.
+ *
+ * @since 3.0.0
+ */
+public final class VirtualThreads {
+
+	private static final Method OF_VIRTUAL = ClassUtils.getMethodIfAvailable(Thread.class,
+			"ofVirtual");
+
+	// on Java 19 and 20 Thread.ofVirtual exists, but is a preview API
+	private static final boolean AVAILABLE = javaFeatureVersion() >= 21
+			&& OF_VIRTUAL != null;
+
+	private VirtualThreads() {
+		throw new IllegalStateException("Can't instantiate a utility class");
+	}
+
+	/**
+	 * @return whether virtual threads are available on the running JVM
+	 */
+	public static boolean isAvailable() {
+		return AVAILABLE;
+	}
+
+	private static int javaFeatureVersion() {
+		// Runtime.version().feature(), which only exists since Java 10
+		Method version = ClassUtils.getMethodIfAvailable(Runtime.class, "version");
+		if (version == null) {
+			return 8;
+		}
+		try {
+			Object runtimeVersion = version.invoke(null);
+			Method feature = ClassUtils.getMethodIfAvailable(runtimeVersion.getClass(),
+					"feature");
+			return feature != null ? (Integer) feature.invoke(runtimeVersion) : 9;
+		}
+		catch (ReflectiveOperationException e) {
+			return 8;
+		}
+	}
+
+	/**
+	 * @param namePrefix the prefix of the names of the threads, followed by a counter
+	 * @return an executor running each task on a new virtual thread
+	 * @throws IllegalStateException if virtual threads are not available
+	 */
+	public static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+		if (!isAvailable()) {
+			throw new IllegalStateException(
+					"Virtual threads require Java 21 or later, running on Java "
+							+ System.getProperty("java.version"));
+		}
+		try {
+			// Thread.Builder, as the implementation classes are not accessible
+			Class<?> builderType = ClassUtils.forName("java.lang.Thread$Builder", null);
+			Object builder = OF_VIRTUAL.invoke(null);
+			builder = builderType.getMethod("name", String.class, long.class)
+					.invoke(builder, namePrefix, 0L);
+			ThreadFactory threadFactory = (ThreadFactory) builderType
+					.getMethod("factory").invoke(builder);
+			return (ExecutorService) Executors.class
+					.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+					.invoke(null, threadFactory);
+		}
+		catch (ReflectiveOperationException e) {
+			ReflectionUtils.handleReflectionException(e);
+			throw new IllegalStateException("Could not create a virtual thread executor",
+					e);
+		}
+	}
+
+}
@@ -73,6 +73,17 @@ public class FeignClientsRegistrarTests {
 		assertThat(name).as("name was wrong").isEqualTo("https://goodname");
 	}
 
+	@Test
+	public void goodUrlUnixPrefix() {
+		String url = FeignClientsRegistrar.getUrl("unix:///var/run/proxy.sock");
+		assertThat(url).as("url was wrong").isEqualTo("unix:///var/run/proxy.sock");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void badUrlUnixPrefix() {
+		FeignClientsRegistrar.getUrl("unix:///var/run/bad proxy.sock");
+	}
+
 	private String testGetName(String name) {
 		FeignClientsRegistrar registrar = new FeignClientsRegistrar();
 		registrar.setEnvironment(new MockEnvironment());
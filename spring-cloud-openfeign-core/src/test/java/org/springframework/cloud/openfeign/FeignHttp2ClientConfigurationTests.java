@@ -0,0 +1,75 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+import feign.Client;
+import feign.http2client.Http2Client;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.commons.httpclient.HttpClientConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the {@link Http2Client} based configuration. Excluded from the build on
+ * Java 8, as they use the JDK HTTP client directly.
+ */
+public class FeignHttp2ClientConfigurationTests {
+
+	private ConfigurableApplicationContext context;
+
+	@Before
+	public void setUp() {
+		this.context = new SpringApplicationBuilder()
+				.properties("feign.httpclient.enabled=false",
+						"feign.http2client.enabled=true",
+						"feign.httpclient.connectionTimeout=1500",
+						"feign.httpclient.followRedirects=false")
+				.web(WebApplicationType.NONE)
+				.sources(HttpClientConfiguration.class, FeignAutoConfiguration.class)
+				.run();
+	}
+
+	@After
+	public void tearDown() {
+		if (this.context != null) {
+			this.context.close();
+		}
+	}
+
+	@Test
+	public void shouldInstantiateHttp2Client() {
+		assertThat(this.context.getBean(Client.class)).isInstanceOf(Http2Client.class);
+	}
+
+	@Test
+	public void shouldConfigureHttpClientFromProperties() {
+		HttpClient httpClient = this.context.getBean(HttpClient.class);
+		assertThat(httpClient.version()).isEqualTo(HttpClient.Version.HTTP_2);
+		assertThat(httpClient.connectTimeout()).contains(Duration.ofMillis(1500));
+		assertThat(httpClient.followRedirects()).isEqualTo(HttpClient.Redirect.NEVER);
+	}
+
+}
@@ -21,6 +21,7 @@ import java.lang.reflect.Field;
 import javax.net.ssl.HostnameVerifier;
 
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -50,7 +51,9 @@ public class FeignOkHttpConfigurationTests {
 	public void setUp() {
 		this.context = new SpringApplicationBuilder()
 				.properties("debug=true", "feign.httpclient.disableSslValidation=true",
-						"feign.okhttp.enabled=true", "feign.httpclient.enabled=false")
+						"feign.okhttp.enabled=true", "feign.httpclient.enabled=false",
+						"feign.httpclient.ok-http.protocols=H2_PRIOR_KNOWLEDGE",
+						"feign.httpclient.ok-http.max-requests-per-host=20")
 				.web(WebApplicationType.NONE)
 				.sources(HttpClientConfiguration.class, FeignAutoConfiguration.class)
 				.run();
@@ -73,6 +76,13 @@ public class FeignOkHttpConfigurationTests {
 						.isTrue();
 	}
 
+	@Test
+	public void protocolsAndDispatcherTest() {
+		OkHttpClient httpClient = this.context.getBean(OkHttpClient.class);
+		assertThat(httpClient.protocols()).containsExactly(Protocol.H2_PRIOR_KNOWLEDGE);
+		assertThat(httpClient.dispatcher().getMaxRequestsPerHost()).isEqualTo(20);
+	}
+
 	protected <T> Object getField(Object target, String name) {
 		Field field = ReflectionUtils.findField(target.getClass(), name);
 		ReflectionUtils.makeAccessible(field);
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cloud.openfeign.async;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import feign.AsyncClient;
+import feign.Contract;
+import feign.FeignException;
+import feign.Request;
+import feign.RequestLine;
+import feign.Response;
+import feign.Retryer;
+import feign.Util;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import rx.Single;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link AsyncFeignBuilder}.
+ */
+class AsyncFeignBuilderTests {
+
+	private final List<AsyncReturnTypeAdapter> adapters = Arrays.asList(
+			new CompletableFutureReturnTypeAdapter(), new MonoReturnTypeAdapter(),
+			new SingleReturnTypeAdapter());
+
+	private final AtomicInteger interceptions = new AtomicInteger();
+
+	private final AtomicInteger requests = new AtomicInteger();
+
+	private final AsyncClient<Object> asyncClient = (request, options, context) -> {
+		requests.incrementAndGet();
+		return CompletableFuture.completedFuture(response(request));
+	};
+
+	private volatile int status = 200;
+
+	@Test
+	void shouldSendRequestsThroughAsyncClient() throws Exception {
+		TestClient client = client();
+
+		assertThat(client.hello().get(5, TimeUnit.SECONDS)).isEqualTo("hello");
+		assertThat(requests.get()).isEqualTo(1);
+		assertThat(interceptions.get()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldSendBlockingRequestsThroughAsyncClient() {
+		TestClient client = client();
+
+		assertThat(client.helloNow()).isEqualTo("hello");
+		assertThat(requests.get()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldSendRequestOnSubscription() {
+		TestClient client = client();
+
+		Mono<String> hello = client.helloMono();
+
+		assertThat(requests.get()).isZero();
+		StepVerifier.create(hello).expectNext("hello").verifyComplete();
+		StepVerifier.create(hello).expectNext("hello").verifyComplete();
+		assertThat(requests.get()).isEqualTo(2);
+		assertThat(interceptions.get()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldSendRxRequestOnSubscription() {
+		TestClient client = client();
+
+		Single<String> hello = client.helloSingle();
+
+		assertThat(requests.get()).isZero();
+		assertThat(hello.toBlocking().value()).isEqualTo("hello");
+		assertThat(requests.get()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldDecodeErrors() {
+		status = 500;
+		TestClient client = client();
+
+		StepVerifier.create(client.helloMono()).expectError(FeignException.class)
+				.verify();
+	}
+
+	@Test
+	void shouldRejectRetryer() {
+		AsyncFeignBuilder builder = new AsyncFeignBuilder(asyncClient, adapters);
+		builder.retryer(new Retryer.Default());
+
+		assertThatThrownBy(builder::build).isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("do not retry");
+	}
+
+	@Test
+	void shouldAcceptNeverRetry() {
+		AsyncFeignBuilder builder = new AsyncFeignBuilder(asyncClient, adapters);
+		builder.retryer(Retryer.NEVER_RETRY);
+
+		assertThat(builder.build()).isNotNull();
+	}
+
+	private TestClient client() {
+		return new AsyncFeignBuilder(asyncClient, adapters)
+				.decoder((response, type) -> Util
+						.toString(response.body().asReader(Util.UTF_8)))
+				.contract(new Contract.Default())
+				.requestInterceptor(template -> interceptions.incrementAndGet())
+				.target(TestClient.class, "http://localhost");
+	}
+
+	private Response response(Request request) {
+		return Response.builder().status(status).request(request)
+				.headers(Collections.emptyMap()).body("hello", Util.UTF_8).build();
+	}
+
+	public interface TestClient {
+
+		@RequestLine("GET /hello")
+		CompletableFuture<String> hello();
+
+		@RequestLine("GET /hello")
+		String helloNow();
+
+		@RequestLine("GET /hello")
+		Mono<String> helloMono();
+
+		@RequestLine("GET /hello")
+		Single<String> helloSingle();
+
+	}
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.async;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import feign.Contract;
+import feign.Feign;
+import feign.FeignException;
+import feign.InvocationHandlerFactory;
+import feign.RequestLine;
+import feign.Response;
+import feign.Util;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link AsyncInvocationHandlerFactory}, {@link AsyncContract} and
+ * {@link AsyncCapability}.
+ */
+class AsyncInvocationHandlerFactoryTests {
+
+	private final ExecutorService executor = Executors
+			.newCachedThreadPool(new CustomizableThreadFactory("test-async-"));
+
+	private final List<AsyncReturnTypeAdapter> adapters = Collections
+			.singletonList(new CompletableFutureReturnTypeAdapter());
+
+	private final AtomicReference<String> requestThread = new AtomicReference<>();
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void shouldDetectAsyncClients() {
+		assertThat(AsyncInvocationHandlerFactory.isAsync(TestClient.class, adapters))
+				.isTrue();
+		assertThat(AsyncInvocationHandlerFactory.isAsync(Runnable.class, adapters))
+				.isFalse();
+	}
+
+	@Test
+	void shouldExecuteFutureMethodsOnExecutor() throws Exception {
+		TestClient client = client(200);
+
+		CompletableFuture<String> hello = client.hello();
+
+		assertThat(hello.get(5, TimeUnit.SECONDS)).isEqualTo("hello");
+		assertThat(requestThread.get()).startsWith("test-async-");
+	}
+
+	@Test
+	void shouldExecuteOtherMethodsOnCallingThread() {
+		TestClient client = client(200);
+
+		assertThat(client.helloNow()).isEqualTo("hello");
+		assertThat(requestThread.get()).isEqualTo(Thread.currentThread().getName());
+	}
+
+	@Test
+	void shouldCompleteVoidFutures() throws Exception {
+		TestClient client = client(204);
+
+		assertThat(client.empty().get(5, TimeUnit.SECONDS)).isNull();
+	}
+
+	@Test
+	void shouldCompleteFuturesExceptionally() {
+		TestClient client = client(500);
+
+		assertThatThrownBy(() -> client.hello().get(5, TimeUnit.SECONDS))
+				.isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(FeignException.class);
+	}
+
+	@Test
+	void shouldWrapContractAndFactorySetAfterCapability() throws Exception {
+		AtomicInteger invocations = new AtomicInteger();
+		InvocationHandlerFactory.Default factory = new InvocationHandlerFactory.Default();
+		TestClient client = builder(200)
+				.addCapability(new AsyncCapability(executor, adapters))
+				.contract(new Contract.Default())
+				.invocationHandlerFactory((target, dispatch) -> {
+					invocations.incrementAndGet();
+					return factory.create(target, dispatch);
+				}).target(TestClient.class, "http://localhost");
+
+		assertThat(client.hello().get(5, TimeUnit.SECONDS)).isEqualTo("hello");
+		assertThat(requestThread.get()).startsWith("test-async-");
+		assertThat(invocations.get()).isEqualTo(1);
+	}
+
+	private TestClient client(int status) {
+		return builder(status)
+				.contract(new AsyncContract(new Contract.Default(), adapters))
+				.invocationHandlerFactory(
+						new AsyncInvocationHandlerFactory(executor, adapters))
+				.target(TestClient.class, "http://localhost");
+	}
+
+	private Feign.Builder builder(int status) {
+		return Feign.builder().client((request, options) -> {
+			requestThread.set(Thread.currentThread().getName());
+			return Response.builder().status(status).request(request)
+					.headers(Collections.emptyMap()).body("hello", Util.UTF_8).build();
+		});
+	}
+
+	interface TestClient {
+
+		@RequestLine("GET /hello")
+		CompletableFuture<String> hello();
+
+		@RequestLine("GET /hello")
+		String helloNow();
+
+		@RequestLine("GET /empty")
+		CompletableFuture<Void> empty();
+
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.async;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link FeignAsyncExecutor}.
+ */
+class FeignAsyncExecutorTests {
+
+	private final AtomicInteger created = new AtomicInteger();
+
+	private ExecutorService executor;
+
+	private final FeignAsyncExecutor asyncExecutor = new FeignAsyncExecutor(() -> {
+		created.incrementAndGet();
+		executor = Executors.newSingleThreadExecutor();
+		return executor;
+	});
+
+	@Test
+	void shouldCreateExecutorOnFirstTask() throws Exception {
+		assertThat(created).hasValue(0);
+
+		CountDownLatch done = new CountDownLatch(2);
+		asyncExecutor.execute(done::countDown);
+		asyncExecutor.execute(done::countDown);
+
+		assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(created).hasValue(1);
+		asyncExecutor.destroy();
+		assertThat(executor.isShutdown()).isTrue();
+	}
+
+	@Test
+	void shouldNotCreateExecutorOnDestroy() {
+		asyncExecutor.destroy();
+
+		assertThat(created).hasValue(0);
+		assertThatThrownBy(() -> asyncExecutor.execute(() -> {
+		})).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void shouldBoundThreads() throws Exception {
+		FeignAsyncExecutor bounded = FeignAsyncExecutor.bounded(2);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(3);
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		try {
+			for (int i = 0; i < 3; i++) {
+				bounded.execute(() -> {
+					maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+					started.countDown();
+					try {
+						release.await();
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					running.decrementAndGet();
+				});
+			}
+			assertThat(started.await(200, TimeUnit.MILLISECONDS)).isFalse();
+			release.countDown();
+			assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(maxRunning).hasValue(2);
+		}
+		finally {
+			release.countDown();
+			bounded.destroy();
+		}
+	}
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.async;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link FeignParallel}.
+ */
+class FeignParallelTests {
+
+	private final ExecutorService executor = Executors
+			.newCachedThreadPool(new CustomizableThreadFactory("test-parallel-"));
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void shouldReturnResultsAndErrorsInOrder() throws Exception {
+		IllegalStateException error = new IllegalStateException("failed");
+		List<Callable<String>> calls = Arrays.asList(() -> "hello", () -> {
+			throw error;
+		}, () -> "world");
+
+		List<FeignParallel.Result<String>> results = new FeignParallel(executor)
+				.invokeAll(calls, Duration.ofSeconds(5));
+
+		assertThat(results).hasSize(3);
+		assertThat(results.get(0).isSuccess()).isTrue();
+		assertThat(results.get(0).getValue()).isEqualTo("hello");
+		assertThat(results.get(1).isSuccess()).isFalse();
+		assertThat(results.get(1).getError()).isSameAs(error);
+		assertThat(results.get(2).getValue()).isEqualTo("world");
+	}
+
+	@Test
+	void shouldCancelCallsRunningPastDeadline() throws Exception {
+		CountDownLatch interrupted = new CountDownLatch(1);
+		List<Callable<String>> calls = Arrays.asList(() -> "hello", () -> {
+			try {
+				Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+				return "late";
+			}
+			catch (InterruptedException e) {
+				interrupted.countDown();
+				throw e;
+			}
+		});
+
+		List<FeignParallel.Result<String>> results = new FeignParallel(executor)
+				.invokeAll(calls, Duration.ofMillis(200));
+
+		assertThat(results.get(0).getValue()).isEqualTo("hello");
+		assertThat(results.get(1).isTimedOut()).isTrue();
+		assertThat(results.get(1).getValue()).isNull();
+		assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void shouldLimitConcurrency() throws Exception {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		Callable<Integer> call = () -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			Thread.sleep(20);
+			running.decrementAndGet();
+			return 1;
+		};
+
+		List<FeignParallel.Result<Integer>> results = new FeignParallel(executor, 2)
+				.invokeAll(Arrays.asList(call, call, call, call, call),
+						Duration.ofSeconds(5));
+
+		assertThat(results).allMatch(FeignParallel.Result::isSuccess);
+		assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+	}
+
+	@Test
+	void shouldLimitConcurrencyByDefault() throws Exception {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		Callable<Integer> call = () -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			Thread.sleep(20);
+			running.decrementAndGet();
+			return 1;
+		};
+
+		List<FeignParallel.Result<Integer>> results = new FeignParallel(executor)
+				.invokeAll(Collections.nCopies(FeignParallel.DEFAULT_MAX_CONCURRENCY * 2,
+						call), Duration.ofSeconds(5));
+
+		assertThat(results).allMatch(FeignParallel.Result::isSuccess);
+		assertThat(maxRunning.get())
+				.isLessThanOrEqualTo(FeignParallel.DEFAULT_MAX_CONCURRENCY);
+	}
+
+	@Test
+	void shouldRunNestedInvocationsOnOwnThreads() throws Exception {
+		FeignParallel parallel = new FeignParallel(1);
+		Callable<String> inner = () -> Thread.currentThread().getName();
+		Callable<String> outer = () -> parallel
+				.invokeAll(Collections.singletonList(inner), Duration.ofSeconds(5)).get(0)
+				.getValue();
+		try {
+			List<FeignParallel.Result<String>> results = parallel
+					.invokeAll(Collections.singletonList(outer), Duration.ofSeconds(5));
+
+			assertThat(results.get(0).getValue()).startsWith("feign-parallel-");
+		}
+		finally {
+			parallel.destroy();
+		}
+	}
+
+}
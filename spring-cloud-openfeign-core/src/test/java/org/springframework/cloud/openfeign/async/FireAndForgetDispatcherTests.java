@@ -0,0 +1,200 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.async;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.openfeign.FireAndForget;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link FireAndForgetDispatcher}.
+ */
+class FireAndForgetDispatcherTests {
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private final TestEventClient target = new TestEventClient();
+
+	private FireAndForgetDispatcher dispatcher = new FireAndForgetDispatcher(10, 1);
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		dispatcher.destroy();
+	}
+
+	@Test
+	void shouldSendCallsInBackground() throws Exception {
+		EventClient client = dispatcher.decorate(EventClient.class, target);
+
+		client.send("hello");
+		assertThat(target.events).isEmpty();
+		release.countDown();
+
+		assertThat(target.sent.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(target.events).containsExactly("hello");
+		assertThat(target.callers).allMatch(name -> name.startsWith("feign-"));
+	}
+
+	@Test
+	void shouldDropCallsWhenQueueIsFull() {
+		dispatcher = new FireAndForgetDispatcher(2, 1);
+		EventClient client = dispatcher.decorate(EventClient.class, target);
+
+		for (int i = 0; i < 5; i++) {
+			client.send("event-" + i);
+		}
+
+		assertThat(dispatcher.getDroppedCalls()).isEqualTo(2);
+		assertThat(dispatcher.getQueuedCalls()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldCountDroppedCallsInMeterRegistry() {
+		dispatcher = new FireAndForgetDispatcher(2, 1);
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		new FireAndForgetMetrics(dispatcher).bindTo(meterRegistry);
+		EventClient client = dispatcher.decorate(EventClient.class, target);
+
+		for (int i = 0; i < 5; i++) {
+			client.send("event-" + i);
+		}
+
+		assertThat(meterRegistry.get("feign.client.fire-and-forget.dropped")
+				.functionCounter().count()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldLogFirstDropAndThenOnceEveryInterval() {
+		assertThat(FireAndForgetMethod.shouldLogDrop(1)).isTrue();
+		assertThat(FireAndForgetMethod.shouldLogDrop(2)).isFalse();
+		assertThat(FireAndForgetMethod
+				.shouldLogDrop(FireAndForgetMethod.DROP_LOG_INTERVAL - 1)).isFalse();
+		assertThat(
+				FireAndForgetMethod.shouldLogDrop(FireAndForgetMethod.DROP_LOG_INTERVAL))
+						.isTrue();
+		assertThat(FireAndForgetMethod
+				.shouldLogDrop(2 * FireAndForgetMethod.DROP_LOG_INTERVAL)).isTrue();
+	}
+
+	@Test
+	void shouldSendQueuedCallsInBatches() throws Exception {
+		target.sent = new CountDownLatch(4);
+		EventClient client = dispatcher.decorate(EventClient.class, target);
+
+		client.send("blocker");
+		client.sendBatched("a");
+		client.sendBatched("b");
+		client.sendBatched("c");
+		release.countDown();
+
+		assertThat(target.sent.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(target.batches).containsExactly(Arrays.asList("a", "b", "c"));
+	}
+
+	@Test
+	void shouldPassOtherCalls() {
+		EventClient client = dispatcher.decorate(EventClient.class, target);
+
+		assertThat(client.count()).isZero();
+	}
+
+	@Test
+	void shouldRejectNonVoidMethods() {
+		assertThatThrownBy(() -> dispatcher.decorate(InvalidClient.class, () -> "hello"))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("must return void");
+	}
+
+	interface EventClient {
+
+		@FireAndForget
+		void send(String event);
+
+		@FireAndForget(batch = "sendAll")
+		void sendBatched(String event);
+
+		void sendAll(List<String> events);
+
+		int count();
+
+	}
+
+	interface InvalidClient {
+
+		@FireAndForget
+		String send();
+
+	}
+
+	class TestEventClient implements EventClient {
+
+		final List<String> events = new CopyOnWriteArrayList<>();
+
+		final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+		final List<String> callers = new CopyOnWriteArrayList<>();
+
+		volatile CountDownLatch sent = new CountDownLatch(1);
+
+		@Override
+		public void send(String event) {
+			await();
+			callers.add(Thread.currentThread().getName());
+			events.add(event);
+			sent.countDown();
+		}
+
+		@Override
+		public void sendBatched(String event) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void sendAll(List<String> events) {
+			batches.add(events);
+			events.forEach(event -> sent.countDown());
+		}
+
+		@Override
+		public int count() {
+			return events.size();
+		}
+
+		private void await() {
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.async;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import rx.Completable;
+import rx.Single;
+import rx.Subscription;
+import rx.observers.TestSubscriber;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the RxJava {@link AsyncReturnTypeAdapter}s.
+ */
+class RxJavaReturnTypeAdapterTests {
+
+	private final AtomicInteger invocations = new AtomicInteger();
+
+	@Test
+	void shouldInvokeOnSubscription() {
+		CompletableFuture<Object> future = new CompletableFuture<>();
+		Single<?> single = (Single<?>) new SingleReturnTypeAdapter()
+				.adapt(() -> invoke(future));
+
+		assertThat(invocations.get()).isZero();
+		TestSubscriber<Object> subscriber = new TestSubscriber<>();
+		single.subscribe(subscriber);
+		assertThat(invocations.get()).isEqualTo(1);
+
+		future.complete("hello");
+		subscriber.assertValue("hello");
+		subscriber.assertCompleted();
+	}
+
+	@Test
+	void shouldCancelOnUnsubscription() {
+		CompletableFuture<Object> future = new CompletableFuture<>();
+		Single<?> single = (Single<?>) new SingleReturnTypeAdapter()
+				.adapt(() -> invoke(future));
+
+		Subscription subscription = single.subscribe();
+		subscription.unsubscribe();
+
+		assertThat(future).isCancelled();
+	}
+
+	@Test
+	void shouldPropagateErrors() {
+		IllegalStateException error = new IllegalStateException("failed");
+		CompletableFuture<Object> future = new CompletableFuture<>();
+		future.completeExceptionally(error);
+		Single<?> single = (Single<?>) new SingleReturnTypeAdapter()
+				.adapt(() -> invoke(future));
+
+		TestSubscriber<Object> subscriber = new TestSubscriber<>();
+		single.subscribe(subscriber);
+
+		subscriber.assertError(error);
+	}
+
+	@Test
+	void shouldNotDecodeCompletableBody() throws Exception {
+		CompletableReturnTypeAdapter adapter = new CompletableReturnTypeAdapter();
+		Type returnType = TestClient.class.getMethod("done").getGenericReturnType();
+		Completable completable = (Completable) adapter
+				.adapt(() -> invoke(CompletableFuture.completedFuture(null)));
+
+		assertThat(adapter.getBodyType(returnType)).isEqualTo(void.class);
+		assertThat(completable.get()).isNull();
+		assertThat(invocations.get()).isEqualTo(1);
+	}
+
+	private CompletableFuture<Object> invoke(CompletableFuture<Object> future) {
+		invocations.incrementAndGet();
+		return future;
+	}
+
+	interface TestClient {
+
+		Completable done();
+
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link CachingDnsResolver}.
+ */
+class CachingDnsResolverTests {
+
+	private static final InetAddress FIRST = address(1);
+
+	private static final InetAddress SECOND = address(2);
+
+	private TestDnsResolver resolver;
+
+	@AfterEach
+	void tearDown() {
+		resolver.destroy();
+	}
+
+	@Test
+	void shouldCacheAddresses() throws Exception {
+		resolver = new TestDnsResolver(1, TimeUnit.MINUTES);
+
+		assertThat(resolver.resolve("foo")).containsExactly(FIRST);
+		assertThat(resolver.resolve("foo")).containsExactly(FIRST);
+		assertThat(resolver.lookups.get()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldRefreshAddressesInTheBackground() throws Exception {
+		resolver = new TestDnsResolver(400, TimeUnit.MILLISECONDS);
+		resolver.resolve("foo");
+		resolver.address = SECOND;
+		Thread.sleep(320);
+
+		assertThat(resolver.resolve("foo")).containsExactly(FIRST);
+		assertThat(resolver.refreshed.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(resolver.resolve("foo")).containsExactly(SECOND);
+		assertThat(resolver.lookups.get()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldKeepLastKnownAddressesWhenLookupFails() throws Exception {
+		resolver = new TestDnsResolver(100, TimeUnit.MILLISECONDS);
+		resolver.resolve("foo");
+		resolver.fail = true;
+		Thread.sleep(150);
+
+		assertThat(resolver.resolve("foo")).containsExactly(FIRST);
+		assertThat(resolver.lookups.get()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldFailWhenHostWasNeverResolved() {
+		resolver = new TestDnsResolver(1, TimeUnit.MINUTES);
+		resolver.fail = true;
+
+		assertThatThrownBy(() -> resolver.resolve("foo"))
+				.isInstanceOf(UnknownHostException.class);
+	}
+
+	private static InetAddress address(int lastByte) {
+		try {
+			return InetAddress.getByAddress("foo", new byte[] { 10, 0, 0, (byte) lastByte });
+		}
+		catch (UnknownHostException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static class TestDnsResolver extends CachingDnsResolver {
+
+		private final AtomicInteger lookups = new AtomicInteger();
+
+		private final CountDownLatch refreshed = new CountDownLatch(2);
+
+		private volatile InetAddress address = FIRST;
+
+		private volatile boolean fail;
+
+		TestDnsResolver(long timeToLive, TimeUnit timeUnit) {
+			super(timeToLive, timeUnit);
+		}
+
+		@Override
+		protected InetAddress[] lookupAddresses(String host) throws UnknownHostException {
+			lookups.incrementAndGet();
+			refreshed.countDown();
+			if (fail) {
+				throw new UnknownHostException(host);
+			}
+			return new InetAddress[] { address };
+		}
+
+	}
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link FeignConnectionWarmer}.
+ */
+class FeignConnectionWarmerTests {
+
+	private final FeignHttpClientProperties.WarmUp properties = new FeignHttpClientProperties.WarmUp();
+
+	private final DiscoveryClient discoveryClient = mock(DiscoveryClient.class);
+
+	private final RecordingClient client = new RecordingClient();
+
+	private FeignConnectionWarmer warmer;
+
+	@AfterEach
+	void tearDown() {
+		warmer.destroy();
+	}
+
+	@Test
+	void shouldOpenConnectionsToStaticUrlOnce() {
+		properties.setConnectionsPerRoute(2);
+		properties.setPath("/health");
+		warmer = new FeignConnectionWarmer(properties, discoveryClient);
+		warmer.registerUrl(client, "https://example.com:8443/api");
+
+		warmer.warmUpAll();
+		warmer.warmUpAll();
+
+		assertThat(client.requests).hasSize(2)
+				.allMatch(request -> request.httpMethod() == Request.HttpMethod.HEAD)
+				.allMatch(request -> request.url()
+						.equals("https://example.com:8443/health"));
+	}
+
+	@Test
+	void shouldOpenConnectionsToNewServiceInstances() {
+		warmer = new FeignConnectionWarmer(properties, discoveryClient);
+		warmer.registerService(client, "test");
+		given(discoveryClient.getInstances("test"))
+				.willReturn(Collections.singletonList(instance("host-1")));
+
+		warmer.warmUpAll();
+		given(discoveryClient.getInstances("test"))
+				.willReturn(Arrays.asList(instance("host-1"), instance("host-2")));
+		warmer.warmUpAll();
+
+		assertThat(client.requests).extracting(Request::url).containsExactly(
+				"http://host-1:8080/", "http://host-2:8080/");
+	}
+
+	@Test
+	void shouldRetryFailedWarmUps() {
+		warmer = new FeignConnectionWarmer(properties, discoveryClient);
+		client.fail = true;
+		warmer.registerUrl(client, "http://localhost:8080");
+
+		warmer.warmUpAll();
+		client.fail = false;
+		warmer.warmUpAll();
+		warmer.warmUpAll();
+
+		assertThat(client.requests).hasSize(2);
+	}
+
+	private static ServiceInstance instance(String host) {
+		return new DefaultServiceInstance(host, "test", host, 8080, false);
+	}
+
+	private static class RecordingClient implements Client {
+
+		private final List<Request> requests = new CopyOnWriteArrayList<>();
+
+		private volatile boolean fail;
+
+		@Override
+		public Response execute(Request request, Request.Options options)
+				throws IOException {
+			requests.add(request);
+			if (fail) {
+				throw new IOException("Connection refused");
+			}
+			return Response.builder().status(200).request(request)
+					.headers(Collections.emptyMap()).build();
+		}
+
+	}
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.net.ServerSocket;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+/**
+ * Tests for {@link HttpClientConnectionEvictor}.
+ */
+class HttpClientConnectionEvictorTests {
+
+	private final FeignHttpClientProperties properties = new FeignHttpClientProperties();
+
+	private final ConnectionPoolMetricsRecorder metricsRecorder = mock(
+			ConnectionPoolMetricsRecorder.class);
+
+	private final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+
+	private final ServerSocket server = new ServerSocket(0);
+
+	private final HttpRoute route = new HttpRoute(
+			new HttpHost("localhost", server.getLocalPort()));
+
+	private HttpClientConnectionEvictor evictor;
+
+	HttpClientConnectionEvictorTests() throws Exception {
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		evictor.destroy();
+		connectionManager.close();
+		server.close();
+	}
+
+	@Test
+	void shouldEvictExpiredConnectionsAndCountThem() throws Exception {
+		properties.setValidateAfterInactivity(500);
+		evictor = new HttpClientConnectionEvictor(properties, metricsRecorder);
+		HttpClientConnection expired = lease();
+		HttpClientConnection valid = lease();
+		connectionManager.releaseConnection(expired, null, 1, TimeUnit.NANOSECONDS);
+		connectionManager.releaseConnection(valid, null, 0, TimeUnit.MILLISECONDS);
+
+		evictor.register(connectionManager, "test");
+		evictor.evictAll();
+
+		assertThat(connectionManager.getValidateAfterInactivity()).isEqualTo(500);
+		assertThat(evictor.getEvictedConnections()).isEqualTo(1);
+		assertThat(connectionManager.getTotalStats().getAvailable()).isEqualTo(1);
+		verify(metricsRecorder).recordEvictions("test", 1);
+	}
+
+	@Test
+	void shouldNotCountLeasedConnectionsAsEvicted() throws Exception {
+		evictor = new HttpClientConnectionEvictor(properties, metricsRecorder);
+		connectionManager.releaseConnection(lease(), null, 0, TimeUnit.MILLISECONDS);
+
+		evictor.register(connectionManager, "test");
+		HttpClientConnection leased = lease();
+		evictor.evictAll();
+
+		assertThat(leased.isOpen()).isTrue();
+		assertThat(evictor.getEvictedConnections()).isZero();
+		verifyNoInteractions(metricsRecorder);
+	}
+
+	@Test
+	void shouldCloseConnectionsOfNonPoolingConnectionManagersWithoutCountingThem() {
+		properties.setIdleConnectionTimeout(10000);
+		evictor = new HttpClientConnectionEvictor(properties, metricsRecorder);
+		HttpClientConnectionManager connectionManager = mock(
+				HttpClientConnectionManager.class);
+
+		evictor.register(connectionManager, "test");
+		evictor.evictAll();
+
+		verify(connectionManager).closeExpiredConnections();
+		verify(connectionManager).closeIdleConnections(10000, TimeUnit.MILLISECONDS);
+		assertThat(evictor.getEvictedConnections()).isZero();
+		verifyNoInteractions(metricsRecorder);
+	}
+
+	@Test
+	void shouldNotCloseIdleConnectionsWhenDisabled() {
+		properties.setIdleConnectionTimeout(0);
+		evictor = new HttpClientConnectionEvictor(properties);
+		HttpClientConnectionManager connectionManager = mock(
+				HttpClientConnectionManager.class);
+
+		evictor.register(connectionManager, "test");
+		evictor.evictAll();
+
+		verify(connectionManager).closeExpiredConnections();
+		verifyNoMoreInteractions(connectionManager);
+	}
+
+	@Test
+	void shouldStopEvictingUnregisteredConnectionManagers() {
+		evictor = new HttpClientConnectionEvictor(properties);
+		HttpClientConnectionManager connectionManager = mock(
+				HttpClientConnectionManager.class);
+
+		evictor.register(connectionManager, "test");
+		evictor.unregister(connectionManager);
+		evictor.evictAll();
+
+		verifyNoInteractions(connectionManager);
+	}
+
+	private HttpClientConnection lease() throws Exception {
+		HttpClientConnection connection = connectionManager
+				.requestConnection(route, null).get(1, TimeUnit.SECONDS);
+		connectionManager.connect(connection, route, 1000, HttpClientContext.create());
+		connectionManager.routeComplete(connection, route, HttpClientContext.create());
+		return connection;
+	}
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.BasicHttpClientConnectionManager;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link InstrumentedHttpClientConnectionManager}.
+ */
+class InstrumentedHttpClientConnectionManagerTests {
+
+	private final ConnectionPoolMetricsRecorder metricsRecorder = mock(
+			ConnectionPoolMetricsRecorder.class);
+
+	private final FeignHttpClientProperties properties = new FeignHttpClientProperties();
+
+	private final PoolingHttpClientConnectionManager pool = new PoolingHttpClientConnectionManager();
+
+	private final HttpRoute route = new HttpRoute(
+			new HttpHost("example.com", 80, "http"));
+
+	@AfterEach
+	void tearDown() {
+		pool.shutdown();
+	}
+
+	@Test
+	void shouldRecordLeaseTime() throws Exception {
+		HttpClientConnectionManager connectionManager = InstrumentedHttpClientConnectionManager
+				.instrument(pool, "foo", properties, metricsRecorder);
+
+		HttpClientConnection connection = connectionManager
+				.requestConnection(route, null).get(1, TimeUnit.SECONDS);
+		connectionManager.releaseConnection(connection, null, 0, TimeUnit.SECONDS);
+
+		assertThat(connectionManager)
+				.isInstanceOf(InstrumentedHttpClientConnectionManager.class);
+		verify(metricsRecorder).bindApacheHttpPool(eq("foo"),
+				eq((InstrumentedHttpClientConnectionManager) connectionManager));
+		verify(metricsRecorder).recordLease(eq("foo"), eq(route), anyLong());
+	}
+
+	@Test
+	void shouldRecordLeaseTimeouts() throws Exception {
+		pool.setDefaultMaxPerRoute(1);
+		HttpClientConnectionManager connectionManager = InstrumentedHttpClientConnectionManager
+				.instrument(pool, "foo", properties, metricsRecorder);
+		HttpClientConnection connection = connectionManager
+				.requestConnection(route, null).get(1, TimeUnit.SECONDS);
+
+		assertThatThrownBy(() -> connectionManager.requestConnection(route, null)
+				.get(10, TimeUnit.MILLISECONDS))
+						.isInstanceOf(ConnectionPoolTimeoutException.class);
+		connectionManager.releaseConnection(connection, null, 0, TimeUnit.SECONDS);
+
+		verify(metricsRecorder).recordLeaseFailure("foo", route,
+				InstrumentedHttpClientConnectionManager.TIMEOUT);
+	}
+
+	@Test
+	void shouldFailFastWhenTooManyRequestsWait() throws Exception {
+		pool.setDefaultMaxPerRoute(1);
+		properties.setMaxWaiters(1);
+		HttpClientConnectionManager connectionManager = InstrumentedHttpClientConnectionManager
+				.instrument(pool, "foo", properties, metricsRecorder);
+		HttpClientConnection connection = connectionManager
+				.requestConnection(route, null).get(1, TimeUnit.SECONDS);
+		CompletableFuture<HttpClientConnection> waiter = CompletableFuture
+				.supplyAsync(() -> {
+					try {
+						return connectionManager.requestConnection(route, null).get(5,
+								TimeUnit.SECONDS);
+					}
+					catch (Exception e) {
+						throw new IllegalStateException(e);
+					}
+				});
+		while (pool.getStats(route).getPending() == 0) {
+			Thread.sleep(10);
+		}
+
+		assertThatThrownBy(() -> connectionManager.requestConnection(route, null)
+				.get(5, TimeUnit.SECONDS))
+						.isInstanceOf(ConnectionPoolTimeoutException.class)
+						.hasMessageContaining("Too many requests waiting");
+		connectionManager.releaseConnection(connection, null, 0, TimeUnit.SECONDS);
+
+		assertThat(waiter.get(5, TimeUnit.SECONDS)).isNotNull();
+		verify(metricsRecorder).recordLeaseFailure("foo", route,
+				InstrumentedHttpClientConnectionManager.MAX_WAITERS);
+	}
+
+	@Test
+	void shouldApplySocketTimeout() {
+		properties.setSocketTimeout(1234);
+
+		InstrumentedHttpClientConnectionManager.instrument(pool, "foo", properties,
+				null);
+
+		assertThat(pool.getDefaultSocketConfig().getSoTimeout()).isEqualTo(1234);
+	}
+
+	@Test
+	void shouldKeepDefaultSocketConfigByDefault() {
+		SocketConfig socketConfig = pool.getDefaultSocketConfig();
+
+		InstrumentedHttpClientConnectionManager.instrument(pool, "foo", properties,
+				null);
+
+		assertThat(pool.getDefaultSocketConfig()).isSameAs(socketConfig);
+	}
+
+	@Test
+	void shouldNotDecorateWithoutMaxWaitersOrMetricsRecorder() {
+		assertThat(InstrumentedHttpClientConnectionManager.instrument(pool, "foo",
+				properties, null)).isSameAs(pool);
+	}
+
+	@Test
+	void shouldNotDecorateNonPoolingConnectionManagers() {
+		BasicHttpClientConnectionManager connectionManager = new BasicHttpClientConnectionManager();
+
+		assertThat(InstrumentedHttpClientConnectionManager.instrument(connectionManager,
+				"foo", properties, metricsRecorder)).isSameAs(connectionManager);
+	}
+
+}
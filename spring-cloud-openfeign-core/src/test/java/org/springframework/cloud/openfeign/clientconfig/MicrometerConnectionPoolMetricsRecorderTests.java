@@ -0,0 +1,111 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.ConnectionPool;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.pool.PoolStats;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link MicrometerConnectionPoolMetricsRecorder}.
+ */
+class MicrometerConnectionPoolMetricsRecorderTests {
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final MicrometerConnectionPoolMetricsRecorder recorder = new MicrometerConnectionPoolMetricsRecorder(
+			meterRegistry);
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void shouldReportApacheHttpPoolPerRoute() {
+		ConnPoolControl<HttpRoute> pool = mock(ConnPoolControl.class);
+		HttpRoute route = new HttpRoute(new HttpHost("example.com", 443, "https"));
+		given(pool.getStats(route)).willReturn(new PoolStats(2, 1, 3, 50));
+
+		recorder.bindApacheHttpPool("foo", pool);
+		recorder.recordLease("foo", route, TimeUnit.MILLISECONDS.toNanos(5));
+
+		assertThat(gauge("feign.client.connections.leased", "foo",
+				"https://example.com:443")).isEqualTo(2);
+		assertThat(gauge("feign.client.connections.pending", "foo",
+				"https://example.com:443")).isEqualTo(1);
+		assertThat(gauge("feign.client.connections.available", "foo",
+				"https://example.com:443")).isEqualTo(3);
+		assertThat(meterRegistry.get("feign.client.connections.lease")
+				.tag("client", "foo").timer().totalTime(TimeUnit.MILLISECONDS))
+						.isEqualTo(5);
+	}
+
+	@Test
+	void shouldIgnoreLeasesOfUnboundPools() {
+		recorder.recordLease("foo",
+				new HttpRoute(new HttpHost("example.com", 80, "http")), 1);
+
+		assertThat(meterRegistry.getMeters()).isEmpty();
+	}
+
+	@Test
+	void shouldCountLeaseFailures() {
+		HttpRoute route = new HttpRoute(new HttpHost("example.com", 80, "http"));
+
+		recorder.recordLeaseFailure("foo", route,
+				InstrumentedHttpClientConnectionManager.MAX_WAITERS);
+		recorder.recordLeaseFailure("foo", route,
+				InstrumentedHttpClientConnectionManager.MAX_WAITERS);
+
+		assertThat(meterRegistry.get("feign.client.connections.lease.failures")
+				.tag("client", "foo").tag("route", "http://example.com:80")
+				.tag("cause", "max-waiters").counter().count()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldCountEvictions() {
+		recorder.recordEvictions("foo", 2);
+		recorder.recordEvictions("foo", 3);
+
+		assertThat(meterRegistry.get("feign.client.connections.evicted")
+				.tag("client", "foo").counter().count()).isEqualTo(5);
+	}
+
+	@Test
+	void shouldReportOkHttpPoolAsAWhole() {
+		recorder.bindOkHttpPool(ConnectionPoolMetricsRecorder.SHARED_POOL,
+				new ConnectionPool());
+
+		assertThat(gauge("feign.client.connections.leased", "shared", "all")).isZero();
+		assertThat(gauge("feign.client.connections.available", "shared", "all"))
+				.isZero();
+	}
+
+	private double gauge(String name, String client, String route) {
+		return meterRegistry.get(name).tag("client", client).tag("route", route).gauge()
+				.value();
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.util.concurrent.TimeUnit;
+
+import feign.Client;
+import feign.okhttp.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.commons.httpclient.DefaultOkHttpClientConnectionPoolFactory;
+import org.springframework.cloud.openfeign.FeignClientProperties.ConnectionPoolConfiguration;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link OkHttpIsolatedClientFactory}.
+ */
+class OkHttpIsolatedClientFactoryTests {
+
+	private final okhttp3.OkHttpClient sharedClient = new okhttp3.OkHttpClient.Builder()
+			.followRedirects(false).build();
+
+	private final OkHttpIsolatedClientFactory factory = new OkHttpIsolatedClientFactory(
+			sharedClient, new DefaultOkHttpClientConnectionPoolFactory(),
+			new FeignHttpClientProperties(), null);
+
+	@AfterEach
+	void tearDown() {
+		factory.destroy();
+	}
+
+	@Test
+	void shouldSupportOkHttpClientsOnly() {
+		assertThat(factory.supports(new OkHttpClient(sharedClient))).isTrue();
+		assertThat(factory.supports(new Client.Default(null, null))).isFalse();
+	}
+
+	@Test
+	void shouldCreateOneClientWithDedicatedPoolPerContextId() {
+		ConnectionPoolConfiguration pool = new ConnectionPoolConfiguration();
+		pool.setMaxConnections(3);
+		pool.setTimeToLive(30L);
+		pool.setTimeToLiveUnit(TimeUnit.SECONDS);
+
+		Client foo = factory.create("foo", pool);
+		Client bar = factory.create("bar", pool);
+
+		assertThat(factory.create("foo", pool)).isSameAs(foo);
+		okhttp3.OkHttpClient fooDelegate = delegate(foo);
+		okhttp3.OkHttpClient barDelegate = delegate(bar);
+		assertThat(fooDelegate.connectionPool())
+				.isNotSameAs(sharedClient.connectionPool())
+				.isNotSameAs(barDelegate.connectionPool());
+		assertThat(fooDelegate.followRedirects()).isFalse();
+		assertThat(fooDelegate.dispatcher()).isSameAs(sharedClient.dispatcher());
+	}
+
+	private static okhttp3.OkHttpClient delegate(Client client) {
+		return (okhttp3.OkHttpClient) ReflectionTestUtils.getField(client, "delegate");
+	}
+
+}
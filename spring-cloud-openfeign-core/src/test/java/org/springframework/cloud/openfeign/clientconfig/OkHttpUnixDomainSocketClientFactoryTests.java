@@ -0,0 +1,59 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import feign.Client;
+import okhttp3.Protocol;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link OkHttpUnixDomainSocketClientFactory}.
+ */
+class OkHttpUnixDomainSocketClientFactoryTests {
+
+	private final okhttp3.OkHttpClient sharedClient = new okhttp3.OkHttpClient.Builder()
+			.followRedirects(false).build();
+
+	private final OkHttpUnixDomainSocketClientFactory factory = new OkHttpUnixDomainSocketClientFactory(
+			sharedClient);
+
+	@Test
+	void shouldCreateOneClientPerSocketPath() {
+		Client foo = factory.create("/var/run/foo.sock");
+		Client bar = factory.create("/var/run/bar.sock");
+
+		assertThat(factory.create("/var/run/foo.sock")).isSameAs(foo);
+		okhttp3.OkHttpClient fooDelegate = delegate(foo);
+		assertThat(fooDelegate.socketFactory())
+				.isInstanceOfSatisfying(UnixDomainSocketFactory.class,
+						socketFactory -> assertThat(socketFactory.getSocketPath())
+								.isEqualTo("/var/run/foo.sock"))
+				.isNotSameAs(delegate(bar).socketFactory());
+		assertThat(fooDelegate.protocols()).containsExactly(Protocol.HTTP_1_1);
+		assertThat(fooDelegate.followRedirects()).isFalse();
+		assertThat(fooDelegate.connectionPool()).isSameAs(sharedClient.connectionPool());
+	}
+
+	private static okhttp3.OkHttpClient delegate(Client client) {
+		return (okhttp3.OkHttpClient) ReflectionTestUtils.getField(client, "delegate");
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.X509KeyManager;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Tests for {@link SharedSslContext}.
+ */
+class SharedSslContextTests {
+
+	@Test
+	void shouldConfigureClientSessionCache() {
+		SharedSslContext sslContext = new SharedSslContext(false, 100, 600);
+
+		SSLSessionContext sessionContext = sslContext.getSslContext()
+				.getClientSessionContext();
+		assertThat(sessionContext.getSessionCacheSize()).isEqualTo(100);
+		assertThat(sessionContext.getSessionTimeout()).isEqualTo(600);
+	}
+
+	@Test
+	void shouldUseDefaultTrustStore() {
+		SharedSslContext sslContext = new SharedSslContext(false, 0, 0);
+
+		assertThat(sslContext.getTrustManager().getAcceptedIssuers()).isNotEmpty();
+	}
+
+	@Test
+	void shouldTrustAllCertificatesWhenValidationIsDisabled() {
+		SharedSslContext sslContext = new SharedSslContext(true, 0, 0);
+
+		assertThat(sslContext.getTrustManager().getAcceptedIssuers()).isEmpty();
+		assertThatCode(() -> sslContext.getTrustManager()
+				.checkServerTrusted(new X509Certificate[0], "RSA"))
+						.doesNotThrowAnyException();
+	}
+
+	@Test
+	void shouldNotSetKeyManagersWithoutDefaultKeyStore() throws Exception {
+		String keyStore = System.clearProperty("javax.net.ssl.keyStore");
+		try {
+			assertThat(SharedSslContext.defaultKeyManagers()).isNull();
+		}
+		finally {
+			if (keyStore != null) {
+				System.setProperty("javax.net.ssl.keyStore", keyStore);
+			}
+		}
+	}
+
+	@Test
+	void shouldReadKeyManagersFromDefaultKeyStore(@TempDir Path directory)
+			throws Exception {
+		Path path = directory.resolve("client.p12");
+		KeyStore keyStore = KeyStore.getInstance("PKCS12");
+		keyStore.load(null, null);
+		try (OutputStream outputStream = new FileOutputStream(path.toFile())) {
+			keyStore.store(outputStream, "secret".toCharArray());
+		}
+		System.setProperty("javax.net.ssl.keyStore", path.toString());
+		System.setProperty("javax.net.ssl.keyStoreType", "PKCS12");
+		System.setProperty("javax.net.ssl.keyStorePassword", "secret");
+		try {
+			KeyManager[] keyManagers = SharedSslContext.defaultKeyManagers();
+
+			assertThat(keyManagers).hasAtLeastOneElementOfType(X509KeyManager.class);
+			assertThatCode(() -> new SharedSslContext(false, 0, 0))
+					.doesNotThrowAnyException();
+		}
+		finally {
+			System.clearProperty("javax.net.ssl.keyStore");
+			System.clearProperty("javax.net.ssl.keyStoreType");
+			System.clearProperty("javax.net.ssl.keyStorePassword");
+		}
+	}
+
+}
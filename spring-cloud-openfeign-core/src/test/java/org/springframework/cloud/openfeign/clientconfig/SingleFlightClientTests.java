@@ -0,0 +1,155 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.clientconfig;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link SingleFlightClient}.
+ */
+class SingleFlightClientTests {
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	private final AtomicInteger requests = new AtomicInteger();
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private final CountDownLatch sent = new CountDownLatch(2);
+
+	private final CountDownLatch arrivals = new CountDownLatch(5);
+
+	private final Client delegate = (request, options) -> {
+		requests.incrementAndGet();
+		sent.countDown();
+		try {
+			release.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return Response.builder().status(200).request(request)
+				.headers(Collections.emptyMap())
+				.body("hello", StandardCharsets.UTF_8).build();
+	};
+
+	private final SingleFlightClient client = new SingleFlightClient(delegate,
+			new ArrivalCountingFlights());
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void shouldShareResponseOfIdenticalRequests() throws Exception {
+		List<Future<String>> bodies = IntStream.range(0, 5)
+				.mapToObj(i -> executor.submit(() -> body(
+						client.execute(get("http://localhost/config", "a"), options()))))
+				.collect(Collectors.toList());
+		assertThat(arrivals.await(5, TimeUnit.SECONDS)).isTrue();
+		release.countDown();
+
+		for (Future<String> body : bodies) {
+			assertThat(body.get(5, TimeUnit.SECONDS)).isEqualTo("hello");
+		}
+		assertThat(requests.get()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldNotShareResponseOfRequestsWithDifferentHeaders() throws Exception {
+		Future<Response> first = executor.submit(
+				() -> client.execute(get("http://localhost/config", "a"), options()));
+		Future<Response> second = executor.submit(
+				() -> client.execute(get("http://localhost/config", "b"), options()));
+		assertThat(sent.await(5, TimeUnit.SECONDS)).isTrue();
+		release.countDown();
+
+		assertThat(body(first.get(5, TimeUnit.SECONDS))).isEqualTo("hello");
+		assertThat(body(second.get(5, TimeUnit.SECONDS))).isEqualTo("hello");
+		assertThat(requests.get()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldNotShareResponseOfPostRequests() throws Exception {
+		release.countDown();
+		Request post = Request.create(Request.HttpMethod.POST, "http://localhost/config",
+				Collections.emptyMap(), "{}".getBytes(StandardCharsets.UTF_8),
+				StandardCharsets.UTF_8, null);
+
+		client.execute(post, options());
+		client.execute(post, options());
+
+		assertThat(requests.get()).isEqualTo(2);
+	}
+
+	private static Request get(String url, String token) {
+		Map<String, Collection<String>> headers = Collections
+				.singletonMap("Authorization", Collections.singletonList(token));
+		return Request.create(Request.HttpMethod.GET, url, headers, null, null, null);
+	}
+
+	private static Request.Options options() {
+		return new Request.Options();
+	}
+
+	private static String body(Response response) throws Exception {
+		return Util.toString(response.body().asReader(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Counts the requests arriving in the flights, each of them either sending its
+	 * request or sharing the response of an identical one.
+	 */
+	private class ArrivalCountingFlights extends
+			ConcurrentHashMap<SingleFlightClient.Flight, CompletableFuture<Response>> {
+
+		@Override
+		public CompletableFuture<Response> putIfAbsent(SingleFlightClient.Flight flight,
+				CompletableFuture<Response> response) {
+			CompletableFuture<Response> sharedResponse = super.putIfAbsent(flight,
+					response);
+			arrivals.countDown();
+			return sharedResponse;
+		}
+
+	}
+
+}
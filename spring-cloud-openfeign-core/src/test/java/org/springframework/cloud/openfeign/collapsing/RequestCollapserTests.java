@@ -0,0 +1,263 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.collapsing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.openfeign.CollapseInto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link RequestCollapser}.
+ */
+class RequestCollapserTests {
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	private final RequestCollapser collapser = new RequestCollapser(executor);
+
+	private final TestUserClient target = new TestUserClient();
+
+	private final UserClient client = collapser.collapse(UserClient.class, target);
+
+	@AfterEach
+	void tearDown() {
+		target.slowBatch.countDown();
+		collapser.destroy();
+		executor.shutdownNow();
+	}
+
+	@Test
+	void shouldCollapseConcurrentCallsIntoBatch() throws Exception {
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<User>> users = new ArrayList<>();
+		for (long id = 1; id <= 5; id++) {
+			long userId = id;
+			users.add(executor.submit(() -> {
+				start.await();
+				return client.getUser(userId);
+			}));
+		}
+		start.countDown();
+
+		for (int i = 0; i < users.size(); i++) {
+			assertThat(users.get(i).get(5, TimeUnit.SECONDS).getId()).isEqualTo(i + 1L);
+		}
+		assertThat(target.batches).hasSize(1);
+		assertThat(target.batches.get(0)).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+	}
+
+	@Test
+	void shouldSendFullBatchImmediately() {
+		User user = client.getUserNow(1L);
+
+		assertThat(user.getId()).isEqualTo(1L);
+		assertThat(target.batches).containsExactly(Collections.singletonList(1L));
+	}
+
+	@Test
+	void shouldReturnNullForMissingItem() {
+		assertThat(client.getUser(TestUserClient.MISSING_ID)).isNull();
+	}
+
+	@Test
+	void shouldCollapseIntoMap() {
+		assertThat(client.getName(2L)).isEqualTo("user-2");
+	}
+
+	@Test
+	void shouldPropagateBatchErrors() {
+		assertThatThrownBy(() -> client.getUser(TestUserClient.FAILING_ID))
+				.isInstanceOf(IllegalStateException.class).hasMessage("failed");
+	}
+
+	@Test
+	void shouldTimeOutWaitingForBatch() {
+		assertThatThrownBy(() -> client.getUserSlowly(1L))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("timed out after 100 ms");
+	}
+
+	@Test
+	void shouldSendExpiredBatchesOnOwnThreadsByDefault() {
+		RequestCollapser defaultCollapser = new RequestCollapser();
+		try {
+			UserClient defaultClient = defaultCollapser.collapse(UserClient.class,
+					target);
+
+			assertThat(defaultClient.getUser(1L).getId()).isEqualTo(1L);
+			assertThat(target.batchThreads).hasSize(1);
+			assertThat(target.batchThreads.get(0)).startsWith("feign-collapser-batch-");
+		}
+		finally {
+			defaultCollapser.destroy();
+		}
+	}
+
+	@Test
+	void shouldPassOtherCalls() {
+		assertThat(client.getUsers(Collections.singletonList(3L))).hasSize(1);
+		assertThat(client).isEqualTo(client);
+		assertThat(client).isNotEqualTo(target);
+	}
+
+	@Test
+	void shouldOnlyCreateSchedulerForCollapsedMethods() {
+		RequestCollapser lazyCollapser = new RequestCollapser(executor);
+		Runnable other = () -> {
+		};
+
+		assertThat(lazyCollapser.collapse(Runnable.class, other)).isSameAs(other);
+		assertThat(lazyCollapser.isSchedulerCreated()).isFalse();
+		lazyCollapser.collapse(UserClient.class, target);
+		assertThat(lazyCollapser.isSchedulerCreated()).isTrue();
+		lazyCollapser.destroy();
+	}
+
+	@Test
+	void shouldRejectMissingBatchMethod() {
+		assertThatThrownBy(
+				() -> collapser.collapse(InvalidClient.class, id -> String.valueOf(id)))
+						.isInstanceOf(IllegalStateException.class)
+						.hasMessageContaining("getAll");
+	}
+
+	interface UserClient {
+
+		@CollapseInto(value = "getUsers", resultKey = "id", window = 50)
+		User getUser(Long id);
+
+		@CollapseInto(value = "getUsers", resultKey = "id", maxBatchSize = 1,
+				window = 60000)
+		User getUserNow(Long id);
+
+		List<User> getUsers(List<Long> ids);
+
+		@CollapseInto(value = "getUsersSlowly", resultKey = "id", window = 0,
+				timeout = 100)
+		User getUserSlowly(Long id);
+
+		List<User> getUsersSlowly(List<Long> ids);
+
+		@CollapseInto("getNames")
+		String getName(Long id);
+
+		Map<Long, String> getNames(Set<Long> ids);
+
+	}
+
+	interface InvalidClient {
+
+		@CollapseInto("getAll")
+		String get(Long id);
+
+	}
+
+	static class TestUserClient implements UserClient {
+
+		static final long MISSING_ID = 404;
+
+		static final long FAILING_ID = 500;
+
+		final List<List<Long>> batches = new CopyOnWriteArrayList<>();
+
+		final List<String> batchThreads = new CopyOnWriteArrayList<>();
+
+		final CountDownLatch slowBatch = new CountDownLatch(1);
+
+		@Override
+		public User getUser(Long id) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public User getUserNow(Long id) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<User> getUsers(List<Long> ids) {
+			batches.add(ids);
+			batchThreads.add(Thread.currentThread().getName());
+			if (ids.contains(FAILING_ID)) {
+				throw new IllegalStateException("failed");
+			}
+			return ids.stream().filter(id -> id != MISSING_ID).map(User::new)
+					.collect(Collectors.toList());
+		}
+
+		@Override
+		public User getUserSlowly(Long id) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<User> getUsersSlowly(List<Long> ids) {
+			try {
+				slowBatch.await();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return getUsers(ids);
+		}
+
+		@Override
+		public String getName(Long id) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Map<Long, String> getNames(Set<Long> ids) {
+			return ids.stream()
+					.collect(Collectors.toMap(Function.identity(), id -> "user-" + id));
+		}
+
+	}
+
+	public static class User {
+
+		private final Long id;
+
+		User(Long id) {
+			this.id = id;
+		}
+
+		public Long getId() {
+			return id;
+		}
+
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.loadbalancer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ConsistentHashRing}.
+ */
+class ConsistentHashRingTests {
+
+	@Test
+	void shouldReturnNullForEmptyRing() {
+		ConsistentHashRing ring = new ConsistentHashRing(Collections.emptyList());
+
+		assertThat(ring.select("key")).isNull();
+	}
+
+	@Test
+	void shouldRouteSameKeyToSameInstance() {
+		ConsistentHashRing ring = new ConsistentHashRing(instances(5));
+
+		ServiceInstance first = ring.select("tenant-42");
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(ring.select("tenant-42")).isSameAs(first);
+		}
+	}
+
+	@Test
+	void shouldOnlyRemapKeysOfRemovedInstance() {
+		List<ServiceInstance> instances = instances(5);
+		ConsistentHashRing ring = new ConsistentHashRing(instances);
+		Map<String, ServiceInstance> before = new HashMap<>();
+		for (int i = 0; i < 1000; i++) {
+			before.put("key-" + i, ring.select("key-" + i));
+		}
+		ServiceInstance removed = instances.remove(2);
+
+		ConsistentHashRing shrunk = new ConsistentHashRing(instances);
+
+		before.forEach((key, owner) -> {
+			if (owner != removed) {
+				assertThat(shrunk.select(key)).isSameAs(owner);
+			}
+		});
+	}
+
+	@Test
+	void shouldSpreadKeysAcrossInstances() {
+		ConsistentHashRing ring = new ConsistentHashRing(instances(4));
+		Map<String, Integer> counts = new HashMap<>();
+
+		for (int i = 0; i < 10000; i++) {
+			counts.merge(ring.select("key-" + i).getInstanceId(), 1, Integer::sum);
+		}
+
+		assertThat(counts).hasSize(4);
+		assertThat(counts.values()).allSatisfy(count -> assertThat(count)
+				.isBetween(1500, 3500));
+	}
+
+	@Test
+	void shouldDetectChangedInstances() {
+		List<ServiceInstance> instances = instances(3);
+		ConsistentHashRing ring = new ConsistentHashRing(instances);
+		List<ServiceInstance> reordered = new ArrayList<>(instances);
+		Collections.reverse(reordered);
+
+		assertThat(ring.hasSameNodes(reordered)).isTrue();
+		assertThat(ring.hasSameNodes(instances.subList(0, 2))).isFalse();
+		assertThat(ring.hasSameNodes(Arrays.asList(instances.get(0), instances.get(1),
+				instance(7)))).isFalse();
+	}
+
+	private static List<ServiceInstance> instances(int count) {
+		List<ServiceInstance> instances = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			instances.add(instance(i));
+		}
+		return instances;
+	}
+
+	private static ServiceInstance instance(int index) {
+		return new DefaultServiceInstance("test-" + index, "test", "10.0.0." + index,
+				8080, false);
+	}
+
+}
@@ -35,14 +35,18 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cloud.client.DefaultServiceInstance;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.loadbalancer.blocking.client.BlockingLoadBalancerClient;
+import org.springframework.cloud.openfeign.RoutingKey;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -65,8 +69,18 @@ class FeignBlockingLoadBalancerClientTests {
 	private BlockingLoadBalancerClient loadBalancerClient = mock(
 			BlockingLoadBalancerClient.class);
 
+	private ConsistentHashServiceInstanceChooser consistentHashChooser = mock(
+			ConsistentHashServiceInstanceChooser.class);
+
+	private ServiceInstanceSnapshotCache instanceCache = mock(
+			ServiceInstanceSnapshotCache.class);
+
+	private LoadBalancerMetricsRecorder metricsRecorder = mock(
+			LoadBalancerMetricsRecorder.class);
+
 	private FeignBlockingLoadBalancerClient feignBlockingLoadBalancerClient = new FeignBlockingLoadBalancerClient(
-			delegate, loadBalancerClient);
+			delegate, loadBalancerClient, consistentHashChooser, instanceCache,
+			metricsRecorder);
 
 	@Test
 	void shouldExtractServiceIdFromRequestUrl() throws IOException {
@@ -98,6 +112,7 @@ class FeignBlockingLoadBalancerClientTests {
 		assertThat(response.status()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
 		assertThat(response.body().toString()).isEqualTo(
 				"Load balancer does not contain an instance for the service test");
+		verify(metricsRecorder).recordChoice(eq("test"), isNull(), anyLong());
 	}
 
 	@Test
@@ -113,6 +128,8 @@ class FeignBlockingLoadBalancerClientTests {
 
 		feignBlockingLoadBalancerClient.execute(request, options);
 
+		verify(metricsRecorder).recordChoice(eq("test"), eq(serviceInstance),
+				anyLong());
 		ArgumentCaptor<Request> captor = ArgumentCaptor.forClass(Request.class);
 		verify(delegate, times(1)).execute(captor.capture(), eq(options));
 		Request actualRequest = captor.getValue();
@@ -124,6 +141,51 @@ class FeignBlockingLoadBalancerClientTests {
 		assertThat(new String(actualRequest.body())).isEqualTo("hello");
 	}
 
+	@Test
+	void shouldChooseInstanceByRoutingKey() throws IOException {
+		Map<String, Collection<String>> headers = testHeaders();
+		headers.put(RoutingKey.HEADER_NAME, Collections.singletonList("tenant-1"));
+		Request request = Request.create(Request.HttpMethod.GET, "http://test/path",
+				headers, "hello".getBytes(), StandardCharsets.UTF_8, null);
+		Request.Options options = new Request.Options();
+		String url = "http://127.0.0.1/path";
+		ServiceInstance serviceInstance = new DefaultServiceInstance("test-1", "test",
+				"test-host", 8888, false);
+		when(consistentHashChooser.choose("test", "tenant-1"))
+				.thenReturn(serviceInstance);
+		when(loadBalancerClient.reconstructURI(serviceInstance,
+				URI.create("http://test/path"))).thenReturn(URI.create(url));
+
+		feignBlockingLoadBalancerClient.execute(request, options);
+
+		verify(loadBalancerClient, never()).choose("test");
+		ArgumentCaptor<Request> captor = ArgumentCaptor.forClass(Request.class);
+		verify(delegate, times(1)).execute(captor.capture(), eq(options));
+		assertThat(captor.getValue().url()).isEqualTo(url);
+		assertThat(captor.getValue().headers()).doesNotContainKey(RoutingKey.HEADER_NAME)
+				.containsKey(HttpHeaders.CONTENT_TYPE);
+	}
+
+	@Test
+	void shouldChooseInstanceFromCachedSnapshot() throws IOException {
+		Request request = testRequest();
+		Request.Options options = new Request.Options();
+		ServiceInstance serviceInstance = new DefaultServiceInstance("test-1", "test",
+				"test-host", 8888, false);
+		when(instanceCache.getSnapshot("test")).thenReturn(
+				new ServiceInstanceSnapshot(Collections.singletonList(serviceInstance)));
+		when(loadBalancerClient.reconstructURI(serviceInstance,
+				URI.create("http://test/path")))
+						.thenReturn(URI.create("http://test-host:8888/path"));
+
+		feignBlockingLoadBalancerClient.execute(request, options);
+
+		verify(loadBalancerClient, never()).choose("test");
+		ArgumentCaptor<Request> captor = ArgumentCaptor.forClass(Request.class);
+		verify(delegate, times(1)).execute(captor.capture(), eq(options));
+		assertThat(captor.getValue().url()).isEqualTo("http://test-host:8888/path");
+	}
+
 	private Request testRequest() {
 		return testRequest("test");
 	}
@@ -18,6 +18,7 @@ package org.springframework.cloud.openfeign.loadbalancer;
 
 import java.util.Map;
 
+import feign.AsyncClient;
 import feign.Client;
 import feign.httpclient.ApacheHttpClient;
 import feign.okhttp.OkHttpClient;
@@ -25,13 +26,22 @@ import org.junit.Test;
 
 import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
 import org.springframework.cloud.commons.httpclient.HttpClientConfiguration;
 import org.springframework.cloud.loadbalancer.blocking.client.BlockingLoadBalancerClient;
 import org.springframework.cloud.loadbalancer.config.BlockingLoadBalancerClientAutoConfiguration;
 import org.springframework.cloud.loadbalancer.config.LoadBalancerAutoConfiguration;
+import org.springframework.cloud.openfeign.async.FeignAsyncExecutor;
+import org.springframework.cloud.openfeign.clientconfig.JdkHttpClients;
+import org.springframework.cloud.openfeign.hc5.ApacheHttp5Client;
+import org.springframework.cloud.openfeign.hc5.AsyncApacheHttp5Client;
+import org.springframework.cloud.openfeign.netty.ReactorNettyClient;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
 /**
  * @author Olga Maciaszek-Sharma
@@ -46,6 +56,40 @@ public class FeignLoadBalancerAutoConfigurationTests {
 		assertLoadBalanced(context, Client.Default.class);
 	}
 
+	@Test
+	public void shouldNotInstantiateAsyncClientWithoutNonBlockingClient() {
+		ConfigurableApplicationContext context = initContext(
+				"feign.httpclient.enabled=false");
+		assertThat(context.getBeansOfType(AsyncClient.class)).isEmpty();
+	}
+
+	@Test
+	public void shouldNotInstantiateAsyncClientWithoutReactiveLoadBalancerFactory() {
+		ConfigurableApplicationContext context = initContextWithoutReactiveLoadBalancer(
+				"feign.httpclient.enabled=false");
+		assertThatOneBeanPresent(context, FeignBlockingLoadBalancerClient.class);
+		assertThat(context.getBeansOfType(FeignReactiveLoadBalancerClient.class))
+				.isEmpty();
+	}
+
+	@Test
+	public void shouldNotInstantiateHttpClient5AsyncClientWithoutReactiveLoadBalancerFactory() {
+		ConfigurableApplicationContext context = initContextWithoutReactiveLoadBalancer(
+				"feign.httpclient.enabled=false", "feign.httpclient.hc5.enabled=true");
+		assertLoadBalanced(context, ApacheHttp5Client.class);
+		assertThat(context.getBeansOfType(FeignReactiveLoadBalancerClient.class))
+				.isEmpty();
+	}
+
+	@Test
+	public void shouldNotInstantiateReactorNettyAsyncClientWithoutReactiveLoadBalancerFactory() {
+		ConfigurableApplicationContext context = initContextWithoutReactiveLoadBalancer(
+				"feign.httpclient.enabled=false", "feign.netty.enabled=true");
+		assertLoadBalanced(context, ReactorNettyClient.class);
+		assertThat(context.getBeansOfType(FeignReactiveLoadBalancerClient.class))
+				.isEmpty();
+	}
+
 	@Test
 	public void shouldInstantiateHttpFeignClientWhenEnabled() {
 		ConfigurableApplicationContext context = initContext(
@@ -62,12 +106,44 @@ public class FeignLoadBalancerAutoConfigurationTests {
 		assertLoadBalanced(context, OkHttpClient.class);
 	}
 
+	@Test
+	public void shouldInstantiateHttp2FeignClientWhenEnabled() {
+		ConfigurableApplicationContext context = initContext(
+				"feign.httpclient.enabled=false", "feign.http2client.enabled=true");
+		assertThatOneBeanPresent(context, BlockingLoadBalancerClient.class);
+		// referenced by name, as feign-java11 needs Java 11
+		assertThat(context.getBean(FeignBlockingLoadBalancerClient.class).getDelegate()
+				.getClass().getName()).isEqualTo(JdkHttpClients.FEIGN_CLIENT_CLASS_NAME);
+	}
+
+	@Test
+	public void shouldInstantiateHttpClient5FeignClientsWhenEnabled() {
+		ConfigurableApplicationContext context = initContext(
+				"feign.httpclient.enabled=false", "feign.httpclient.hc5.enabled=true");
+		assertThatOneBeanPresent(context, BlockingLoadBalancerClient.class);
+		assertLoadBalanced(context, ApacheHttp5Client.class);
+		assertThat(context.getBean(FeignReactiveLoadBalancerClient.class).getDelegate())
+				.isInstanceOf(AsyncApacheHttp5Client.class);
+	}
+
 	private ConfigurableApplicationContext initContext(String... properties) {
 		return new SpringApplicationBuilder().web(WebApplicationType.NONE)
 				.properties(properties)
 				.sources(HttpClientConfiguration.class,
 						LoadBalancerAutoConfiguration.class,
 						BlockingLoadBalancerClientAutoConfiguration.class,
+						AsyncExecutorConfiguration.class,
+						FeignLoadBalancerAutoConfiguration.class)
+				.run();
+	}
+
+	private ConfigurableApplicationContext initContextWithoutReactiveLoadBalancer(
+			String... properties) {
+		return new SpringApplicationBuilder().web(WebApplicationType.NONE)
+				.properties(properties)
+				.sources(HttpClientConfiguration.class,
+						LoadBalancerClientConfiguration.class,
+						AsyncExecutorConfiguration.class,
 						FeignLoadBalancerAutoConfiguration.class)
 				.run();
 	}
@@ -86,4 +162,24 @@ public class FeignLoadBalancerAutoConfigurationTests {
 		assertThat(beans.get("feignClient").getDelegate()).isInstanceOf(delegateClass);
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	static class AsyncExecutorConfiguration {
+
+		@Bean
+		FeignAsyncExecutor feignAsyncExecutor() {
+			return FeignAsyncExecutor.bounded(1);
+		}
+
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class LoadBalancerClientConfiguration {
+
+		@Bean
+		LoadBalancerClient loadBalancerClient() {
+			return mock(LoadBalancerClient.class);
+		}
+
+	}
+
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.loadbalancer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import feign.AsyncClient;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.reactive.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.reactive.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link FeignReactiveLoadBalancerClient}.
+ */
+@SuppressWarnings("unchecked")
+class FeignReactiveLoadBalancerClientTests {
+
+	private AsyncClient<Object> delegate = mock(AsyncClient.class);
+
+	private ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory = mock(
+			ReactiveLoadBalancer.Factory.class);
+
+	private ReactiveLoadBalancer<ServiceInstance> loadBalancer = mock(
+			ReactiveLoadBalancer.class);
+
+	private FeignReactiveLoadBalancerClient client = new FeignReactiveLoadBalancerClient(
+			delegate, loadBalancerFactory);
+
+	@Test
+	void shouldPassReconstructedRequestToDelegate() {
+		Request.Options options = new Request.Options();
+		ServiceInstance serviceInstance = new DefaultServiceInstance("test-1", "test",
+				"test-host", 8888, false);
+		Response response = Response.builder().status(200).request(testRequest())
+				.build();
+		when(loadBalancerFactory.getInstance("test")).thenReturn(loadBalancer);
+		when(loadBalancer.choose())
+				.thenReturn(Mono.just(new DefaultResponse(serviceInstance)));
+		when(delegate.execute(any(Request.class), eq(options), eq(Optional.empty())))
+				.thenReturn(CompletableFuture.completedFuture(response));
+
+		Response actual = client.execute(testRequest(), options, Optional.empty())
+				.join();
+
+		assertThat(actual).isSameAs(response);
+		ArgumentCaptor<Request> captor = ArgumentCaptor.forClass(Request.class);
+		verify(delegate).execute(captor.capture(), eq(options), eq(Optional.empty()));
+		assertThat(captor.getValue().url()).isEqualTo("http://test-host:8888/path");
+		assertThat(new String(captor.getValue().body())).isEqualTo("hello");
+	}
+
+	@Test
+	void shouldRespondWithServiceUnavailableIfInstanceNotFound() {
+		when(loadBalancerFactory.getInstance("test")).thenReturn(loadBalancer);
+		when(loadBalancer.choose()).thenReturn(Mono.just(new EmptyResponse()));
+
+		Response response = client
+				.execute(testRequest(), new Request.Options(), Optional.empty()).join();
+
+		assertThat(response.status()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+		assertThat(response.body().toString()).isEqualTo(
+				"Load balancer does not contain an instance for the service test");
+	}
+
+	private Request testRequest() {
+		return Request.create(Request.HttpMethod.GET, "http://test/path",
+				Collections.emptyMap(), "hello".getBytes(), StandardCharsets.UTF_8,
+				null);
+	}
+
+}
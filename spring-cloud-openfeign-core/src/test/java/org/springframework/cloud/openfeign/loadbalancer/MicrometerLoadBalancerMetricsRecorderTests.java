@@ -0,0 +1,104 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.loadbalancer;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MicrometerLoadBalancerMetricsRecorder}.
+ */
+class MicrometerLoadBalancerMetricsRecorderTests {
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final MicrometerLoadBalancerMetricsRecorder recorder = new MicrometerLoadBalancerMetricsRecorder(
+			meterRegistry, true);
+
+	@Test
+	void shouldRecordChoiceLatencyAndInstanceDistribution() {
+		ServiceInstance first = new DefaultServiceInstance("test-1", "test", "host-1",
+				8080, false);
+		ServiceInstance second = new DefaultServiceInstance("test-2", "test", "host-2",
+				8080, false);
+
+		recorder.recordChoice("test", first, TimeUnit.MILLISECONDS.toNanos(2));
+		recorder.recordChoice("test", first, TimeUnit.MILLISECONDS.toNanos(4));
+		recorder.recordChoice("test", second, TimeUnit.MILLISECONDS.toNanos(6));
+
+		assertThat(meterRegistry.get("feign.loadbalancer.choose").tag("service", "test")
+				.tag("outcome", "instance").timer().count()).isEqualTo(3);
+		assertThat(meterRegistry.get("feign.loadbalancer.choose").tag("service", "test")
+				.tag("outcome", "instance").timer().totalTime(TimeUnit.MILLISECONDS))
+						.isEqualTo(12);
+		assertThat(meterRegistry.get("feign.loadbalancer.requests")
+				.tag("instance", "test-1").counter().count()).isEqualTo(2);
+		assertThat(meterRegistry.get("feign.loadbalancer.requests")
+				.tag("instance", "test-2").counter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("feign.loadbalancer.unavailable").counter().count())
+				.isZero();
+	}
+
+	@Test
+	void shouldRecordUnavailableService() {
+		recorder.recordChoice("test", null, TimeUnit.MILLISECONDS.toNanos(1));
+
+		assertThat(meterRegistry.get("feign.loadbalancer.unavailable")
+				.tag("service", "test").counter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("feign.loadbalancer.choose").tag("outcome", "none")
+				.timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.find("feign.loadbalancer.requests").counter())
+				.isNull();
+	}
+
+	@Test
+	void shouldFallBackToHostAndPortForInstancesWithoutId() {
+		ServiceInstance instance = new DefaultServiceInstance(null, "test", "host-1",
+				8080, false);
+
+		recorder.recordChoice("test", instance, 0);
+
+		assertThat(meterRegistry.get("feign.loadbalancer.requests")
+				.tag("instance", "host-1:8080").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldNotTagRequestsWithInstanceByDefault() {
+		LoadBalancerMetricsRecorder untagged = new MicrometerLoadBalancerMetricsRecorder(
+				meterRegistry);
+		for (int i = 0; i < 3; i++) {
+			untagged.recordChoice("test", new DefaultServiceInstance("test-" + i, "test",
+					"host-" + i, 8080, false), 0);
+		}
+
+		assertThat(meterRegistry.get("feign.loadbalancer.requests")
+				.tag("service", "test").counters()).hasSize(1);
+		assertThat(meterRegistry.get("feign.loadbalancer.requests")
+				.tag("service", "test").counter().count()).isEqualTo(3);
+		assertThat(meterRegistry.find("feign.loadbalancer.requests")
+				.tagKeys("instance").counter()).isNull();
+	}
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.loadbalancer;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.openfeign.RoutingKey;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link RoutingKeyRemovingClient}.
+ */
+class RoutingKeyRemovingClientTests {
+
+	private final AtomicReference<Request> sent = new AtomicReference<>();
+
+	private final RoutingKeyRemovingClient client = new RoutingKeyRemovingClient(
+			(request, options) -> {
+				sent.set(request);
+				return Response.builder().status(200).request(request)
+						.headers(Collections.emptyMap()).build();
+			});
+
+	@Test
+	void shouldRemoveRoutingKeyHeader() throws Exception {
+		Map<String, Collection<String>> headers = new HashMap<>();
+		headers.put(RoutingKey.HEADER_NAME, Collections.singletonList("tenant-1"));
+		headers.put("Accept", Collections.singletonList("application/json"));
+
+		client.execute(request(headers), new Request.Options());
+
+		assertThat(sent.get().headers()).doesNotContainKey(RoutingKey.HEADER_NAME)
+				.containsKey("Accept");
+		assertThat(sent.get().url()).isEqualTo("http://localhost/stores");
+	}
+
+	@Test
+	void shouldPassRequestsWithoutRoutingKey() throws Exception {
+		Request request = request(Collections.emptyMap());
+
+		client.execute(request, new Request.Options());
+
+		assertThat(sent.get()).isSameAs(request);
+	}
+
+	private static Request request(Map<String, Collection<String>> headers) {
+		return Request.create(Request.HttpMethod.GET, "http://localhost/stores",
+				headers, null, null, null);
+	}
+
+}
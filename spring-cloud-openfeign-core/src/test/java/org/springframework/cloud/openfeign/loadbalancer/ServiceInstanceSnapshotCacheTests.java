@@ -0,0 +1,54 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.loadbalancer;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link ServiceInstanceSnapshotCache}.
+ */
+class ServiceInstanceSnapshotCacheTests {
+
+	private final LoadBalancerClientFactory loadBalancerClientFactory = mock(
+			LoadBalancerClientFactory.class);
+
+	@Test
+	void shouldRejectNonPositiveRefreshInterval() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> new ServiceInstanceSnapshotCache(
+						loadBalancerClientFactory, Duration.ZERO))
+				.withMessageContaining(
+						"feign.loadbalancer.instance-cache.refresh-interval");
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> new ServiceInstanceSnapshotCache(
+						loadBalancerClientFactory, Duration.ofSeconds(-1)));
+	}
+
+	@Test
+	void shouldAcceptPositiveRefreshInterval() {
+		new ServiceInstanceSnapshotCache(loadBalancerClientFactory,
+				Duration.ofMillis(1)).destroy();
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.loadbalancer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ServiceInstanceSnapshot}.
+ */
+class ServiceInstanceSnapshotTests {
+
+	@Test
+	void shouldReturnNullWithoutInstances() {
+		ServiceInstanceSnapshot snapshot = new ServiceInstanceSnapshot(
+				Collections.emptyList());
+
+		assertThat(snapshot.next()).isNull();
+	}
+
+	@Test
+	void shouldRotateOverAllInstances() {
+		List<ServiceInstance> instances = instances(3);
+		ServiceInstanceSnapshot snapshot = new ServiceInstanceSnapshot(instances);
+		Map<String, Integer> counts = new HashMap<>();
+
+		for (int i = 0; i < 300; i++) {
+			counts.merge(snapshot.next().getInstanceId(), 1, Integer::sum);
+		}
+
+		assertThat(counts).containsOnlyKeys("test-0", "test-1", "test-2");
+		assertThat(counts.values()).containsOnly(100);
+	}
+
+	@Test
+	void shouldNotBeAffectedBySourceListChanges() {
+		List<ServiceInstance> instances = instances(2);
+		ServiceInstanceSnapshot snapshot = new ServiceInstanceSnapshot(instances);
+
+		instances.clear();
+
+		assertThat(snapshot.getInstances()).hasSize(2);
+		assertThat(snapshot.next()).isNotNull();
+	}
+
+	@Test
+	void shouldSelectInProportionToWeight() {
+		List<ServiceInstance> instances = Arrays.asList(weighted("small", "4"),
+				weighted("large", "16"));
+		ServiceInstanceSnapshot snapshot = new ServiceInstanceSnapshot(instances,
+				"weight");
+		Map<String, Integer> counts = new HashMap<>();
+
+		for (int i = 0; i < 500; i++) {
+			counts.merge(snapshot.next().getInstanceId(), 1, Integer::sum);
+		}
+
+		assertThat(counts).containsEntry("small", 100).containsEntry("large", 400);
+	}
+
+	@Test
+	void shouldInterleaveWeightedInstances() {
+		ServiceInstance[] schedule = ServiceInstanceSnapshot.weightedSchedule(
+				new ServiceInstance[] { weighted("a", "5"), weighted("b", "1"),
+						weighted("c", "1") },
+				"weight");
+
+		assertThat(schedule).extracting(ServiceInstance::getInstanceId)
+				.containsExactly("a", "a", "b", "a", "c", "a", "a");
+	}
+
+	@Test
+	void shouldUseDefaultWeightForMissingOrInvalidMetadata() {
+		ServiceInstance[] instances = new ServiceInstance[] { weighted("a", "2"),
+				weighted("b", "not-a-number"), instances(1).get(0) };
+
+		ServiceInstance[] schedule = ServiceInstanceSnapshot.weightedSchedule(instances,
+				"weight");
+
+		assertThat(schedule).hasSize(4);
+		assertThat(schedule).filteredOn(instance -> instance == instances[0])
+				.hasSize(2);
+	}
+
+	private static ServiceInstance weighted(String instanceId, String weight) {
+		DefaultServiceInstance instance = new DefaultServiceInstance(instanceId, "test",
+				instanceId + ".local", 8080, false);
+		instance.getMetadata().put("weight", weight);
+		return instance;
+	}
+
+	private static List<ServiceInstance> instances(int count) {
+		List<ServiceInstance> instances = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			instances.add(new DefaultServiceInstance("test-" + i, "test", "10.0.0." + i,
+					8080, false));
+		}
+		return instances;
+	}
+
+}
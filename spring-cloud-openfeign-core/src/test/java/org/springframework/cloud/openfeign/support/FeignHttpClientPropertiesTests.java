@@ -62,6 +62,12 @@ public class FeignHttpClientPropertiesTests {
 				.isEqualTo(FeignHttpClientProperties.DEFAULT_DISABLE_SSL_VALIDATION);
 		assertThat(getProperties().isFollowRedirects())
 				.isEqualTo(FeignHttpClientProperties.DEFAULT_FOLLOW_REDIRECTS);
+		assertThat(getProperties().getHttp2().getVersion()).isEqualTo(
+				FeignHttpClientProperties.Http2Properties.DEFAULT_VERSION);
+		assertThat(getProperties().getOkHttp().getProtocols())
+				.containsExactly("HTTP_2", "HTTP_1_1");
+		assertThat(getProperties().getOkHttp().getMaxRequestsPerHost()).isEqualTo(
+				FeignHttpClientProperties.OkHttp.DEFAULT_MAX_REQUESTS_PER_HOST);
 	}
 
 	@Test
@@ -71,7 +77,10 @@ public class FeignHttpClientPropertiesTests {
 				"feign.httpclient.maxConnectionsPerRoute=2",
 				"feign.httpclient.timeToLive=2",
 				"feign.httpclient.disableSslValidation=true",
-				"feign.httpclient.followRedirects=false").applyTo(this.context);
+				"feign.httpclient.followRedirects=false",
+				"feign.httpclient.http2.version=HTTP_1_1",
+				"feign.httpclient.okHttp.protocols=H2_PRIOR_KNOWLEDGE",
+				"feign.httpclient.okHttp.maxRequestsPerHost=2").applyTo(this.context);
 		setupContext();
 		assertThat(getProperties().getMaxConnections()).isEqualTo(2);
 		assertThat(getProperties().getConnectionTimeout()).isEqualTo(2);
@@ -79,6 +88,10 @@ public class FeignHttpClientPropertiesTests {
 		assertThat(getProperties().getTimeToLive()).isEqualTo(2L);
 		assertThat(getProperties().isDisableSslValidation()).isTrue();
 		assertThat(getProperties().isFollowRedirects()).isFalse();
+		assertThat(getProperties().getHttp2().getVersion()).isEqualTo("HTTP_1_1");
+		assertThat(getProperties().getOkHttp().getProtocols())
+				.containsExactly("H2_PRIOR_KNOWLEDGE");
+		assertThat(getProperties().getOkHttp().getMaxRequestsPerHost()).isEqualTo(2);
 	}
 
 	private void setupContext() {
@@ -37,6 +37,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import org.springframework.cloud.openfeign.RoutingKey;
 import org.springframework.cloud.openfeign.SpringQueryMap;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -487,6 +488,19 @@ public class SpringMvcContractTests {
 		assertThat(headers.get("aHeader").iterator().next()).isEqualTo("{aHeader}");
 	}
 
+	@Test
+	public void testProcessRoutingKey() throws Exception {
+		Method method = TestTemplate_RoutingKey.class.getDeclaredMethod("getTest",
+				String.class);
+		MethodMetadata data = this.contract
+				.parseAndValidateMetadata(method.getDeclaringClass(), method);
+
+		assertThat(data.template().url()).isEqualTo("/test/{id}");
+		assertThat(data.indexToName().get(0)).containsExactly("id", "feignRoutingKey");
+		assertThat(data.template().headers().get(RoutingKey.HEADER_NAME))
+				.containsExactly("{feignRoutingKey}");
+	}
+
 	@Test(expected = IllegalStateException.class)
 	public void testProcessHeaderMapMoreThanOnce() throws Exception {
 		Method method = TestTemplate_HeaderMap.class.getDeclaredMethod(
@@ -690,6 +704,13 @@ public class SpringMvcContractTests {
 
 	}
 
+	public interface TestTemplate_RoutingKey {
+
+		@GetMapping("/test/{id}")
+		ResponseEntity<TestObject> getTest(@PathVariable("id") @RoutingKey String id);
+
+	}
+
 	public interface TestTemplate_HeadersWithoutValues {
 
 		@RequestMapping(value = "/test/{id}", method = RequestMethod.GET,
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.openfeign.support;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for {@link VirtualThreads}.
+ */
+class VirtualThreadsTests {
+
+	@Test
+	void shouldRunTasksOnNamedVirtualThreads() throws Exception {
+		assumeTrue(VirtualThreads.isAvailable());
+		ExecutorService executor = VirtualThreads
+				.newVirtualThreadPerTaskExecutor("test-");
+		try {
+			Thread thread = executor.submit(Thread::currentThread).get(5,
+					TimeUnit.SECONDS);
+
+			assertThat(thread.getName()).isEqualTo("test-0");
+			assertThat(Thread.class.getMethod("isVirtual").invoke(thread))
+					.isEqualTo(true);
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void shouldOnlyBeAvailableOnJava21OrLater() {
+		String version = System.getProperty("java.specification.version");
+		boolean java21OrLater = !version.startsWith("1.")
+				&& Integer.parseInt(version) >= 21;
+
+		assertThat(VirtualThreads.isAvailable()).isEqualTo(java21OrLater);
+	}
+
+	@Test
+	void shouldFailWithoutVirtualThreads() {
+		assumeFalse(VirtualThreads.isAvailable());
+
+		assertThatIllegalStateException()
+				.isThrownBy(() -> VirtualThreads.newVirtualThreadPerTaskExecutor("test-"))
+				.withMessageContaining("Java 21");
+	}
+
+}